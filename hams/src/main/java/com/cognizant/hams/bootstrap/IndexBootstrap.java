@@ -0,0 +1,56 @@
+package com.cognizant.hams.bootstrap;
+
+import com.cognizant.hams.cache.NearTermSlotCache;
+import com.cognizant.hams.entity.AppointmentStatus;
+import com.cognizant.hams.index.AppointmentIntervalIndex;
+import com.cognizant.hams.index.DoctorNameBkTree;
+import com.cognizant.hams.index.DoctorSearchIndex;
+import com.cognizant.hams.index.WaitlistQueues;
+import com.cognizant.hams.repository.AppointmentRepository;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.repository.WaitlistEntryRepository;
+import com.cognizant.hams.repository.projection.DoctorSearchView;
+import com.cognizant.hams.service.DoctorFacetService;
+import com.cognizant.hams.service.DoctorGeoService;
+import com.cognizant.hams.service.FreeDoctorService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Fills the in-memory indexes and caches from the database once every bean is ready. This runs before the
+ * web server starts, so no request is served from, or writes into, an index that has not been loaded yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class IndexBootstrap implements SmartInitializingSingleton {
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final WaitlistQueues waitlistQueues;
+    private final NearTermSlotCache nearTermSlotCache;
+    private final FreeDoctorService freeDoctorService;
+    private final DoctorRepository doctorRepository;
+    private final DoctorSearchIndex doctorSearchIndex;
+    private final DoctorNameBkTree doctorNameBkTree;
+    private final DoctorFacetService doctorFacetService;
+    private final DoctorGeoService doctorGeoService;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Only today and later can still be booked, so older appointments are not indexed
+        appointmentIntervalIndex.load(appointmentRepository.findSlotsFrom(LocalDate.now(), AppointmentStatus.ACTIVE));
+        waitlistQueues.load(waitlistEntryRepository.findWaitingFrom(LocalDate.now()));
+        nearTermSlotCache.load();
+        freeDoctorService.rebuild();
+        List<DoctorSearchView> doctors = doctorRepository.findSearchViews();
+        doctorSearchIndex.load(doctors);
+        doctorNameBkTree.load(doctors);
+        doctorFacetService.rebuild();
+        doctorGeoService.rebuild();
+    }
+}
@@ -0,0 +1,116 @@
+package com.cognizant.hams.cache;
+
+import com.cognizant.hams.entity.AvailabilityTemplate;
+import com.cognizant.hams.event.DoctorDayChangedEvent;
+import com.cognizant.hams.index.AppointmentIntervalIndex;
+import com.cognizant.hams.repository.AvailabilityTemplateRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityRepository;
+import com.cognizant.hams.repository.projection.DayCountView;
+import com.cognizant.hams.repository.projection.SlotStartView;
+import com.cognizant.hams.util.RecurringSlots;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Free slot counts per day, cached per doctor and month. A miss costs one GROUP BY query (plus the
+ * template expansion for doctors with recurring templates); a change to a cached day recounts only that
+ * day and swaps in a patched copy of the month.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityHeatmapCache {
+
+    private static final int MAX_MONTHS = 20_000;
+
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final AvailabilityTemplateRepository availabilityTemplateRepository;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+
+    // Access-ordered so the least recently viewed month is evicted first
+    private final Map<MonthKey, int[]> months = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<MonthKey, int[]> eldest) {
+                    return size() > MAX_MONTHS;
+                }
+            });
+
+    // Bumped by every change so a load that overlapped one is served once but not cached
+    private final AtomicLong changes = new AtomicLong();
+
+    // One count per day of the month; the array is never modified once cached, so callers must not modify it either
+    public int[] getFreeSlotCounts(Long doctorId, YearMonth month) {
+        MonthKey key = new MonthKey(doctorId, month);
+        int[] counts = months.get(key);
+        if (counts == null) {
+            long seen = changes.get();
+            counts = count(doctorId, month.atDay(1), month.atEndOfMonth());
+            if (changes.get() == seen) {
+                int[] raced = months.putIfAbsent(key, counts);
+                if (raced != null) {
+                    counts = raced;
+                }
+            }
+        }
+        return counts;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorDayChanged(DoctorDayChangedEvent event) {
+        changes.incrementAndGet();
+        if (event.date() == null) {
+            synchronized (months) {
+                months.keySet().removeIf(key -> key.doctorId().equals(event.doctorId()));
+            }
+            return;
+        }
+        MonthKey key = new MonthKey(event.doctorId(), YearMonth.from(event.date()));
+        if (!months.containsKey(key)) {
+            return;
+        }
+        int dayCount = count(event.doctorId(), event.date(), event.date())[0];
+        synchronized (months) {
+            int[] counts = months.get(key);
+            if (counts != null) {
+                int[] patched = counts.clone();
+                patched[event.date().getDayOfMonth() - 1] = dayCount;
+                months.put(key, patched);
+            }
+        }
+    }
+
+    // Free slot counts for each day in [fromDate, toDate], all within one month
+    private int[] count(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+        int[] counts = new int[toDate.getDayOfMonth() - fromDate.getDayOfMonth() + 1];
+        int offset = fromDate.getDayOfMonth();
+        for (DayCountView day : doctorAvailabilityRepository.countOpenByDate(doctorId, fromDate, toDate)) {
+            counts[day.date().getDayOfMonth() - offset] = day.count().intValue();
+        }
+
+        List<AvailabilityTemplate> templates = availabilityTemplateRepository.findActiveForDoctors(List.of(doctorId), fromDate, toDate);
+        if (!templates.isEmpty()) {
+            // A stored row, open or not, replaces the template slot it was materialized from
+            Set<SlotStartView> stored = new HashSet<>(doctorAvailabilityRepository.findSlotStarts(List.of(doctorId), fromDate, toDate));
+            for (RecurringSlots.Slot slot : RecurringSlots.expand(templates, fromDate, toDate, Integer.MAX_VALUE, slot ->
+                    !stored.contains(new SlotStartView(doctorId, slot.date(), slot.startTime()))
+                            && appointmentIntervalIndex.isDoctorFree(doctorId, slot.date(), slot.startTime(), slot.endTime()))) {
+                counts[slot.date().getDayOfMonth() - offset]++;
+            }
+        }
+        return counts;
+    }
+
+    private record MonthKey(Long doctorId, YearMonth month) {
+    }
+}
@@ -0,0 +1,265 @@
+package com.cognizant.hams.cache;
+
+import com.cognizant.hams.dto.response.DoctorCacheStatsResponseDTO;
+import com.cognizant.hams.dto.response.DoctorResponseDTO;
+import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.event.DoctorChangedEvent;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of doctor profiles as {@link DoctorResponseDTO}s, for the directory every patient
+ * loads and for lookups of single doctors.
+ *
+ * <p>The directory is held as a {@link Directory} snapshot: every doctor serialized once to JSON, sorted
+ * by id, plus the whole JSON array ready to be written to a response. A doctor change re-reads only that
+ * doctor and swaps in a copy of the snapshot with its one entry replaced, inserted or removed. Single
+ * doctors live in a separate access-ordered map bounded by {@code hams.doctor-cache.max-doctors}, where a
+ * change simply drops the entry.
+ */
+@Component
+@RequiredArgsConstructor
+public class DoctorDirectoryCache {
+
+    private final DoctorRepository doctorRepository;
+    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${hams.doctor-cache.max-doctors:10000}")
+    private int maxDoctors;
+
+    // Access-ordered so the least recently read doctor is evicted first
+    private final Map<Long, DoctorResponseDTO> doctors = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, DoctorResponseDTO> eldest) {
+                    if (size() > maxDoctors) {
+                        doctorEvictions.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            });
+
+    private volatile Directory directory;
+
+    // Bumped by every change so a load that overlapped one is served once but not cached
+    private final AtomicLong changes = new AtomicLong();
+
+    private final AtomicLong directoryHits = new AtomicLong();
+    private final AtomicLong directoryMisses = new AtomicLong();
+    private final AtomicLong doctorHits = new AtomicLong();
+    private final AtomicLong doctorMisses = new AtomicLong();
+    private final AtomicLong doctorEvictions = new AtomicLong();
+
+    /**
+     * Every doctor, sorted by id. The snapshot is shared and never modified once cached, so callers must
+     * not modify its arrays either.
+     */
+    public Directory getDirectory() {
+        Directory cached = directory;
+        if (cached != null) {
+            directoryHits.incrementAndGet();
+            return cached;
+        }
+        directoryMisses.incrementAndGet();
+        long seen = changes.get();
+        List<Doctor> all = new ArrayList<>(doctorRepository.findAll());
+        all.sort((a, b) -> Long.compare(a.getDoctorId(), b.getDoctorId()));
+        long[] ids = new long[all.size()];
+        DoctorResponseDTO[] dtos = new DoctorResponseDTO[all.size()];
+        byte[][] parts = new byte[all.size()][];
+        for (int i = 0; i < all.size(); i++) {
+            dtos[i] = modelMapper.map(all.get(i), DoctorResponseDTO.class);
+            ids[i] = dtos[i].getDoctorId();
+            parts[i] = serialize(dtos[i]);
+        }
+        Directory loaded = new Directory(ids, dtos, parts, join(parts));
+        synchronized (this) {
+            if (changes.get() == seen && directory == null) {
+                directory = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    // Copies of the cached doctors among the given ids; ids without a doctor are left out
+    public Map<Long, DoctorResponseDTO> getDoctors(Collection<Long> doctorIds) {
+        Map<Long, DoctorResponseDTO> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long doctorId : doctorIds) {
+            DoctorResponseDTO cached = doctors.get(doctorId);
+            if (cached != null) {
+                found.put(doctorId, copy(cached));
+            } else {
+                missing.add(doctorId);
+            }
+        }
+        doctorHits.addAndGet(found.size());
+        if (missing.isEmpty()) {
+            return found;
+        }
+        doctorMisses.addAndGet(missing.size());
+        long seen = changes.get();
+        List<DoctorResponseDTO> loaded = doctorRepository.findAllById(missing).stream()
+                .map(doctor -> modelMapper.map(doctor, DoctorResponseDTO.class))
+                .toList();
+        for (DoctorResponseDTO doctor : loaded) {
+            found.put(doctor.getDoctorId(), copy(doctor));
+        }
+        synchronized (doctors) {
+            if (changes.get() == seen) {
+                for (DoctorResponseDTO doctor : loaded) {
+                    doctors.putIfAbsent(doctor.getDoctorId(), doctor);
+                }
+            }
+        }
+        return found;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        changes.incrementAndGet();
+        doctors.remove(event.doctorId());
+        if (directory == null) {
+            return;
+        }
+        DoctorResponseDTO changed = doctorRepository.findById(event.doctorId())
+                .map(doctor -> modelMapper.map(doctor, DoctorResponseDTO.class))
+                .orElse(null);
+        byte[] part = changed == null ? null : serialize(changed);
+        synchronized (this) {
+            if (directory != null) {
+                directory = directory.with(event.doctorId(), changed, part);
+            }
+        }
+    }
+
+    public DoctorCacheStatsResponseDTO getStats() {
+        Directory cached = directory;
+        return new DoctorCacheStatsResponseDTO(directoryHits.get(), directoryMisses.get(),
+                cached == null ? 0 : cached.json().length, doctorHits.get(), doctorMisses.get(),
+                doctorEvictions.get(), doctors.size(), maxDoctors);
+    }
+
+    private byte[] serialize(DoctorResponseDTO doctor) {
+        try {
+            return objectMapper.writeValueAsBytes(doctor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize doctor " + doctor.getDoctorId(), e);
+        }
+    }
+
+    // The parts as one JSON array
+    private static byte[] join(byte[][] parts) {
+        int length = 2 + Math.max(0, parts.length - 1);
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] json = new byte[length];
+        int at = 0;
+        json[at++] = '[';
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                json[at++] = ',';
+            }
+            System.arraycopy(parts[i], 0, json, at, parts[i].length);
+            at += parts[i].length;
+        }
+        json[at] = ']';
+        return json;
+    }
+
+    private static DoctorResponseDTO copy(DoctorResponseDTO doctor) {
+        return new DoctorResponseDTO(doctor.getDoctorId(), doctor.getDoctorName(), doctor.getSpecialization(),
+                doctor.getQualification(), doctor.getClinicAddress(), doctor.getYearOfExperience(),
+                doctor.getEmail(), doctor.getContactNumber());
+    }
+
+    /**
+     * Immutable directory snapshot: doctor ids in ascending order, the doctor and its serialized JSON at
+     * the same position, and the JSON array of all of them.
+     */
+    public record Directory(long[] ids, DoctorResponseDTO[] doctors, byte[][] parts, byte[] json) {
+
+        public boolean isEmpty() {
+            return ids.length == 0;
+        }
+
+        // Fresh DTOs the caller is free to modify
+        public List<DoctorResponseDTO> toList() {
+            List<DoctorResponseDTO> list = new ArrayList<>(doctors.length);
+            for (DoctorResponseDTO doctor : doctors) {
+                list.add(copy(doctor));
+            }
+            return list;
+        }
+
+        // A copy with the doctor replaced, inserted or, when it is null, removed
+        Directory with(Long doctorId, DoctorResponseDTO doctor, byte[] part) {
+            int i = Arrays.binarySearch(ids, doctorId);
+            if (i < 0 && doctor == null) {
+                return this;
+            }
+            long[] newIds;
+            DoctorResponseDTO[] newDoctors;
+            byte[][] newParts;
+            if (i >= 0 && doctor != null) {
+                newIds = ids;
+                newDoctors = doctors.clone();
+                newParts = parts.clone();
+                newDoctors[i] = doctor;
+                newParts[i] = part;
+            } else if (i >= 0) {
+                newIds = remove(ids, i);
+                newDoctors = remove(doctors, i);
+                newParts = remove(parts, i);
+            } else {
+                int at = -i - 1;
+                newIds = new long[ids.length + 1];
+                System.arraycopy(ids, 0, newIds, 0, at);
+                System.arraycopy(ids, at, newIds, at + 1, ids.length - at);
+                newIds[at] = doctorId;
+                newDoctors = insert(doctors, at, doctor);
+                newParts = insert(parts, at, part);
+            }
+            return new Directory(newIds, newDoctors, newParts, join(newParts));
+        }
+
+        private static long[] remove(long[] values, int i) {
+            long[] result = new long[values.length - 1];
+            System.arraycopy(values, 0, result, 0, i);
+            System.arraycopy(values, i + 1, result, i, values.length - i - 1);
+            return result;
+        }
+
+        private static <T> T[] remove(T[] values, int i) {
+            T[] result = Arrays.copyOf(values, values.length - 1);
+            System.arraycopy(values, i + 1, result, i, values.length - i - 1);
+            return result;
+        }
+
+        private static <T> T[] insert(T[] values, int at, T value) {
+            T[] result = Arrays.copyOf(values, values.length + 1);
+            System.arraycopy(values, at, result, at + 1, values.length - at);
+            result[at] = value;
+            return result;
+        }
+    }
+}
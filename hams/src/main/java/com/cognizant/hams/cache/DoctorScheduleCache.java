@@ -0,0 +1,257 @@
+package com.cognizant.hams.cache;
+
+import com.cognizant.hams.dto.response.DoctorDayScheduleResponseDTO;
+import com.cognizant.hams.entity.Appointment;
+import com.cognizant.hams.entity.AppointmentStatus;
+import com.cognizant.hams.entity.DoctorAvailability;
+import com.cognizant.hams.event.DoctorDayChangedEvent;
+import com.cognizant.hams.repository.AppointmentRepository;
+import com.cognizant.hams.repository.AvailabilityTemplateRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityRepository;
+import com.cognizant.hams.repository.projection.ScheduledAppointmentView;
+import com.cognizant.hams.util.RecurringSlots;
+import com.cognizant.hams.util.SlotBitmap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-doctor, per-day schedule kept in memory once it has been read. A miss loads the day with two
+ * queries; after that, booking and availability changes patch the cached day and no SQL is needed to
+ * serve it again.
+ *
+ * <p>Every change notification of the application passes through here, so the cache also announces each
+ * one as a {@link DoctorDayChangedEvent} for the read models that live outside it.
+ */
+@Component
+@RequiredArgsConstructor
+public class DoctorScheduleCache {
+
+    private static final int MAX_DAYS = 10_000;
+    private static final Set<AppointmentStatus> SCHEDULED =
+            EnumSet.of(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED, AppointmentStatus.COMPLETED);
+
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final AvailabilityTemplateRepository availabilityTemplateRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Access-ordered so the least recently viewed day is evicted first
+    private final Map<DayKey, DaySchedule> days = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<DayKey, DaySchedule> eldest) {
+                    return size() > MAX_DAYS;
+                }
+            });
+
+    // Bumped by every change so a load that overlapped one is served once but not cached
+    private final AtomicLong changes = new AtomicLong();
+
+    public DoctorDayScheduleResponseDTO getSchedule(Long doctorId, LocalDate date) {
+        return day(doctorId, date).snapshot(date);
+    }
+
+    // The bookable slots of the day, as in the free field of its schedule
+    public SlotBitmap getFreeSlots(Long doctorId, LocalDate date) {
+        return day(doctorId, date).free(date);
+    }
+
+    public void onAppointmentSaved(Appointment appointment) {
+        changes.incrementAndGet();
+        DaySchedule day = days.get(new DayKey(appointment.getDoctor().getDoctorId(), appointment.getAppointmentDate()));
+        if (day != null) {
+            Long availabilityId = appointment.getAvailability() == null ? null : appointment.getAvailability().getAvailabilityId();
+            if (SCHEDULED.contains(appointment.getStatus())) {
+                day.putAppointment(new ScheduledAppointmentView(appointment.getAppointmentId(), appointment.getStartTime(),
+                        appointment.getEndTime(), appointment.getStatus(), availabilityId));
+            } else {
+                day.removeAppointment(appointment.getAppointmentId());
+            }
+            if (availabilityId != null) {
+                day.setAvailabilityOpen(availabilityId, !AppointmentStatus.ACTIVE.contains(appointment.getStatus()));
+            }
+        }
+        publish(appointment.getDoctor().getDoctorId(), appointment.getAppointmentDate());
+    }
+
+    public void onAppointmentRemoved(Long doctorId, LocalDate date, Long appointmentId, Long availabilityId) {
+        changes.incrementAndGet();
+        DaySchedule day = days.get(new DayKey(doctorId, date));
+        if (day != null) {
+            day.removeAppointment(appointmentId);
+            if (availabilityId != null) {
+                day.setAvailabilityOpen(availabilityId, true);
+            }
+        }
+        publish(doctorId, date);
+    }
+
+    public void onAvailabilitySaved(Long doctorId, DoctorAvailability availability) {
+        changes.incrementAndGet();
+        DaySchedule day = days.get(new DayKey(doctorId, availability.getAvailableDate()));
+        if (day != null) {
+            day.putAvailability(availability.getAvailabilityId(),
+                    new OpenRange(availability.getStartTime(), availability.getEndTime(), availability.isAvailable()));
+        }
+        publish(doctorId, availability.getAvailableDate());
+    }
+
+    // Rows written in bulk carry no ids to patch the day with, so it is dropped and reloaded on the next read
+    public void onAvailabilityImported(Long doctorId, LocalDate date) {
+        changes.incrementAndGet();
+        days.remove(new DayKey(doctorId, date));
+        publish(doctorId, date);
+    }
+
+    public void onAvailabilityRemoved(Long doctorId, LocalDate date, Long availabilityId) {
+        changes.incrementAndGet();
+        DaySchedule day = days.get(new DayKey(doctorId, date));
+        if (day != null) {
+            day.removeAvailability(availabilityId);
+        }
+        publish(doctorId, date);
+    }
+
+    // Template slots are expanded at load time, so every cached day of the doctor has to be reloaded
+    public void onTemplatesChanged(Long doctorId) {
+        changes.incrementAndGet();
+        synchronized (days) {
+            days.keySet().removeIf(key -> key.doctorId().equals(doctorId));
+        }
+        publish(doctorId, null);
+    }
+
+    // Published once the cached day has been patched, so a listener reading it back sees the change
+    private void publish(Long doctorId, LocalDate date) {
+        eventPublisher.publishEvent(new DoctorDayChangedEvent(doctorId, date));
+    }
+
+    private DaySchedule day(Long doctorId, LocalDate date) {
+        DayKey key = new DayKey(doctorId, date);
+        DaySchedule day = days.get(key);
+        if (day == null) {
+            long seen = changes.get();
+            day = load(doctorId, date);
+            if (changes.get() == seen) {
+                DaySchedule raced = days.putIfAbsent(key, day);
+                if (raced != null) {
+                    day = raced;
+                }
+            }
+        }
+        return day;
+    }
+
+    private DaySchedule load(Long doctorId, LocalDate date) {
+        DaySchedule day = new DaySchedule();
+        Set<LocalTime> stored = new HashSet<>();
+        for (DoctorAvailability availability : doctorAvailabilityRepository.findByDoctorDoctorIdAndAvailableDate(doctorId, date)) {
+            day.putAvailability(availability.getAvailabilityId(),
+                    new OpenRange(availability.getStartTime(), availability.getEndTime(), availability.isAvailable()));
+            stored.add(availability.getStartTime());
+        }
+        // A stored row replaces the template slot it was materialized from
+        List<RecurringSlots.Slot> recurring = RecurringSlots.expand(
+                availabilityTemplateRepository.findActiveForDoctors(List.of(doctorId), date, date),
+                date, date, Integer.MAX_VALUE, slot -> !stored.contains(slot.startTime()));
+        for (RecurringSlots.Slot slot : recurring) {
+            day.recurring.set(slot.startTime(), slot.endTime());
+        }
+        for (ScheduledAppointmentView appointment : appointmentRepository.findScheduledForDoctor(doctorId, date, SCHEDULED)) {
+            day.putAppointment(appointment);
+        }
+        return day;
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+
+    private record OpenRange(LocalTime startTime, LocalTime endTime, boolean open) {
+    }
+
+    // Source ranges of one day; the bitmaps are rebuilt from them after a change and reused until the next one
+    private static final class DaySchedule {
+
+        private final Map<Long, OpenRange> availability = new HashMap<>();
+        private final Map<Long, ScheduledAppointmentView> appointments = new HashMap<>();
+        // Open template slots, fixed until the doctor's templates change and the day is reloaded
+        private final SlotBitmap recurring = new SlotBitmap();
+        private DoctorDayScheduleResponseDTO snapshot;
+        private SlotBitmap freeSlots;
+
+        synchronized void putAvailability(Long availabilityId, OpenRange range) {
+            availability.put(availabilityId, range);
+            snapshot = null;
+        }
+
+        synchronized void removeAvailability(Long availabilityId) {
+            availability.remove(availabilityId);
+            snapshot = null;
+        }
+
+        synchronized void setAvailabilityOpen(Long availabilityId, boolean open) {
+            OpenRange range = availability.get(availabilityId);
+            if (range != null && range.open() != open) {
+                availability.put(availabilityId, new OpenRange(range.startTime(), range.endTime(), open));
+                snapshot = null;
+            }
+        }
+
+        synchronized void putAppointment(ScheduledAppointmentView appointment) {
+            appointments.put(appointment.appointmentId(), appointment);
+            snapshot = null;
+        }
+
+        synchronized void removeAppointment(Long appointmentId) {
+            if (appointments.remove(appointmentId) != null) {
+                snapshot = null;
+            }
+        }
+
+        synchronized DoctorDayScheduleResponseDTO snapshot(LocalDate date) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            SlotBitmap free = new SlotBitmap().or(recurring);
+            for (OpenRange range : availability.values()) {
+                if (range.open()) {
+                    free.set(range.startTime(), range.endTime());
+                }
+            }
+            SlotBitmap held = new SlotBitmap();
+            SlotBitmap booked = new SlotBitmap();
+            for (ScheduledAppointmentView appointment : appointments.values()) {
+                (appointment.status() == AppointmentStatus.PENDING ? held : booked)
+                        .set(appointment.startTime(), appointment.endTime());
+            }
+            free.andNot(held).andNot(booked);
+            freeSlots = free;
+            List<Long> appointmentIds = appointments.values().stream()
+                    .sorted(Comparator.comparing(ScheduledAppointmentView::startTime))
+                    .map(ScheduledAppointmentView::appointmentId)
+                    .toList();
+            snapshot = new DoctorDayScheduleResponseDTO(date, SlotBitmap.SLOT_MINUTES,
+                    free.toHex(), held.toHex(), booked.toHex(), appointmentIds);
+            return snapshot;
+        }
+
+        synchronized SlotBitmap free(LocalDate date) {
+            snapshot(date);
+            return freeSlots.copy();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.cognizant.hams.cache;
+
+import com.cognizant.hams.dto.response.DoctorAndAvailabilityResponseDTO;
+import com.cognizant.hams.event.DoctorDayChangedEvent;
+import com.cognizant.hams.index.OffHeapSlotStore;
+import com.cognizant.hams.repository.DoctorAvailabilityJdbcRepository;
+import com.cognizant.hams.repository.DoctorJdbcRepository;
+import com.cognizant.hams.repository.projection.DoctorCardView;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Open slots of the next {@value #WINDOW_DAYS} days held in the {@link OffHeapSlotStore}, so the early
+ * pages of the doctor-availability search are answered with one indexed doctor lookup and no Hibernate
+ * at all. Off unless {@code hams.availability.off-heap.enabled=true}.
+ *
+ * <p>The store is built at startup and again every night, and each {@link DoctorDayChangedEvent} reloads
+ * the one doctor-day it names; doctor_availability stays the source of truth.
+ */
+@Component
+@RequiredArgsConstructor
+public class NearTermSlotCache {
+
+    public static final int WINDOW_DAYS = 14;
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearTermSlotCache.class);
+    private static final Comparator<DoctorAndAvailabilityResponseDTO> START_ORDER =
+            Comparator.comparing(DoctorAndAvailabilityResponseDTO::getStartTime)
+                    .thenComparing(DoctorAndAvailabilityResponseDTO::getAvailabilityId);
+
+    private final OffHeapSlotStore store;
+    private final DoctorAvailabilityJdbcRepository doctorAvailabilityJdbcRepository;
+    private final DoctorJdbcRepository doctorJdbcRepository;
+
+    @Value("${hams.availability.off-heap.enabled:false}")
+    private boolean enabled;
+
+    // Days changed while a new store was being built, replayed onto it once it is installed
+    private final Set<DayKey> changedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+
+    /**
+     * Rows answered from the store. A non-null {@code resumeFrom} means the request reaches past the
+     * window and the rest has to come from the database, starting on that day.
+     */
+    public record Slice(List<DoctorAndAvailabilityResponseDTO> rows, LocalDate resumeFrom) {
+    }
+
+    public synchronized void load() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        OffHeapSlotStore.Builder builder = OffHeapSlotStore.builder(today, WINDOW_DAYS);
+        changedWhileLoading.clear();
+        loading = true;
+        try {
+            doctorAvailabilityJdbcRepository.forEachOpenSlot(today, today.plusDays(WINDOW_DAYS - 1L), slot ->
+                    builder.add(slot.doctorId(), slot.date(), slot.availabilityId(),
+                            slot.startTime().toSecondOfDay(), slot.endTime().toSecondOfDay()));
+            store.install(builder);
+        } finally {
+            loading = false;
+        }
+        for (DayKey day : changedWhileLoading) {
+            refresh(day.doctorId(), day.date());
+        }
+        LOGGER.info("Loaded off-heap slot store from {} ({} bytes) in {} ms",
+                today, store.directBytes(), System.currentTimeMillis() - started);
+    }
+
+    // Rolls the window forward once the day has changed
+    @Scheduled(cron = "${hams.availability.off-heap.reload-cron:0 5 0 * * *}")
+    public void reload() {
+        load();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorDayChanged(DoctorDayChangedEvent event) {
+        // Templates are not stored rows, so a template change leaves the store as it is
+        if (!enabled || event.date() == null) {
+            return;
+        }
+        if (loading) {
+            changedWhileLoading.add(new DayKey(event.doctorId(), event.date()));
+        }
+        refresh(event.doctorId(), event.date());
+    }
+
+    /**
+     * Up to {@code limit} open slots of the doctors with this exact name from {@code fromDate} on, after the
+     * cursor when one is given, ordered by (date, startTime, availabilityId). Returns null when the store
+     * is off or the request starts outside its window.
+     */
+    public Slice findOpenSlots(String doctorName, String specialization, LocalDate fromDate, LocalDate toDate,
+                               LocalDate afterDate, LocalTime afterTime, Long afterId, int limit) {
+        if (!enabled) {
+            return null;
+        }
+        LocalDate firstDay = store.firstDay();
+        LocalDate lastDay = store.lastDay();
+        LocalDate start = afterDate != null && afterDate.isAfter(fromDate) ? afterDate : fromDate;
+        if (firstDay == null || fromDate.isBefore(firstDay) || start.isAfter(lastDay)) {
+            return null;
+        }
+        List<DoctorCardView> doctors = doctorJdbcRepository.findCardsByName(doctorName, specialization);
+        List<DoctorAndAvailabilityResponseDTO> rows = new ArrayList<>();
+        if (doctors.isEmpty()) {
+            return new Slice(rows, null);
+        }
+        LocalDate end = toDate != null && toDate.isBefore(lastDay) ? toDate : lastDay;
+        for (LocalDate date = start; !date.isAfter(end) && rows.size() < limit; date = date.plusDays(1)) {
+            LocalDate day = date;
+            List<DoctorAndAvailabilityResponseDTO> daySlots = new ArrayList<>();
+            for (DoctorCardView doctor : doctors) {
+                store.forEachSlot(doctor.doctorId(), day, (availabilityId, startSecond, endSecond) ->
+                        daySlots.add(toRow(doctor, day, availabilityId, startSecond, endSecond)));
+            }
+            daySlots.sort(START_ORDER);
+            for (DoctorAndAvailabilityResponseDTO row : daySlots) {
+                if (day.equals(afterDate) && !isAfter(row, afterTime, afterId)) {
+                    continue;
+                }
+                rows.add(row);
+                if (rows.size() == limit) {
+                    break;
+                }
+            }
+        }
+        boolean pastWindow = rows.size() < limit && (toDate == null || toDate.isAfter(lastDay));
+        return new Slice(rows, pastWindow ? lastDay.plusDays(1) : null);
+    }
+
+    private void refresh(Long doctorId, LocalDate date) {
+        List<DoctorAvailabilityJdbcRepository.OpenSlot> slots = doctorAvailabilityJdbcRepository.findOpenSlots(doctorId, date);
+        long[] availabilityIds = new long[slots.size()];
+        int[] startSeconds = new int[slots.size()];
+        int[] endSeconds = new int[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            availabilityIds[i] = slots.get(i).availabilityId();
+            startSeconds[i] = slots.get(i).startTime().toSecondOfDay();
+            endSeconds[i] = slots.get(i).endTime().toSecondOfDay();
+        }
+        store.replaceDay(doctorId, date, availabilityIds, startSeconds, endSeconds, slots.size());
+    }
+
+    private static boolean isAfter(DoctorAndAvailabilityResponseDTO row, LocalTime afterTime, Long afterId) {
+        int byTime = row.getStartTime().compareTo(afterTime);
+        return byTime > 0 || (byTime == 0 && row.getAvailabilityId() > afterId);
+    }
+
+    private static DoctorAndAvailabilityResponseDTO toRow(DoctorCardView doctor, LocalDate date, long availabilityId,
+                                                          int startSecond, int endSecond) {
+        return new DoctorAndAvailabilityResponseDTO(doctor.doctorId(), doctor.contactNumber(), doctor.doctorName(),
+                doctor.email(), doctor.clinicAddress(), doctor.specialization(), doctor.qualification(),
+                doctor.yearOfExperience(), LocalTime.ofSecondOfDay(startSecond), LocalTime.ofSecondOfDay(endSecond),
+                date, true, availabilityId);
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+}
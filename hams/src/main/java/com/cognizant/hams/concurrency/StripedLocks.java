@@ -0,0 +1,30 @@
+package com.cognizant.hams.concurrency;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed pool of locks shared out by key hash, so work on different keys can run in parallel
+ * without allocating one lock per key.
+ */
+public class StripedLocks {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    public StripedLocks(int minimumStripes) {
+        int size = Integer.highestOneBit(Math.max(1, minimumStripes - 1)) << 1;
+        this.stripes = new Lock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock forKey(Object key) {
+        int hash = key.hashCode();
+        // Fold the high bits in so keys that differ only there still land on different stripes
+        hash ^= (hash >>> 16);
+        return stripes[hash & mask];
+    }
+}
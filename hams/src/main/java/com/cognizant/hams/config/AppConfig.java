@@ -4,11 +4,29 @@ import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
 public class AppConfig {
 
+    // Kept below the connection pool size so parallel lookups never starve request threads of connections
+    public static final int LOOKUP_THREADS = 4;
+
     @Bean
     public ModelMapper modelMapper(){
         return new ModelMapper();
     }
+
+    // Fans independent read queries out in parallel, e.g. per-group slot lookups
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService lookupExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(LOOKUP_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "lookup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
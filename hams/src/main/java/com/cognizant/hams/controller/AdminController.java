@@ -1,11 +1,18 @@
 package com.cognizant.hams.controller;
 
+import com.cognizant.hams.cache.DoctorDirectoryCache;
 import com.cognizant.hams.dto.request.AdminUserRequestDTO;
+import com.cognizant.hams.dto.response.AppointmentExpiryStatsResponseDTO;
+import com.cognizant.hams.dto.response.DoctorCacheStatsResponseDTO;
+import com.cognizant.hams.dto.response.NotificationOutboxStatsResponseDTO;
 import com.cognizant.hams.dto.response.UserResponseDTO;
 import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.scheduler.AppointmentExpiryJob;
+import com.cognizant.hams.scheduler.NotificationOutboxDispatcher;
 import com.cognizant.hams.service.AuthService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,9 +23,16 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminController {
 
     private final AuthService authService;
+    private final AppointmentExpiryJob appointmentExpiryJob;
+    private final DoctorDirectoryCache doctorDirectoryCache;
+    private final NotificationOutboxDispatcher notificationOutboxDispatcher;
 
-    public AdminController(AuthService authService) {
+    public AdminController(AuthService authService, AppointmentExpiryJob appointmentExpiryJob,
+                           DoctorDirectoryCache doctorDirectoryCache, NotificationOutboxDispatcher notificationOutboxDispatcher) {
         this.authService = authService;
+        this.appointmentExpiryJob = appointmentExpiryJob;
+        this.doctorDirectoryCache = doctorDirectoryCache;
+        this.notificationOutboxDispatcher = notificationOutboxDispatcher;
     }
 
     // Only users with the ADMIN role can access this endpoint
@@ -41,4 +55,25 @@ public class AdminController {
 
         return ResponseEntity.ok(responseDTO);
     }
+
+    // Rows processed by the PENDING-expiry job: last run and running totals
+    @GetMapping("/jobs/appointment-expiry")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AppointmentExpiryStatsResponseDTO> getAppointmentExpiryStats() {
+        return ResponseEntity.ok(appointmentExpiryJob.getStats());
+    }
+
+    // Backlog of the notification outbox plus deliveries, retries and give-ups since startup
+    @GetMapping("/jobs/notification-outbox")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<NotificationOutboxStatsResponseDTO> getNotificationOutboxStats() {
+        return ResponseEntity.ok(notificationOutboxDispatcher.getStats());
+    }
+
+    // Hits, misses and evictions of the doctor directory cache since startup
+    @GetMapping("/caches/doctors")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DoctorCacheStatsResponseDTO> getDoctorCacheStats() {
+        return ResponseEntity.ok(doctorDirectoryCache.getStats());
+    }
 }
\ No newline at end of file
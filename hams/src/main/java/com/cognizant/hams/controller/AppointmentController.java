@@ -1,18 +1,26 @@
 package com.cognizant.hams.controller;
 
 import com.cognizant.hams.dto.request.AppointmentDTO;
+import com.cognizant.hams.dto.request.BulkAppointmentDecisionDTO;
+import com.cognizant.hams.dto.request.BulkAppointmentDTO;
 import com.cognizant.hams.dto.response.AppointmentResponseDTO;
+import com.cognizant.hams.dto.response.BulkAppointmentDecisionResponseDTO;
+import com.cognizant.hams.dto.response.BulkAppointmentResponseDTO;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
+import com.cognizant.hams.entity.AppointmentStatus;
 import com.cognizant.hams.service.AppointmentService;
 import com.cognizant.hams.service.DoctorService;
 import com.cognizant.hams.service.NotificationService;
 import com.cognizant.hams.service.PatientService; // Or a dedicated AppointmentService
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -33,6 +41,15 @@ public class AppointmentController {
         return new ResponseEntity<>(newAppointment, HttpStatus.CREATED);
     }
 
+    // Items are booked independently; the response reports the outcome of each one
+    @PostMapping("/admin/appointments/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkAppointmentResponseDTO> bookAppointments(
+            @Valid @RequestBody BulkAppointmentDTO bulkAppointmentDTO) {
+        BulkAppointmentResponseDTO response = appointmentService.bookAppointments(bulkAppointmentDTO);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/patients/status")
     @PreAuthorize("hasRole('PATIENT')")
     public ResponseEntity<List<AppointmentResponseDTO>> getAppointmentsForPatient() {
@@ -40,6 +57,19 @@ public class AppointmentController {
         return ResponseEntity.ok(appointments);
     }
 
+    @GetMapping("/patients/appointments")
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<CursorPageResponseDTO<AppointmentResponseDTO>> getAppointmentPageForPatient(
+            @RequestParam(value = "status", required = false) AppointmentStatus status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        CursorPageResponseDTO<AppointmentResponseDTO> page =
+                appointmentService.getAppointmentPageForPatient(status, fromDate, toDate, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/appointments/{appointmentId}")
     public ResponseEntity<AppointmentResponseDTO> getAppointmentById(
             @PathVariable("appointmentId") Long appointmentId) {
@@ -75,4 +105,13 @@ public class AppointmentController {
         AppointmentResponseDTO responseDTO = appointmentService.rejectAppointment(appointmentId, reason);
         return ResponseEntity.ok(responseDTO);
     }
+
+    // Confirms or rejects many pending appointments at once; the response reports the outcome of each id
+    @PostMapping("/doctors/appointments/decisions")
+    @PreAuthorize("hasRole('DOCTOR')")
+    public ResponseEntity<BulkAppointmentDecisionResponseDTO> decideAppointments(
+            @Valid @RequestBody BulkAppointmentDecisionDTO decisionDTO) {
+        BulkAppointmentDecisionResponseDTO response = appointmentService.decideAppointments(decisionDTO);
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
@@ -1,16 +1,40 @@
 package com.cognizant.hams.controller;
 
+import com.cognizant.hams.dto.request.AvailabilityTemplateDTO;
 import com.cognizant.hams.dto.request.DoctorAvailabilityDTO;
+import com.cognizant.hams.dto.response.AvailabilityHeatmapResponseDTO;
+import com.cognizant.hams.dto.response.AvailabilityImportResponseDTO;
+import com.cognizant.hams.dto.response.AvailabilityMatrixResponseDTO;
+import com.cognizant.hams.dto.response.AvailabilityTemplateResponseDTO;
+import com.cognizant.hams.dto.response.BitmapMigrationResponseDTO;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
 import com.cognizant.hams.dto.response.DoctorAndAvailabilityResponseDTO;
 import com.cognizant.hams.dto.response.DoctorAvailabilityResponseDTO;
+import com.cognizant.hams.dto.response.DoctorDayBitmapResponseDTO;
+import com.cognizant.hams.dto.response.DoctorDayScheduleResponseDTO;
+import com.cognizant.hams.dto.response.DoctorSlotResponseDTO;
+import com.cognizant.hams.dto.response.FirstAvailableSlotResponseDTO;
+import com.cognizant.hams.dto.response.FreeDoctorsResponseDTO;
+import com.cognizant.hams.service.AvailabilityBitmapService;
+import com.cognizant.hams.service.AvailabilityImportService;
+import com.cognizant.hams.service.AvailabilityTemplateService;
 import com.cognizant.hams.service.DoctorAvailabilityService;
+import com.cognizant.hams.service.FreeDoctorService;
+import com.cognizant.hams.util.AvailabilityImportReader;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -19,6 +43,10 @@ import java.util.List;
 public class DoctorAvailabilityController {
 
     private final DoctorAvailabilityService doctorAvailabilityService;
+    private final AvailabilityTemplateService availabilityTemplateService;
+    private final AvailabilityImportService availabilityImportService;
+    private final AvailabilityBitmapService availabilityBitmapService;
+    private final FreeDoctorService freeDoctorService;
 
     @PostMapping("/doctors/availability")
     @PreAuthorize("hasRole('DOCTOR')")
@@ -34,6 +62,44 @@ public class DoctorAvailabilityController {
         return new ResponseEntity<>(availability, HttpStatus.OK);
     }
 
+    @GetMapping("/doctors/schedule")
+    @PreAuthorize("hasRole('DOCTOR')")
+    public ResponseEntity<DoctorDayScheduleResponseDTO> getDoctorSchedule(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        DoctorDayScheduleResponseDTO schedule = doctorAvailabilityService.getDoctorSchedule(date);
+        return new ResponseEntity<>(schedule, HttpStatus.OK);
+    }
+
+    @PostMapping("/doctors/availability-templates")
+    @PreAuthorize("hasRole('DOCTOR')")
+    public ResponseEntity<AvailabilityTemplateResponseDTO> createTemplate(@Valid @RequestBody AvailabilityTemplateDTO templateDTO) {
+        AvailabilityTemplateResponseDTO template = availabilityTemplateService.createTemplate(templateDTO);
+        return new ResponseEntity<>(template, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/doctors/availability-templates")
+    @PreAuthorize("hasRole('DOCTOR')")
+    public ResponseEntity<List<AvailabilityTemplateResponseDTO>> getTemplates() {
+        List<AvailabilityTemplateResponseDTO> templates = availabilityTemplateService.getTemplates();
+        return new ResponseEntity<>(templates, HttpStatus.OK);
+    }
+
+    @PostMapping("/doctors/availability-templates/{templateId}/exceptions")
+    @PreAuthorize("hasRole('DOCTOR')")
+    public ResponseEntity<AvailabilityTemplateResponseDTO> addTemplateException(
+            @PathVariable("templateId") Long templateId,
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        AvailabilityTemplateResponseDTO template = availabilityTemplateService.addExceptionDate(templateId, date);
+        return new ResponseEntity<>(template, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/doctors/availability-templates/{templateId}")
+    @PreAuthorize("hasRole('DOCTOR')")
+    public ResponseEntity<Void> deleteTemplate(@PathVariable("templateId") Long templateId) {
+        availabilityTemplateService.deleteTemplate(templateId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @PutMapping("/admin/{doctorId}/availability/{availabilityId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<DoctorAvailabilityResponseDTO> updateAvailabilitySlot(@PathVariable("doctorId") Long doctorId, @PathVariable("availabilityId") Long availabilityId, @RequestBody  DoctorAvailabilityDTO doctorAvailabilityDTO ) {
@@ -41,16 +107,111 @@ public class DoctorAvailabilityController {
         return new ResponseEntity<>(doctorResponseDTO,HttpStatus.OK);
     }
 
+    // The body is read as a stream; send text/csv or application/x-ndjson
+    @PostMapping(value = "/admin/availability/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AvailabilityImportResponseDTO> importAvailability(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        AvailabilityImportReader.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? AvailabilityImportReader.Format.NDJSON : AvailabilityImportReader.Format.CSV;
+        AvailabilityImportResponseDTO report = availabilityImportService.importAvailability(body, format);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    // Front-desk view of several doctors side by side, e.g. doctorIds=3,7,12 for the next week
+    @GetMapping("/admin/availability/matrix")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AvailabilityMatrixResponseDTO> getAvailabilityMatrix(
+            @RequestParam("doctorIds") List<Long> doctorIds,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        AvailabilityMatrixResponseDTO matrix = doctorAvailabilityService.getAvailabilityMatrix(doctorIds, fromDate, toDate);
+        return new ResponseEntity<>(matrix, HttpStatus.OK);
+    }
+
+    @PostMapping("/admin/availability/bitmap-migration")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BitmapMigrationResponseDTO> migrateToBitmaps(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate) {
+        BitmapMigrationResponseDTO migration = availabilityBitmapService.migrate(fromDate);
+        return new ResponseEntity<>(migration, HttpStatus.OK);
+    }
+
+    @GetMapping("/patients/doctors/free")
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<FreeDoctorsResponseDTO> findFreeDoctors(
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(value = "time", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time,
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        FreeDoctorsResponseDTO freeDoctors = freeDoctorService.findFreeDoctors(date, time, specialization, limit);
+        return new ResponseEntity<>(freeDoctors, HttpStatus.OK);
+    }
+
+    @GetMapping("/patients/doctors/{doctorId}/heatmap")
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<AvailabilityHeatmapResponseDTO> getAvailabilityHeatmap(
+            @PathVariable("doctorId") Long doctorId,
+            @RequestParam(value = "month", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        AvailabilityHeatmapResponseDTO heatmap = doctorAvailabilityService.getAvailabilityHeatmap(doctorId, month);
+        return new ResponseEntity<>(heatmap, HttpStatus.OK);
+    }
+
+    @GetMapping("/patients/doctors/{doctorId}/day-bitmaps")
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<List<DoctorDayBitmapResponseDTO>> getDayBitmaps(
+            @PathVariable("doctorId") Long doctorId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        List<DoctorDayBitmapResponseDTO> days = availabilityBitmapService.getDayBitmaps(doctorId, fromDate, toDate);
+        return new ResponseEntity<>(days, HttpStatus.OK);
+    }
+
     @GetMapping("/patients/doctor-availability")
-    public ResponseEntity<List<DoctorAndAvailabilityResponseDTO>> getAvailableDoctor(@RequestParam("name") String doctorName){
-        List<DoctorAndAvailabilityResponseDTO> doctorAndAvailabilityResponseDTOList = doctorAvailabilityService.getAvailableDoctor(doctorName);
-        return new ResponseEntity<>(doctorAndAvailabilityResponseDTOList, HttpStatus.OK);
+    public ResponseEntity<CursorPageResponseDTO<DoctorAndAvailabilityResponseDTO>> getAvailableDoctor(
+            @RequestParam("name") String doctorName,
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size){
+        CursorPageResponseDTO<DoctorAndAvailabilityResponseDTO> page =
+                doctorAvailabilityService.getAvailableDoctor(doctorName, specialization, fromDate, toDate, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/patients/first-available")
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<List<FirstAvailableSlotResponseDTO>> findFirstAvailableSlots(
+            @RequestParam("specialization") String specialization,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "limit", defaultValue = "5") int limit) {
+        List<FirstAvailableSlotResponseDTO> slots = doctorAvailabilityService.findFirstAvailableSlots(specialization, fromDate, toDate, limit);
+        return new ResponseEntity<>(slots, HttpStatus.OK);
+    }
+
+    @GetMapping("/patients/doctors/{doctorId}/slots")
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<List<DoctorSlotResponseDTO>> getOpenSlots(
+            @PathVariable("doctorId") Long doctorId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        List<DoctorSlotResponseDTO> slots = availabilityTemplateService.getOpenSlots(doctorId, fromDate, toDate);
+        return new ResponseEntity<>(slots, HttpStatus.OK);
     }
 
     @GetMapping("/patients/searchDoctor")
-    public ResponseEntity<List<DoctorAndAvailabilityResponseDTO>> searchDoctorByName(@RequestParam("name") String doctorName){
-        List<DoctorAndAvailabilityResponseDTO> doctorAndAvailabilityResponseDTOList = doctorAvailabilityService.searchDoctorByName(doctorName);
-        return new ResponseEntity<>(doctorAndAvailabilityResponseDTOList, HttpStatus.OK);
+    public ResponseEntity<CursorPageResponseDTO<DoctorAndAvailabilityResponseDTO>> searchDoctorByName(
+            @RequestParam("name") String doctorName,
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size){
+        CursorPageResponseDTO<DoctorAndAvailabilityResponseDTO> page =
+                doctorAvailabilityService.searchDoctorByName(doctorName, specialization, fromDate, toDate, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
     }
 
 }
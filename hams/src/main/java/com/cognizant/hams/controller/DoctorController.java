@@ -2,12 +2,15 @@ package com.cognizant.hams.controller;
 
 import com.cognizant.hams.dto.request.AdminUserRequestDTO;
 import com.cognizant.hams.dto.request.DoctorDTO;
+import com.cognizant.hams.dto.request.DoctorSort;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
 import com.cognizant.hams.dto.response.DoctorResponseDTO;
 import com.cognizant.hams.service.DoctorService;
 import com.cognizant.hams.service.NotificationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -37,9 +40,9 @@ public class DoctorController {
     }
 
     @GetMapping("/get-all-doctors")
-    public ResponseEntity<List<DoctorResponseDTO>> getAllDoctor(){
-        List<DoctorResponseDTO> doctors = doctorService.getAllDoctor();
-        return new ResponseEntity<>(doctors,HttpStatus.OK);
+    public ResponseEntity<byte[]> getAllDoctor(){
+        // Written out as cached, without mapping or serializing each doctor again
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(doctorService.getAllDoctorJson());
     }
 
     @PutMapping("/{doctorId}")
@@ -68,4 +71,23 @@ public class DoctorController {
         return new ResponseEntity<>(doctors, HttpStatus.OK);
     }
 
+    // Name search tolerating typos, closest names first; maxDistance defaults to the configured bound
+    @GetMapping("/doctor-name/fuzzy")
+    public ResponseEntity<List<DoctorResponseDTO>> searchDoctorsByNameFuzzy(@RequestParam("name") String name,
+            @RequestParam(value = "maxDistance", required = false) Integer maxDistance){
+        List<DoctorResponseDTO> doctors = doctorService.searchDoctorsByNameFuzzy(name, maxDistance);
+        return new ResponseEntity<>(doctors, HttpStatus.OK);
+    }
+
+    // Cursor-paged directory with a stable order and optional filters; pass nextCursor back as cursor
+    @GetMapping("/directory")
+    public ResponseEntity<CursorPageResponseDTO<DoctorResponseDTO>> getDoctorPage(
+            @RequestParam(value = "sort", defaultValue = "NAME") DoctorSort sort,
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "minExperience", required = false) Integer minExperience,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        CursorPageResponseDTO<DoctorResponseDTO> page = doctorService.getDoctorPage(sort, specialization, minExperience, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 }
@@ -1,14 +1,21 @@
 package com.cognizant.hams.controller;
 
+import com.cognizant.hams.dto.request.DoctorSort;
 import com.cognizant.hams.dto.request.PatientDTO;
 import com.cognizant.hams.dto.response.PatientResponseDTO;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
+import com.cognizant.hams.dto.response.DoctorFacetSearchResponseDTO;
 import com.cognizant.hams.dto.response.DoctorResponseDTO;
+import com.cognizant.hams.dto.response.NearbyDoctorResponseDTO;
 import com.cognizant.hams.repository.PatientRepository;
+import com.cognizant.hams.service.DoctorFacetService;
+import com.cognizant.hams.service.DoctorGeoService;
 import com.cognizant.hams.service.NotificationService;
 import com.cognizant.hams.service.impl.PatientServiceImpl;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +30,8 @@ public class PatientController {
 
     private final PatientServiceImpl patientService;
     private final NotificationService notificationService;
+    private final DoctorFacetService doctorFacetService;
+    private final DoctorGeoService doctorGeoService;
     PatientRepository patientRepository;
 
     @PostMapping
@@ -55,6 +64,14 @@ public class PatientController {
         return new ResponseEntity<>(doctors, HttpStatus.OK);
     }
 
+    // Name search tolerating typos, closest names first; maxDistance defaults to the configured bound
+    @GetMapping("/doctor-name/fuzzy")
+    public ResponseEntity<List<DoctorResponseDTO>> searchDoctorByNameFuzzy(@RequestParam("name") String name,
+            @RequestParam(value = "maxDistance", required = false) Integer maxDistance){
+        List<DoctorResponseDTO> doctors = patientService.searchDoctorByNameFuzzy(name, maxDistance);
+        return new ResponseEntity<>(doctors, HttpStatus.OK);
+    }
+
     @GetMapping("/doctor-specialization")
     public ResponseEntity<List<DoctorResponseDTO>> searchDoctorBySpecialization(@RequestParam("specialization") String specialization){
         List<DoctorResponseDTO> doctors = patientService.searchDoctorBySpecialization(specialization);
@@ -62,10 +79,44 @@ public class PatientController {
     }
 
     @GetMapping("/all-doctors")
-    public ResponseEntity<List<DoctorResponseDTO>> getAllDoctors(){
-        List<DoctorResponseDTO> doctors = patientService.getAllDoctors();
-        return new ResponseEntity<>(doctors, HttpStatus.OK);
+    public ResponseEntity<byte[]> getAllDoctors(){
+        // Written out as cached, without mapping or serializing each doctor again
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(patientService.getAllDoctorsJson());
     }
-}
 
+    // Cursor-paged directory with a stable order and optional filters; pass nextCursor back as cursor
+    @GetMapping("/doctors/directory")
+    public ResponseEntity<CursorPageResponseDTO<DoctorResponseDTO>> getDoctorPage(
+            @RequestParam(value = "sort", defaultValue = "NAME") DoctorSort sort,
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "minExperience", required = false) Integer minExperience,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        CursorPageResponseDTO<DoctorResponseDTO> page = patientService.getDoctorPage(sort, specialization, minExperience, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
 
+    // Doctors matching the filter chips plus the count of every chip; repeat a parameter to select several values
+    @GetMapping("/doctors/facets")
+    public ResponseEntity<DoctorFacetSearchResponseDTO> searchDoctorFacets(
+            @RequestParam(value = "specialization", required = false) List<String> specializations,
+            @RequestParam(value = "experience", required = false) List<String> experienceBands,
+            @RequestParam(value = "qualification", required = false) List<String> qualifications,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        DoctorFacetSearchResponseDTO result =
+                doctorFacetService.search(specializations, experienceBands, qualifications, cursor, size);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // Doctors whose clinic is closest to the given point, nearest first; doctors without a location are not listed
+    @GetMapping("/doctors/nearby")
+    public ResponseEntity<List<NearbyDoctorResponseDTO>> findNearbyDoctors(
+            @RequestParam("latitude") double latitude,
+            @RequestParam("longitude") double longitude,
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        List<NearbyDoctorResponseDTO> doctors = doctorGeoService.findNearest(latitude, longitude, specialization, limit);
+        return new ResponseEntity<>(doctors, HttpStatus.OK);
+    }
+}
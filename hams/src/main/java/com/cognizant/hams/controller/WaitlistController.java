@@ -0,0 +1,41 @@
+package com.cognizant.hams.controller;
+
+import com.cognizant.hams.dto.request.WaitlistRequestDTO;
+import com.cognizant.hams.dto.response.WaitlistEntryResponseDTO;
+import com.cognizant.hams.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/patients/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    // Queues the patient for the next slot that frees up on that doctor's day
+    @PostMapping
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<WaitlistEntryResponseDTO> joinWaitlist(@Valid @RequestBody WaitlistRequestDTO waitlistRequestDTO) {
+        WaitlistEntryResponseDTO entry = waitlistService.joinWaitlist(waitlistRequestDTO);
+        return new ResponseEntity<>(entry, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<List<WaitlistEntryResponseDTO>> getWaitlistForPatient() {
+        return ResponseEntity.ok(waitlistService.getWaitlistForPatient());
+    }
+
+    @DeleteMapping("/{waitlistEntryId}")
+    @PreAuthorize("hasRole('PATIENT')")
+    public ResponseEntity<WaitlistEntryResponseDTO> leaveWaitlist(@PathVariable("waitlistEntryId") Long waitlistEntryId) {
+        return ResponseEntity.ok(waitlistService.leaveWaitlist(waitlistEntryId));
+    }
+}
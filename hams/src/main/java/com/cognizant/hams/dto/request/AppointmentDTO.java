@@ -32,4 +32,10 @@ public class AppointmentDTO {
     private LocalTime endTime;
 
     private String reason;
+
+    // Optional published slot to claim; when set the date and times must match it
+    private Long availabilityId;
+
+    // Optional recurring template to book a slot from; ignored when availabilityId is set
+    private Long templateId;
 }
\ No newline at end of file
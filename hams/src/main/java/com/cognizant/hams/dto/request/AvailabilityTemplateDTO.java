@@ -0,0 +1,44 @@
+package com.cognizant.hams.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityTemplateDTO {
+
+    @NotNull(message = "Day of week is required")
+    private DayOfWeek dayOfWeek;
+
+    @NotNull(message = "Start time is required")
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required")
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime endTime;
+
+    @NotNull(message = "Slot length is required")
+    @Min(value = 5, message = "Slots must be at least 5 minutes long")
+    @Max(value = 240, message = "Slots cannot be longer than 240 minutes")
+    private Integer slotMinutes;
+
+    @NotNull(message = "Valid-from date is required")
+    private LocalDate validFrom;
+
+    private LocalDate validTo;
+
+    private Set<LocalDate> exceptionDates = new HashSet<>();
+}
@@ -0,0 +1,20 @@
+package com.cognizant.hams.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAppointmentDTO {
+
+    @NotEmpty(message = "At least one appointment is required")
+    @Size(max = 5000, message = "A bulk request cannot exceed 5000 appointments")
+    private List<@Valid BulkAppointmentItemDTO> appointments;
+}
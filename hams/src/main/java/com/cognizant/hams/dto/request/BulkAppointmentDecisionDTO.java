@@ -0,0 +1,31 @@
+package com.cognizant.hams.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAppointmentDecisionDTO {
+
+    public enum Decision {
+        CONFIRM,
+        REJECT
+    }
+
+    @NotEmpty(message = "At least one appointment id is required")
+    @Size(max = 500, message = "A bulk decision cannot exceed 500 appointments")
+    private List<@NotNull Long> appointmentIds;
+
+    @NotNull(message = "Decision is required")
+    private Decision decision;
+
+    // Only used when rejecting; shared by every appointment in the request
+    private String reason;
+}
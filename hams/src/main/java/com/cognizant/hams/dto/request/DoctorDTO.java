@@ -30,4 +30,18 @@ public class DoctorDTO {
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid Email")
     private String email;
+
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    // A doctor without a clinic location
+    public DoctorDTO(String doctorName, String qualification, String specialization, String clinicAddress,
+                     Integer yearOfExperience, String contactNumber, String email) {
+        this(doctorName, qualification, specialization, clinicAddress, yearOfExperience, contactNumber, email, null, null);
+    }
 }
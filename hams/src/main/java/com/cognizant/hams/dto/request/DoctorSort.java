@@ -0,0 +1,14 @@
+package com.cognizant.hams.dto.request;
+
+/**
+ * Orders of the paged doctor directory. Each ends with the doctor id so the order is total and a cursor
+ * always points between two rows.
+ */
+public enum DoctorSort {
+    // Name A-Z, then id
+    NAME,
+    // Most experienced first, then highest id
+    EXPERIENCE,
+    // Id ascending, the order doctors were added in
+    ID
+}
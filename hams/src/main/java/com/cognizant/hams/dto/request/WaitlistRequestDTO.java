@@ -0,0 +1,26 @@
+package com.cognizant.hams.dto.request;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistRequestDTO {
+
+    @NotNull(message = "Doctor ID is required")
+    private Long doctorId;
+
+    @NotNull(message = "Waitlist date is required")
+    @FutureOrPresent(message = "Waitlist date must be today or in the future")
+    private LocalDate waitlistDate;
+
+    @Size(max = 255, message = "Reason cannot exceed 255 characters")
+    private String reason;
+}
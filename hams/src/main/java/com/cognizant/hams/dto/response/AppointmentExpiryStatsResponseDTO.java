@@ -0,0 +1,19 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AppointmentExpiryStatsResponseDTO {
+    private long runs;
+    private long totalExpired;
+    private LocalDateTime lastRunStartedAt;
+    private long lastRunMillis;
+    private int lastRunChunks;
+    private int lastRunExpired;
+}
@@ -24,4 +24,6 @@ public class AppointmentResponseDTO {
 
     private PatientResponseDTO patient;
     private DoctorResponseDTO doctor;
+
+    private Long availabilityId;
 }
\ No newline at end of file
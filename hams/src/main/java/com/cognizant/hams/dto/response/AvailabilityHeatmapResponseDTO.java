@@ -0,0 +1,19 @@
+package com.cognizant.hams.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityHeatmapResponseDTO {
+    private Long doctorId;
+    @JsonFormat(pattern = "yyyy-MM")
+    private YearMonth month;
+    // Free slots per day, index 0 being the 1st; days already past count as 0
+    private int[] freeSlots;
+}
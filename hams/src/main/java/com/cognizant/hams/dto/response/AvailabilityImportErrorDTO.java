@@ -0,0 +1,13 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityImportErrorDTO {
+    private long line;
+    private String message;
+}
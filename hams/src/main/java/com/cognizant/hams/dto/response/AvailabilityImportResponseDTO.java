@@ -0,0 +1,19 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityImportResponseDTO {
+    private long lines;
+    private long imported;
+    private long failed;
+    // Only the first errors are listed; failed still counts all of them
+    private boolean errorsTruncated;
+    private List<AvailabilityImportErrorDTO> errors;
+}
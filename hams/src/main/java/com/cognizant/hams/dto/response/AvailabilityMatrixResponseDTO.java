@@ -0,0 +1,19 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityMatrixResponseDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private int slotMinutes;
+    // In the order the doctors were requested
+    private List<AvailabilityMatrixRowDTO> doctors;
+}
@@ -0,0 +1,19 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityMatrixRowDTO {
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+    // One slot bitmap in hex per day of the range, null for a day with nothing published
+    private List<String> open;
+    private List<String> taken;
+}
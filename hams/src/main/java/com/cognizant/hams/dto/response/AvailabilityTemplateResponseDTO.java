@@ -0,0 +1,25 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityTemplateResponseDTO {
+    private Long templateId;
+    private Long doctorId;
+    private DayOfWeek dayOfWeek;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer slotMinutes;
+    private LocalDate validFrom;
+    private LocalDate validTo;
+    private List<LocalDate> exceptionDates;
+}
@@ -0,0 +1,17 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BitmapMigrationResponseDTO {
+    private LocalDate fromDate;
+    private long doctors;
+    private long days;
+    private long durationMillis;
+}
@@ -0,0 +1,17 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAppointmentDecisionResponseDTO {
+    private int requested;
+    private int applied;
+    private int failed;
+    private List<BulkAppointmentResultDTO> results;
+}
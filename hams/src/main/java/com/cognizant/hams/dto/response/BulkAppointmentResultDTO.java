@@ -0,0 +1,15 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAppointmentResultDTO {
+    private int index;
+    private boolean success;
+    private Long appointmentId;
+    private String message;
+}
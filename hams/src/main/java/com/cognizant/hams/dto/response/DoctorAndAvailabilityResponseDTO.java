@@ -2,8 +2,9 @@ package com.cognizant.hams.dto.response;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import java.sql.Date;
-import java.sql.Time;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
 
 
 @Data
@@ -19,8 +20,9 @@ public class DoctorAndAvailabilityResponseDTO {
 
     private String qualification;
     private Integer yearOfExperience;
-    private Time startTime;
-    private Time endTime;
-    private Date availableDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private LocalDate availableDate;
     private boolean available;
+    private Long availabilityId;
 }
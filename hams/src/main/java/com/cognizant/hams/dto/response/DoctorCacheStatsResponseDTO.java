@@ -0,0 +1,19 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DoctorCacheStatsResponseDTO {
+    private long directoryHits;
+    private long directoryMisses;
+    private int directoryBytes;
+    private long doctorHits;
+    private long doctorMisses;
+    private long doctorEvictions;
+    private int cachedDoctors;
+    private int maxDoctors;
+}
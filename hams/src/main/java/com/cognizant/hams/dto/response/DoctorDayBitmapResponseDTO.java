@@ -0,0 +1,23 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One day of a doctor as fixed-width hex bitmaps, low word first; bit i is the slot starting i * slotMinutes after midnight
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorDayBitmapResponseDTO {
+    private LocalDate date;
+    private int slotMinutes;
+    // Published slots, booked or not
+    private String available;
+    // Slots held by pending or confirmed appointments
+    private String booked;
+    // available AND NOT booked
+    private String free;
+    private int freeSlots;
+}
@@ -0,0 +1,28 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A doctor's day as three slot bitmaps. Each bitmap is fixed-width hex, low 64-bit word first;
+ * slot {@code i} covers {@code i * slotMinutes} minutes after midnight.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorDayScheduleResponseDTO {
+    private LocalDate date;
+    private int slotMinutes;
+    // Published availability that is still open
+    private String free;
+    // Pending appointments awaiting the doctor's decision
+    private String held;
+    // Confirmed or completed appointments
+    private String booked;
+    // Active appointments of the day, ordered by start time
+    private List<Long> appointmentIds;
+}
@@ -0,0 +1,22 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorFacetSearchResponseDTO {
+    // All doctors matching the filters, of which one page is listed in doctorId order
+    private int total;
+    private List<DoctorResponseDTO> doctors;
+    private boolean hasNext;
+    // Pass back as "cursor" to fetch the following page; null on the last page
+    private String nextCursor;
+    private List<FacetCountDTO> specializations;
+    private List<FacetCountDTO> experienceBands;
+    private List<FacetCountDTO> qualifications;
+}
@@ -0,0 +1,20 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// An open slot; book it with availabilityId when set, otherwise with templateId
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DoctorSlotResponseDTO {
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Long availabilityId;
+    private Long templateId;
+}
@@ -0,0 +1,15 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDTO {
+    private String value;
+    // Doctors this value would match together with the filters of the other facets
+    private int count;
+    private boolean selected;
+}
@@ -0,0 +1,23 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FirstAvailableSlotResponseDTO {
+    private Long availabilityId;
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+    private LocalDate availableDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    // Set instead of availabilityId for a slot of a recurring template
+    private Long templateId;
+}
@@ -0,0 +1,22 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeDoctorsResponseDTO {
+    private LocalDate date;
+    // Start of the slot the requested time falls in
+    private LocalTime slotStart;
+    private int slotMinutes;
+    // Every free doctor, of which the ones with the lowest ids are listed
+    private int total;
+    private List<DoctorResponseDTO> doctors;
+}
@@ -0,0 +1,17 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyDoctorResponseDTO {
+    private DoctorResponseDTO doctor;
+    // Clinic location as entered by an admin
+    private Double latitude;
+    private Double longitude;
+    // Great-circle distance from the requested point
+    private double distanceKm;
+}
@@ -0,0 +1,22 @@
+package com.cognizant.hams.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationOutboxStatsResponseDTO {
+    // Events waiting in the outbox, and events given up on after the last attempt
+    private long pending;
+    private long failed;
+    private long totalDelivered;
+    private long totalRetried;
+    private long totalFailed;
+    private LocalDateTime lastRunStartedAt;
+    private long lastRunMillis;
+    private int lastRunDelivered;
+}
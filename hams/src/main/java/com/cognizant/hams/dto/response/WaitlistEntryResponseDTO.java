@@ -0,0 +1,24 @@
+package com.cognizant.hams.dto.response;
+
+import com.cognizant.hams.entity.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaitlistEntryResponseDTO {
+    private Long waitlistEntryId;
+    private Long doctorId;
+    private String doctorName;
+    private LocalDate waitlistDate;
+    private WaitlistStatus status;
+    // 1-based place in the doctor's queue for that day; only set while WAITING
+    private Integer position;
+    private Long appointmentId;
+    private LocalDateTime createdAt;
+}
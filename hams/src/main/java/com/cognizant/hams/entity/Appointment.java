@@ -9,7 +9,15 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointment_patient_date", columnList = "patient_id, appointment_date, appointment_id"),
+        @Index(name = "idx_appointment_status_date", columnList = "status, appointment_date, appointment_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_appointment_doctor_slot",
+                columnNames = {"doctor_id", "appointment_date", "start_time", "active_slot"}),
+        @UniqueConstraint(name = "uk_appointment_patient_slot",
+                columnNames = {"patient_id", "appointment_date", "start_time", "active_slot"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -41,7 +49,16 @@ public class Appointment {
 
     private String reason;
 
+    // Published availability slot this appointment claimed, if it was booked against one
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "availability_id")
+    private DoctorAvailability availability;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AppointmentStatus status;
+
+    // TRUE while the appointment holds its slot, NULL once canceled or rejected so the unique keys ignore it
+    @Column(name = "active_slot")
+    private Boolean activeSlot;
 }
\ No newline at end of file
@@ -1,9 +1,49 @@
  package com.cognizant.hams.entity; // Or a new dto/enum package
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
     public enum AppointmentStatus {
         COMPLETED,
         CANCELED,
         PENDING,
         CONFIRMED,
         REJECTED,
+        // Left PENDING past its start time without a decision from the doctor
+        EXPIRED;
+
+        // Statuses in which an appointment still blocks its time range
+        public static final Set<AppointmentStatus> ACTIVE = Collections.unmodifiableSet(EnumSet.of(PENDING, CONFIRMED));
+
+        // Legal moves out of each status; anything not listed is terminal
+        private static final Map<AppointmentStatus, Set<AppointmentStatus>> TRANSITIONS = new EnumMap<>(AppointmentStatus.class);
+        // The same table inverted, so a conditional update can be given every status a target is reachable from
+        private static final Map<AppointmentStatus, Set<AppointmentStatus>> SOURCES = new EnumMap<>(AppointmentStatus.class);
+
+        static {
+            allow(PENDING, CONFIRMED, REJECTED, CANCELED, EXPIRED);
+            allow(CONFIRMED, REJECTED, CANCELED, COMPLETED);
+            for (AppointmentStatus status : values()) {
+                TRANSITIONS.putIfAbsent(status, Collections.emptySet());
+                SOURCES.putIfAbsent(status, Collections.emptySet());
+            }
+        }
+
+        private static void allow(AppointmentStatus from, AppointmentStatus... targets) {
+            TRANSITIONS.put(from, Collections.unmodifiableSet(EnumSet.of(targets[0], targets)));
+            for (AppointmentStatus target : targets) {
+                SOURCES.computeIfAbsent(target, t -> EnumSet.noneOf(AppointmentStatus.class)).add(from);
+            }
+        }
+
+        public boolean canTransitionTo(AppointmentStatus target) {
+            return TRANSITIONS.get(this).contains(target);
+        }
+
+        public static Set<AppointmentStatus> sourcesOf(AppointmentStatus target) {
+            return Collections.unmodifiableSet(SOURCES.get(target));
+        }
     }
@@ -0,0 +1,62 @@
+package com.cognizant.hams.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+// Weekly recurring availability; concrete slots are derived on read and only stored once booked
+@Entity
+@Table(name = "availability_templates", indexes = {
+        @Index(name = "idx_template_doctor", columnList = "doctor_id, day_of_week")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "template_id")
+    private Long templateId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "slot_minutes", nullable = false)
+    private Integer slotMinutes;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    // Open-ended when null
+    @Column(name = "valid_to")
+    private LocalDate validTo;
+
+    // Dates on which the rule yields no slots, e.g. holidays
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "availability_template_exceptions", joinColumns = @JoinColumn(name = "template_id"))
+    @Column(name = "exception_date", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<LocalDate> exceptionDates = new HashSet<>();
+}
@@ -6,7 +6,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "doctors")
+@Table(name = "doctors", indexes = {
+        @Index(name = "idx_doctor_name", columnList = "doctor_name, specialization"),
+        // Keyset orders of the paged directory, with and without the specialization filter
+        @Index(name = "idx_doctor_name_id", columnList = "doctor_name, doctor_id"),
+        @Index(name = "idx_doctor_experience", columnList = "year_of_experience, doctor_id"),
+        @Index(name = "idx_doctor_specialization_name", columnList = "specialization, doctor_name, doctor_id"),
+        @Index(name = "idx_doctor_specialization_experience", columnList = "specialization, year_of_experience, doctor_id")
+})
 @Data
 @NoArgsConstructor
 public class Doctor {
@@ -46,4 +53,13 @@ public class Doctor {
     @NotBlank(message = "Clinic address is required")
     @Size(max = 255, message = "Address cannot exceed 255 characters")
     private String clinicAddress;
+
+    // Clinic location as entered by an admin; set together or not at all
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
 }
\ No newline at end of file
@@ -15,6 +15,9 @@ import java.time.LocalTime;
 @Entity
 @Table(name = "doctor_availability", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"doctor_id", "available_date", "start_time"})
+}, indexes = {
+        @Index(name = "idx_availability_open_date", columnList = "available, available_date, start_time"),
+        @Index(name = "idx_availability_doctor_date", columnList = "doctor_id, available_date, available")
 })
 @Data
 @NoArgsConstructor
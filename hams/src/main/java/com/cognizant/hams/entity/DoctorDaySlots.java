@@ -0,0 +1,44 @@
+package com.cognizant.hams.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Bitmap form of one doctor's day: which 15-minute slots are published and which are booked, each as
+ * two 48-bit words (see {@link com.cognizant.hams.util.SlotBitmap}). Derived from doctor_availability
+ * and appointments; written through {@link com.cognizant.hams.repository.DoctorDaySlotsJdbcRepository}.
+ */
+@Entity
+@Table(name = "doctor_day_slots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_day_slots_doctor_date", columnNames = {"doctor_id", "slot_date"})
+})
+@Data
+@NoArgsConstructor
+public class DoctorDaySlots {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long daySlotsId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    @Column(name = "available_word0", nullable = false)
+    private long availableWord0;
+
+    @Column(name = "available_word1", nullable = false)
+    private long availableWord1;
+
+    @Column(name = "booked_word0", nullable = false)
+    private long bookedWord0;
+
+    @Column(name = "booked_word1", nullable = false)
+    private long bookedWord1;
+}
@@ -40,6 +40,10 @@ public class Notification {
     @Column(name = "isread", nullable = false)
     private boolean read = false;
 
+    // The outbox event this notification was rendered from; unique, so an event is never delivered twice
+    @Column(name = "outbox_event_id", unique = true)
+    private Long outboxEventId;
+
     public enum RecipientType{
         DOCTOR,
         PATIENT
@@ -0,0 +1,85 @@
+package com.cognizant.hams.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification still to be sent, written in the same transaction as the appointment change that causes
+ * it. The recipient and message are rendered when the row is written, so the notification describes the
+ * appointment as it was then, whatever has happened to it by the time it is sent. The dispatcher copies
+ * the row into a notification and deletes it; rows that keep failing are kept as FAILED.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        // Due events in claim order
+        @Index(name = "idx_outbox_status_due", columnList = "status, next_attempt_at, id")
+})
+@Data
+@NoArgsConstructor
+public class NotificationOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+
+    @Column(name = "recipient_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Notification.RecipientType recipientType;
+
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt = createdAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Snapshots a rendered notification
+    public NotificationOutboxEvent(Type type, Notification notification) {
+        this.type = type;
+        this.appointmentId = notification.getAppointment().getAppointmentId();
+        this.recipientType = notification.getRecipientType();
+        this.recipientId = notification.getRecipientId();
+        this.title = notification.getTitle();
+        this.message = notification.getMessage();
+    }
+
+    public enum Type {
+        APPOINTMENT_REQUESTED,
+        APPOINTMENT_CONFIRMED,
+        APPOINTMENT_REJECTED,
+        APPOINTMENT_EXPIRED,
+        WAITLIST_PROMOTED
+    }
+
+    public enum Status {
+        PENDING,
+        FAILED
+    }
+}
@@ -0,0 +1,8 @@
+package com.cognizant.hams.entity;
+
+public enum WaitlistStatus {
+    WAITING,
+    PROMOTED,
+    WITHDRAWN,
+    EXPIRED
+}
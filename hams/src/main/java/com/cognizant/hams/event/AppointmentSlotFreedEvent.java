@@ -0,0 +1,14 @@
+package com.cognizant.hams.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published when a canceled or rejected appointment gives its time range back to the doctor.
+ */
+public record AppointmentSlotFreedEvent(Long doctorId,
+                                        LocalDate appointmentDate,
+                                        LocalTime startTime,
+                                        LocalTime endTime,
+                                        Long availabilityId) {
+}
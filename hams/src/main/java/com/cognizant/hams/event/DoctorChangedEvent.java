@@ -0,0 +1,8 @@
+package com.cognizant.hams.event;
+
+/**
+ * Published after a doctor profile was created, updated or deleted. Listeners read the doctor back;
+ * when it is gone, it was deleted.
+ */
+public record DoctorChangedEvent(Long doctorId) {
+}
@@ -0,0 +1,10 @@
+package com.cognizant.hams.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published after a doctor's availability or bookings changed on a day, for read models kept apart
+ * from the source tables. A null date means any day may have changed.
+ */
+public record DoctorDayChangedEvent(Long doctorId, LocalDate date) {
+}
@@ -0,0 +1,122 @@
+package com.cognizant.hams.index;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory index of the booked time ranges of every doctor and every patient, one sorted map per
+ * owner and day. Booking checks run against this index instead of the appointments table; the unique
+ * constraints on {@code appointments} remain the final guard.
+ */
+@Component
+public class AppointmentIntervalIndex {
+
+    public enum Conflict {
+        NONE,
+        DOCTOR,
+        PATIENT
+    }
+
+    private final ConcurrentMap<DayKey, DaySchedule> doctorDays = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DayKey, DaySchedule> patientDays = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    // Replaces the index content with the given active appointments
+    public void load(List<AppointmentSlot> slots) {
+        doctorDays.clear();
+        patientDays.clear();
+        for (AppointmentSlot slot : slots) {
+            day(doctorDays, slot.doctorId(), slot.appointmentDate()).add(slot.startTime(), slot.endTime());
+            day(patientDays, slot.patientId(), slot.appointmentDate()).add(slot.startTime(), slot.endTime());
+        }
+        loaded = true;
+    }
+
+    // Until the first load an empty day cannot be told from one whose bookings are not indexed yet
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Atomically checks the doctor's and the patient's day for an overlap and, if both are free,
+     * records the slot for both of them.
+     */
+    public Conflict tryReserve(AppointmentSlot slot) {
+        DaySchedule doctorDay = day(doctorDays, slot.doctorId(), slot.appointmentDate());
+        DaySchedule patientDay = day(patientDays, slot.patientId(), slot.appointmentDate());
+
+        // Lock order is always doctor before patient
+        synchronized (doctorDay) {
+            synchronized (patientDay) {
+                if (doctorDay.overlaps(slot.startTime(), slot.endTime())) {
+                    return Conflict.DOCTOR;
+                }
+                if (patientDay.overlaps(slot.startTime(), slot.endTime())) {
+                    return Conflict.PATIENT;
+                }
+                doctorDay.add(slot.startTime(), slot.endTime());
+                patientDay.add(slot.startTime(), slot.endTime());
+                return Conflict.NONE;
+            }
+        }
+    }
+
+    public void release(AppointmentSlot slot) {
+        DaySchedule doctorDay = doctorDays.get(new DayKey(slot.doctorId(), slot.appointmentDate()));
+        if (doctorDay != null) {
+            doctorDay.remove(slot.startTime(), slot.endTime());
+        }
+        DaySchedule patientDay = patientDays.get(new DayKey(slot.patientId(), slot.appointmentDate()));
+        if (patientDay != null) {
+            patientDay.remove(slot.startTime(), slot.endTime());
+        }
+    }
+
+    public boolean isDoctorFree(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        DaySchedule doctorDay = doctorDays.get(new DayKey(doctorId, date));
+        return doctorDay == null || !doctorDay.overlaps(startTime, endTime);
+    }
+
+    // Drops the days that can no longer be booked
+    public void evictBefore(LocalDate date) {
+        doctorDays.keySet().removeIf(key -> key.date().isBefore(date));
+        patientDays.keySet().removeIf(key -> key.date().isBefore(date));
+    }
+
+    private static DaySchedule day(ConcurrentMap<DayKey, DaySchedule> days, Long ownerId, LocalDate date) {
+        return days.computeIfAbsent(new DayKey(ownerId, date), key -> new DaySchedule());
+    }
+
+    private record DayKey(Long ownerId, LocalDate date) {
+    }
+
+    // Non-overlapping [start, end) ranges of one owner on one day, keyed by start time
+    private static final class DaySchedule {
+
+        private final TreeMap<LocalTime, LocalTime> ranges = new TreeMap<>();
+
+        synchronized boolean overlaps(LocalTime start, LocalTime end) {
+            Map.Entry<LocalTime, LocalTime> before = ranges.floorEntry(start);
+            if (before != null && before.getValue().isAfter(start)) {
+                return true;
+            }
+            LocalTime nextStart = ranges.ceilingKey(start);
+            return nextStart != null && nextStart.isBefore(end);
+        }
+
+        synchronized void add(LocalTime start, LocalTime end) {
+            ranges.put(start, end);
+        }
+
+        synchronized void remove(LocalTime start, LocalTime end) {
+            ranges.remove(start, end);
+        }
+    }
+}
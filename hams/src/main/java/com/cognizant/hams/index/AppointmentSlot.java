@@ -0,0 +1,27 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.entity.Appointment;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The time span an appointment occupies for its doctor and its patient.
+ */
+public record AppointmentSlot(Long appointmentId,
+                              Long doctorId,
+                              Long patientId,
+                              LocalDate appointmentDate,
+                              LocalTime startTime,
+                              LocalTime endTime) {
+
+    public static AppointmentSlot of(Appointment appointment) {
+        return new AppointmentSlot(
+                appointment.getAppointmentId(),
+                appointment.getDoctor().getDoctorId(),
+                appointment.getPatient().getPatientId(),
+                appointment.getAppointmentDate(),
+                appointment.getStartTime(),
+                appointment.getEndTime());
+    }
+}
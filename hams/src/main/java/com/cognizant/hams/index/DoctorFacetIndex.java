@@ -0,0 +1,225 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.DoctorFacetView;
+import com.cognizant.hams.util.CompressedBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet aggregate of the doctor directory: for every specialization, experience band and qualification
+ * the {@link CompressedBitmap} of its doctors. A count is the cardinality of a bitmap, a filter is an
+ * intersection, so one search answers both the hits and every facet count without touching the database.
+ *
+ * <p>Values within a facet are OR-ed and facets are AND-ed. The counts of a facet are taken under the
+ * filters of the other facets only, so each count says how many doctors selecting that value would add.
+ * Values are matched ignoring case and surrounding blanks and reported in the spelling first seen.
+ */
+@Component
+public class DoctorFacetIndex {
+
+    public enum Facet {
+        SPECIALIZATION,
+        EXPERIENCE,
+        QUALIFICATION
+    }
+
+    // Lower bounds in years; a doctor belongs to the last band whose bound they reach
+    private static final int[] BAND_FLOORS = {0, 5, 10, 20};
+    private static final String[] BAND_NAMES = {"0-4", "5-9", "10-19", "20+"};
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Facet, Map<String, Values>> facets = new EnumMap<>(Facet.class);
+    // The keys each doctor is filed under, in Facet order, to take them out again on change
+    private final Map<Integer, String[]> keysOf = new HashMap<>();
+    private CompressedBitmap all = new CompressedBitmap();
+
+    public DoctorFacetIndex() {
+        for (Facet facet : Facet.values()) {
+            facets.put(facet, new HashMap<>());
+        }
+    }
+
+    // Replaces the index content with the given doctors
+    public void load(List<DoctorFacetView> doctors) {
+        lock.writeLock().lock();
+        try {
+            for (Map<String, Values> values : facets.values()) {
+                values.clear();
+            }
+            keysOf.clear();
+            all = new CompressedBitmap();
+            for (DoctorFacetView doctor : doctors) {
+                add(Math.toIntExact(doctor.doctorId()), doctor.specialization(), doctor.yearOfExperience(), doctor.qualification());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Long doctorId, String specialization, Integer yearOfExperience, String qualification) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(doctorId));
+            add(Math.toIntExact(doctorId), specialization, yearOfExperience, qualification);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long doctorId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(doctorId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Doctors matching the selection, as ids after afterId (pass null for the first page), plus the total
+     * and the counts of every facet value. An empty or missing selection leaves a facet unfiltered; an
+     * unknown value matches nobody.
+     */
+    public Result search(Map<Facet, ? extends Collection<String>> selection, Long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Facet, CompressedBitmap> filters = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                Collection<String> selected = selection.get(facet);
+                if (selected != null && !selected.isEmpty()) {
+                    filters.put(facet, union(facet, selected));
+                }
+            }
+
+            CompressedBitmap matching = intersect(filters, null);
+            int[] ids = matching.after(afterId == null ? -1 : Math.toIntExact(afterId), limit);
+
+            Map<Facet, List<Count>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                CompressedBitmap base = intersect(filters, facet);
+                List<Count> facetCounts = new ArrayList<>();
+                for (Map.Entry<String, Values> entry : facets.get(facet).entrySet()) {
+                    int count = base.andCardinality(entry.getValue().doctors());
+                    Collection<String> selected = selection.get(facet);
+                    boolean isSelected = selected != null && selected.stream().anyMatch(value -> key(facet, value).equals(entry.getKey()));
+                    if (count > 0 || isSelected) {
+                        facetCounts.add(new Count(entry.getValue().label(), count, isSelected));
+                    }
+                }
+                facetCounts.sort(facet == Facet.EXPERIENCE
+                        ? Comparator.comparingInt(count -> bandIndex(count.value()))
+                        : Comparator.comparingInt(Count::count).reversed().thenComparing(Count::value));
+                counts.put(facet, facetCounts);
+            }
+            return new Result(matching.cardinality(), ids, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String band(int yearOfExperience) {
+        int band = 0;
+        while (band + 1 < BAND_FLOORS.length && yearOfExperience >= BAND_FLOORS[band + 1]) {
+            band++;
+        }
+        return BAND_NAMES[band];
+    }
+
+    private static int bandIndex(String band) {
+        for (int i = 0; i < BAND_NAMES.length; i++) {
+            if (BAND_NAMES[i].equals(band)) {
+                return i;
+            }
+        }
+        return BAND_NAMES.length;
+    }
+
+    private void add(int id, String specialization, Integer yearOfExperience, String qualification) {
+        String[] labels = {specialization, yearOfExperience == null ? null : band(yearOfExperience), qualification};
+        String[] keys = new String[labels.length];
+        for (Facet facet : Facet.values()) {
+            String label = labels[facet.ordinal()];
+            if (label == null || label.isBlank()) {
+                continue;
+            }
+            keys[facet.ordinal()] = key(facet, label);
+            facets.get(facet).computeIfAbsent(keys[facet.ordinal()], key -> new Values(label.trim(), new CompressedBitmap()))
+                    .doctors().add(id);
+        }
+        keysOf.put(id, keys);
+        all.add(id);
+    }
+
+    private void removeLocked(int id) {
+        String[] keys = keysOf.remove(id);
+        if (keys == null) {
+            return;
+        }
+        for (Facet facet : Facet.values()) {
+            String key = keys[facet.ordinal()];
+            if (key == null) {
+                continue;
+            }
+            Values values = facets.get(facet).get(key);
+            values.doctors().remove(id);
+            if (values.doctors().isEmpty()) {
+                facets.get(facet).remove(key);
+            }
+        }
+        all.remove(id);
+    }
+
+    private CompressedBitmap union(Facet facet, Collection<String> selected) {
+        CompressedBitmap union = new CompressedBitmap();
+        for (String value : selected) {
+            Values values = facets.get(facet).get(key(facet, value));
+            if (values != null) {
+                union = union.or(values.doctors());
+            }
+        }
+        return union;
+    }
+
+    // Intersection of the filters of every facet but the excluded one, smallest first
+    private CompressedBitmap intersect(Map<Facet, CompressedBitmap> filters, Facet excluded) {
+        List<CompressedBitmap> parts = new ArrayList<>();
+        for (Map.Entry<Facet, CompressedBitmap> filter : filters.entrySet()) {
+            if (filter.getKey() != excluded) {
+                parts.add(filter.getValue());
+            }
+        }
+        if (parts.isEmpty()) {
+            return all;
+        }
+        parts.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+        CompressedBitmap result = parts.get(0);
+        for (int i = 1; i < parts.size() && !result.isEmpty(); i++) {
+            result = result.and(parts.get(i));
+        }
+        return result;
+    }
+
+    private static String key(Facet facet, String value) {
+        return facet == Facet.EXPERIENCE ? value.trim() : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Values(String label, CompressedBitmap doctors) {
+    }
+
+    public record Count(String value, int count, boolean selected) {
+    }
+
+    // Ids of the page in ascending order, the number of matching doctors and the counts per facet
+    public record Result(int total, int[] doctorIds, Map<Facet, List<Count>> counts) {
+    }
+}
@@ -0,0 +1,281 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.DoctorGeoView;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Clinic locations on a fixed latitude/longitude grid of 0.1 degree cells, one grid for all doctors and
+ * one per specialization, so a filtered lookup never steps over doctors it would discard.
+ *
+ * <p>The nearest doctors are found by visiting the rings of cells around the query cell, innermost first.
+ * After each ring the distance from the query to the edge of the visited block bounds every doctor not yet
+ * seen, so the search stops once the k-th closest doctor found is within it. When the rings would visit
+ * more cells than hold a doctor, the occupied cells are scanned instead; the answer is the same.
+ */
+@Component
+public class DoctorGeoIndex {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double CELL_DEGREES = 0.1;
+    private static final int ROWS = 1800;
+    private static final int COLUMNS = 3600;
+
+    // Farthest first, so the head of a full queue is the doctor to drop
+    private static final Comparator<Nearby> FARTHEST_FIRST = Comparator.comparingDouble(Nearby::distanceKm)
+            .thenComparingInt(Nearby::doctorId)
+            .reversed();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Grid all = new Grid();
+    private final Map<String, Grid> bySpecialization = new HashMap<>();
+    private final Map<Integer, Location> locationOf = new HashMap<>();
+
+    // Replaces the index content with the given doctors
+    public void load(List<DoctorGeoView> doctors) {
+        lock.writeLock().lock();
+        try {
+            all.cells.clear();
+            bySpecialization.clear();
+            locationOf.clear();
+            for (DoctorGeoView doctor : doctors) {
+                add(Math.toIntExact(doctor.doctorId()), doctor.specialization(), doctor.latitude(), doctor.longitude());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A doctor without a location is taken out of the index
+    public void put(Long doctorId, String specialization, Double latitude, Double longitude) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(doctorId));
+            if (latitude != null && longitude != null) {
+                add(Math.toIntExact(doctorId), specialization, latitude, longitude);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long doctorId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(doctorId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit doctors closest to the point by great-circle distance, nearest first and the lower id on
+     * equal distance, optionally only of one specialization.
+     */
+    public List<Nearby> nearest(double latitude, double longitude, String specialization, int limit) {
+        lock.readLock().lock();
+        try {
+            Grid grid = specialization == null ? all : bySpecialization.get(key(specialization));
+            if (grid == null || grid.cells.isEmpty()) {
+                return List.of();
+            }
+            PriorityQueue<Nearby> closest = new PriorityQueue<>(limit + 1, FARTHEST_FIRST);
+            int row = row(latitude);
+            int column = column(longitude);
+            long visited = 0;
+            for (int ring = 0; ; ring++) {
+                visited += ring == 0 ? 1 : 8L * ring;
+                // Past this point scanning every occupied cell is cheaper, and wide rings would wrap around
+                if (visited > grid.cells.size() || 2 * ring + 1 > COLUMNS / 2) {
+                    closest.clear();
+                    for (Cell cell : grid.cells.values()) {
+                        offer(closest, cell, latitude, longitude, limit);
+                    }
+                    break;
+                }
+                visitRing(grid, closest, row, column, ring, latitude, longitude, limit);
+                if (closest.size() == limit && closest.peek().distanceKm() <= unvisitedBound(latitude, longitude, row, column, ring)) {
+                    break;
+                }
+            }
+            List<Nearby> nearest = new ArrayList<>(closest);
+            nearest.sort(FARTHEST_FIRST.reversed());
+            return nearest;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Great-circle distance by the haversine formula
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.pow(Math.sin(dLatitude / 2), 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * Math.pow(Math.sin(dLongitude / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void visitRing(Grid grid, PriorityQueue<Nearby> closest, int row, int column, int ring,
+                           double latitude, double longitude, int limit) {
+        for (int r = row - ring; r <= row + ring; r++) {
+            if (r < 0 || r >= ROWS) {
+                continue;
+            }
+            // Rows inside the ring only contribute their two end cells
+            int step = r == row - ring || r == row + ring ? 1 : Math.max(1, 2 * ring);
+            for (int c = column - ring; c <= column + ring; c += step) {
+                Cell cell = grid.cells.get(cellKey(r, Math.floorMod(c, COLUMNS)));
+                if (cell != null) {
+                    offer(closest, cell, latitude, longitude, limit);
+                }
+            }
+        }
+    }
+
+    private static void offer(PriorityQueue<Nearby> closest, Cell cell, double latitude, double longitude, int limit) {
+        for (int i = 0; i < cell.size; i++) {
+            double distance = distanceKm(latitude, longitude, cell.latitudes[i], cell.longitudes[i]);
+            if (closest.size() == limit) {
+                Nearby farthest = closest.peek();
+                if (distance > farthest.distanceKm() || distance == farthest.distanceKm() && cell.ids[i] > farthest.doctorId()) {
+                    continue;
+                }
+                closest.poll();
+            }
+            closest.add(new Nearby(cell.ids[i], cell.latitudes[i], cell.longitudes[i], distance));
+        }
+    }
+
+    /**
+     * A lower bound on the distance from the point to any location outside the block of cells within ring
+     * of its own: reaching one means crossing a parallel or a meridian on the edge of the block, and no
+     * point of a meridian is closer than where the great circle through it comes nearest.
+     */
+    private static double unvisitedBound(double latitude, double longitude, int row, int column, int ring) {
+        double south = (row - ring) * CELL_DEGREES - 90;
+        double north = (row + ring + 1) * CELL_DEGREES - 90;
+        double west = longitude - ((column - ring) * CELL_DEGREES - 180);
+        double east = (column + ring + 1) * CELL_DEGREES - 180 - longitude;
+        double bound = Double.MAX_VALUE;
+        if (south > -90) {
+            bound = Math.min(bound, Math.toRadians(latitude - south) * EARTH_RADIUS_KM);
+        }
+        if (north < 90) {
+            bound = Math.min(bound, Math.toRadians(north - latitude) * EARTH_RADIUS_KM);
+        }
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        for (double degrees : new double[]{west, east}) {
+            double sin = Math.sin(Math.toRadians(Math.min(degrees, 90)));
+            bound = Math.min(bound, EARTH_RADIUS_KM * Math.asin(Math.min(1, cosLatitude * sin)));
+        }
+        return bound;
+    }
+
+    private void add(int id, String specialization, double latitude, double longitude) {
+        String key = specialization == null ? null : key(specialization);
+        long cellKey = cellKey(row(latitude), column(longitude));
+        all.add(cellKey, id, latitude, longitude);
+        if (key != null) {
+            bySpecialization.computeIfAbsent(key, k -> new Grid()).add(cellKey, id, latitude, longitude);
+        }
+        locationOf.put(id, new Location(key, cellKey));
+    }
+
+    private void removeLocked(int id) {
+        Location location = locationOf.remove(id);
+        if (location == null) {
+            return;
+        }
+        all.remove(location.cellKey(), id);
+        if (location.specialization() != null) {
+            Grid grid = bySpecialization.get(location.specialization());
+            grid.remove(location.cellKey(), id);
+            if (grid.cells.isEmpty()) {
+                bySpecialization.remove(location.specialization());
+            }
+        }
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, Math.max(0, (int) Math.floor((latitude + 90) / CELL_DEGREES)));
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), COLUMNS);
+    }
+
+    private static long cellKey(int row, int column) {
+        return (long) row * COLUMNS + column;
+    }
+
+    private static String key(String specialization) {
+        return specialization.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Grid {
+
+        // Only cells holding at least one doctor
+        private final Map<Long, Cell> cells = new HashMap<>();
+
+        void add(long cellKey, int id, double latitude, double longitude) {
+            cells.computeIfAbsent(cellKey, key -> new Cell()).add(id, latitude, longitude);
+        }
+
+        void remove(long cellKey, int id) {
+            Cell cell = cells.get(cellKey);
+            if (cell != null && cell.remove(id) && cell.size == 0) {
+                cells.remove(cellKey);
+            }
+        }
+    }
+
+    // The doctors of one cell in parallel arrays; order is not kept
+    private static final class Cell {
+
+        private int[] ids = new int[4];
+        private double[] latitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private int size;
+
+        void add(int id, double latitude, double longitude) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+        }
+
+        boolean remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    latitudes[i] = latitudes[size];
+                    longitudes[i] = longitudes[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Location(String specialization, long cellKey) {
+    }
+
+    public record Nearby(int doctorId, double latitude, double longitude, double distanceKm) {
+    }
+}
@@ -0,0 +1,283 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.DoctorSearchView;
+import com.cognizant.hams.util.CompressedBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant lookup of doctor names. Every word of every name is a node of a BK-tree under the
+ * Levenshtein distance; a query word only descends into children whose edge distance is within the bound
+ * of its own distance to the node, which the triangle inequality allows, so a lookup visits a small part
+ * of the vocabulary.
+ *
+ * <p>A doctor matches when every query word is within the bound of some word of their name, and scores the
+ * sum of those distances. Short words tolerate fewer edits: none up to two letters, one up to four.
+ *
+ * <p>BK-trees cannot drop a node, so a word no doctor uses any more stays as an empty routing node; the
+ * tree is rebuilt from the live words once those outnumber them.
+ */
+@Component
+public class DoctorNameBkTree {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Map<Integer, String[]> wordsOf = new HashMap<>();
+    private final Map<Integer, Integer> lengthOf = new HashMap<>();
+    private int emptyNodes;
+    private int longestWord;
+
+    // Replaces the tree content with the given doctors
+    public void load(List<DoctorSearchView> doctors) {
+        lock.writeLock().lock();
+        try {
+            root = null;
+            nodes.clear();
+            wordsOf.clear();
+            lengthOf.clear();
+            emptyNodes = 0;
+            longestWord = 0;
+            for (DoctorSearchView doctor : doctors) {
+                add(Math.toIntExact(doctor.doctorId()), doctor.doctorName());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Long doctorId, String doctorName) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(doctorId));
+            add(Math.toIntExact(doctorId), doctorName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long doctorId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(doctorId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Doctors whose name has a word within maxDistance edits of every word of the query, closest first;
+     * ties go to the shorter name, then the lower id.
+     */
+    public List<Match> search(String query, int maxDistance) {
+        String[] queryWords = words(query);
+        if (queryWords.length == 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> scores = null;
+            for (String word : queryWords) {
+                Map<Integer, Integer> best = closest(word, Math.min(maxDistance, tolerance(word)));
+                if (scores == null) {
+                    scores = best;
+                } else {
+                    Map<Integer, Integer> both = new HashMap<>();
+                    for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                        Integer distance = best.get(entry.getKey());
+                        if (distance != null) {
+                            both.put(entry.getKey(), entry.getValue() + distance);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Match> matches = new ArrayList<>(scores.size());
+            for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                matches.add(new Match(entry.getKey(), entry.getValue(), lengthOf.get(entry.getKey())));
+            }
+            matches.sort(Comparator.comparingInt(Match::distance)
+                    .thenComparingInt(Match::nameLength)
+                    .thenComparingInt(Match::doctorId));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Per doctor, the smallest distance between the word and any word of their name, if within the bound
+    private Map<Integer, Integer> closest(String word, int maxDistance) {
+        Map<Integer, Integer> best = new HashMap<>();
+        if (root == null) {
+            return best;
+        }
+        // One pair of rows for every distance of this lookup
+        int[] previous = new int[longestWord + 1];
+        int[] current = new int[longestWord + 1];
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(word, node.word, maxDistance + node.children.length - 1, previous, current);
+            if (distance <= maxDistance) {
+                node.doctors.forEach(id -> best.merge(id, distance, Math::min));
+            }
+            // Only edges within maxDistance of this distance can lead to a match
+            int to = Math.min(distance + maxDistance, node.children.length - 1);
+            for (int edge = Math.max(1, distance - maxDistance); edge <= to; edge++) {
+                if (node.children[edge] != null) {
+                    pending.push(node.children[edge]);
+                }
+            }
+        }
+        return best;
+    }
+
+    private void add(int id, String doctorName) {
+        if (doctorName == null) {
+            return;
+        }
+        String[] words = words(doctorName);
+        for (String word : words) {
+            Node node = nodes.get(word);
+            if (node == null) {
+                node = insert(word);
+            } else if (node.doctors.isEmpty()) {
+                emptyNodes--;
+            }
+            node.doctors.add(id);
+        }
+        wordsOf.put(id, words);
+        lengthOf.put(id, doctorName.length());
+    }
+
+    private void removeLocked(int id) {
+        String[] words = wordsOf.remove(id);
+        if (words == null) {
+            return;
+        }
+        lengthOf.remove(id);
+        for (String word : words) {
+            Node node = nodes.get(word);
+            if (node.doctors.contains(id)) {
+                node.doctors.remove(id);
+                if (node.doctors.isEmpty()) {
+                    emptyNodes++;
+                }
+            }
+        }
+        if (emptyNodes > nodes.size() - emptyNodes) {
+            compact();
+        }
+    }
+
+    private Node insert(String word) {
+        Node node = new Node(word);
+        nodes.put(word, node);
+        longestWord = Math.max(longestWord, word.length());
+        if (root == null) {
+            root = node;
+            return node;
+        }
+        Node parent = root;
+        while (true) {
+            int distance = distance(word, parent.word, Integer.MAX_VALUE);
+            if (distance >= parent.children.length) {
+                parent.children = Arrays.copyOf(parent.children, distance + 1);
+            }
+            if (parent.children[distance] == null) {
+                parent.children[distance] = node;
+                return node;
+            }
+            parent = parent.children[distance];
+        }
+    }
+
+    // Rebuilds the tree from the words still in use
+    private void compact() {
+        List<Node> live = nodes.values().stream().filter(node -> !node.doctors.isEmpty()).toList();
+        root = null;
+        nodes.clear();
+        emptyNodes = 0;
+        for (Node old : live) {
+            insert(old.word).doctors = old.doctors;
+        }
+    }
+
+    private static String[] words(String value) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("[\\s.,]+");
+    }
+
+    // Edits a word of this length may absorb and still be the word the patient meant
+    private static int tolerance(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 4 ? 1 : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Levenshtein distance, or any value above limit once it is certain to exceed it. Rows are abandoned
+     * as soon as their smallest entry passes the limit.
+     */
+    static int distance(String a, String b, int limit) {
+        return distance(a, b, limit, new int[b.length() + 1], new int[b.length() + 1]);
+    }
+
+    // As above, working in the given rows, which must hold at least b.length() + 1 entries
+    private static int distance(String a, String b, int limit, int[] previous, int[] current) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class Node {
+
+        private final String word;
+        // Indexed by the distance between the child's word and this one; a word is never its own child,
+        // so slot 0 stays empty
+        private Node[] children = new Node[1];
+        private CompressedBitmap doctors = new CompressedBitmap();
+
+        private Node(String word) {
+            this.word = word;
+        }
+    }
+
+    public record Match(int doctorId, int distance, int nameLength) {
+    }
+}
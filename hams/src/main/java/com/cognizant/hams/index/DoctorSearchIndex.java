@@ -0,0 +1,325 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.DoctorSearchView;
+import com.cognizant.hams.util.CompressedBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over doctor names and specializations for case-insensitive substring search, the
+ * in-memory counterpart of {@code LIKE '%x%'}. Every trigram of a value points to a
+ * {@link CompressedBitmap} of doctor ids; a query intersects the bitmaps of its own trigrams and checks
+ * the few candidates left against the full value, so the answer is exactly what the LIKE would return.
+ * Queries shorter than a trigram scan the stored values instead.
+ *
+ * <p>Matches are ranked: the whole value first, then values starting with the query, then values with a
+ * word starting with it, then the rest; shorter values and lower ids break ties.
+ */
+@Component
+public class DoctorSearchIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Field names = new Field();
+    private final Field specializations = new Field();
+
+    // Replaces the index content with the given doctors
+    public void load(List<DoctorSearchView> doctors) {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            specializations.clear();
+            for (DoctorSearchView doctor : doctors) {
+                names.put(Math.toIntExact(doctor.doctorId()), doctor.doctorName());
+                specializations.put(Math.toIntExact(doctor.doctorId()), doctor.specialization());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Long doctorId, String doctorName, String specialization) {
+        lock.writeLock().lock();
+        try {
+            names.put(Math.toIntExact(doctorId), doctorName);
+            specializations.put(Math.toIntExact(doctorId), specialization);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long doctorId) {
+        lock.writeLock().lock();
+        try {
+            names.put(Math.toIntExact(doctorId), null);
+            specializations.put(Math.toIntExact(doctorId), null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of the doctors whose name contains the query, ignoring case, best match first
+    public List<Long> searchByName(String query) {
+        lock.readLock().lock();
+        try {
+            return names.search(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> searchBySpecialization(String query) {
+        lock.readLock().lock();
+        try {
+            return specializations.search(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    // Three chars packed into one long, 16 bits each
+    private static long trigram(String value, int at) {
+        return (long) value.charAt(at) << 32 | (long) value.charAt(at + 1) << 16 | value.charAt(at + 2);
+    }
+
+    /**
+     * The normalized values of one field, back to back in a single char array in the order they were put,
+     * which after a load is id order. Verifying the candidates of a query then walks that array forwards
+     * instead of following a separate string per doctor, which is most of the cost of a broad query.
+     */
+    private static final class Field {
+
+        // Where each doctor's value starts in text and how long it is, -1 without one; ids come from an
+        // identity column, so the arrays stay dense
+        private int[] offsets = new int[16];
+        private int[] lengths = emptyLengths(16);
+        private char[] text = new char[256];
+        private int used;
+        private int garbage;
+        private final Map<Long, CompressedBitmap> postings = new HashMap<>();
+
+        void clear() {
+            offsets = new int[16];
+            lengths = emptyLengths(16);
+            text = new char[256];
+            used = 0;
+            garbage = 0;
+            postings.clear();
+        }
+
+        // A null value removes the doctor
+        void put(int id, String value) {
+            if (id >= offsets.length) {
+                int capacity = Math.max(id + 1, offsets.length * 2);
+                int previousCapacity = lengths.length;
+                offsets = Arrays.copyOf(offsets, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                Arrays.fill(lengths, previousCapacity, capacity, -1);
+            }
+            if (lengths[id] >= 0) {
+                String previous = value(id);
+                for (int at = 0; at + 3 <= previous.length(); at++) {
+                    CompressedBitmap ids = postings.get(trigram(previous, at));
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(trigram(previous, at));
+                    }
+                }
+                garbage += lengths[id];
+                lengths[id] = -1;
+            }
+            if (value == null) {
+                return;
+            }
+            String normalized = normalize(value);
+            append(id, normalized);
+            for (int at = 0; at + 3 <= normalized.length(); at++) {
+                postings.computeIfAbsent(trigram(normalized, at), key -> new CompressedBitmap()).add(id);
+            }
+        }
+
+        List<Long> search(String query) {
+            String normalized = normalize(query);
+            Matches matches = new Matches(normalized);
+            if (normalized.length() < 3) {
+                for (int id = 0; id < lengths.length; id++) {
+                    if (lengths[id] >= 0) {
+                        matches.addIfMatches(id, text, offsets[id], lengths[id]);
+                    }
+                }
+            } else {
+                CompressedBitmap candidates = candidates(normalized);
+                if (candidates != null) {
+                    candidates.forEach(id -> matches.addIfMatches(id, text, offsets[id], lengths[id]));
+                }
+            }
+            return matches.sortedIds();
+        }
+
+        private String value(int id) {
+            return new String(text, offsets[id], lengths[id]);
+        }
+
+        // Replaced and removed values stay in text until they outweigh the live ones
+        private void append(int id, String value) {
+            if (used + value.length() > text.length) {
+                if (garbage > used / 2) {
+                    compact();
+                }
+                if (used + value.length() > text.length) {
+                    text = Arrays.copyOf(text, Math.max(used + value.length(), text.length * 2));
+                }
+            }
+            value.getChars(0, value.length(), text, used);
+            offsets[id] = used;
+            lengths[id] = value.length();
+            used += value.length();
+        }
+
+        // Rewrites the live values in id order
+        private void compact() {
+            char[] compacted = new char[text.length];
+            int next = 0;
+            for (int id = 0; id < lengths.length; id++) {
+                if (lengths[id] >= 0) {
+                    System.arraycopy(text, offsets[id], compacted, next, lengths[id]);
+                    offsets[id] = next;
+                    next += lengths[id];
+                }
+            }
+            text = compacted;
+            used = next;
+            garbage = 0;
+        }
+
+        private static int[] emptyLengths(int capacity) {
+            int[] lengths = new int[capacity];
+            Arrays.fill(lengths, -1);
+            return lengths;
+        }
+
+        // Doctors holding every trigram of the query, smallest posting first so the working set only shrinks
+        private CompressedBitmap candidates(String query) {
+            List<CompressedBitmap> lists = new ArrayList<>();
+            for (int at = 0; at + 3 <= query.length(); at++) {
+                CompressedBitmap ids = postings.get(trigram(query, at));
+                if (ids == null) {
+                    return null;
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+            CompressedBitmap result = lists.get(0);
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result = result.and(lists.get(i));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The matches of one query as parallel arrays of id and sort bucket, the bucket being rank then value
+     * length. Candidates arrive in ascending id order, so a counting sort over the buckets ranks them in
+     * linear time and keeps lower ids first within a bucket; a query with thousands of matches allocates
+     * nothing per match until the ids are boxed for the caller.
+     */
+    private static final class Matches {
+
+        private static final int RANKS = 4;
+
+        private final String query;
+        private int[] ids = new int[16];
+        private int[] buckets = new int[16];
+        private int size;
+        private int longest;
+
+        Matches(String query) {
+            this.query = query;
+        }
+
+        // Ids must be offered in ascending order; the value is length chars of text from offset
+        void addIfMatches(int id, char[] text, int offset, int length) {
+            int at = indexOf(text, offset, length, 0);
+            if (at < 0) {
+                return;
+            }
+            int rank;
+            if (at == 0) {
+                rank = length == query.length() ? 0 : 1;
+            } else {
+                rank = 3;
+                for (int from = at; from >= 0; from = indexOf(text, offset, length, from + 1)) {
+                    if (text[offset + from - 1] == ' ') {
+                        rank = 2;
+                        break;
+                    }
+                }
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                buckets = Arrays.copyOf(buckets, size * 2);
+            }
+            ids[size] = id;
+            buckets[size++] = length * RANKS + rank;
+            longest = Math.max(longest, length);
+        }
+
+        // First position at or after from where the query occurs in the value, or -1
+        private int indexOf(char[] text, int offset, int length, int from) {
+            if (query.isEmpty()) {
+                return from <= length ? from : -1;
+            }
+            char first = query.charAt(0);
+            for (int at = from; at + query.length() <= length; at++) {
+                if (text[offset + at] != first) {
+                    continue;
+                }
+                int i = 1;
+                while (i < query.length() && text[offset + at + i] == query.charAt(i)) {
+                    i++;
+                }
+                if (i == query.length()) {
+                    return at;
+                }
+            }
+            return -1;
+        }
+
+        List<Long> sortedIds() {
+            // Starts of each bucket in the output, rank major and length minor
+            int lengths = longest + 1;
+            int[] starts = new int[RANKS * lengths + 1];
+            for (int i = 0; i < size; i++) {
+                starts[order(buckets[i], lengths) + 1]++;
+            }
+            for (int b = 1; b < starts.length; b++) {
+                starts[b] += starts[b - 1];
+            }
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[starts[order(buckets[i], lengths)]++] = ids[i];
+            }
+            List<Long> result = new ArrayList<>(size);
+            for (long id : sorted) {
+                result.add(id);
+            }
+            return result;
+        }
+
+        private static int order(int bucket, int lengths) {
+            return bucket % RANKS * lengths + bucket / RANKS;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.util.CompressedBitmap;
+import com.cognizant.hams.util.SlotBitmap;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index of free time: for every (day, 15-minute slot) the set of doctors who can still be
+ * booked in it, and for every specialization the set of its doctors, both as {@link CompressedBitmap}s of
+ * doctor ids. "Who is free at X" is one map lookup, plus one intersection when a specialization is given,
+ * however many doctors there are.
+ *
+ * <p>Doctor-days are replaced whole from their free bitmap, so the caller never has to work out which
+ * slots changed.
+ */
+@Component
+public class FreeDoctorIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Key is epochDay * SLOTS_PER_DAY + slot
+    private final Map<Long, CompressedBitmap> slots = new HashMap<>();
+    private final Map<String, CompressedBitmap> specializations = new HashMap<>();
+    private final Map<Integer, String> specializationOf = new HashMap<>();
+
+    public void setFree(Long doctorId, LocalDate date, SlotBitmap free) {
+        int id = Math.toIntExact(doctorId);
+        long firstKey = date.toEpochDay() * SlotBitmap.SLOTS_PER_DAY;
+        lock.writeLock().lock();
+        try {
+            for (int slot = 0; slot < SlotBitmap.SLOTS_PER_DAY; slot++) {
+                if (free.get(slot)) {
+                    slots.computeIfAbsent(firstKey + slot, key -> new CompressedBitmap()).add(id);
+                } else {
+                    CompressedBitmap doctors = slots.get(firstKey + slot);
+                    if (doctors != null) {
+                        doctors.remove(id);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void setSpecialization(Long doctorId, String specialization) {
+        int id = Math.toIntExact(doctorId);
+        lock.writeLock().lock();
+        try {
+            String previous = specializationOf.remove(id);
+            if (previous != null) {
+                specializations.get(previous).remove(id);
+            }
+            if (specialization != null) {
+                String key = normalize(specialization);
+                specializationOf.put(id, key);
+                specializations.computeIfAbsent(key, k -> new CompressedBitmap()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeDoctor(Long doctorId) {
+        setSpecialization(doctorId, null);
+        int id = Math.toIntExact(doctorId);
+        lock.writeLock().lock();
+        try {
+            for (CompressedBitmap doctors : slots.values()) {
+                doctors.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Doctors free in the given slot of the day, optionally only those of one specialization (matched
+     * ignoring case). The result is a new bitmap the caller owns.
+     */
+    public CompressedBitmap freeDoctors(LocalDate date, int slot, String specialization) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap doctors = slots.get(date.toEpochDay() * SlotBitmap.SLOTS_PER_DAY + slot);
+            if (doctors == null) {
+                return new CompressedBitmap();
+            }
+            if (specialization == null) {
+                return doctors.copy();
+            }
+            CompressedBitmap ofSpecialization = specializations.get(normalize(specialization));
+            return ofSpecialization == null ? new CompressedBitmap() : doctors.and(ofSpecialization);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Drops the days that can no longer be booked
+    public void evictBefore(LocalDate date) {
+        long firstKey = date.toEpochDay() * SlotBitmap.SLOTS_PER_DAY;
+        lock.writeLock().lock();
+        try {
+            slots.keySet().removeIf(key -> key < firstKey);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String normalize(String specialization) {
+        return specialization.trim().toLowerCase(Locale.ROOT);
+    }
+}
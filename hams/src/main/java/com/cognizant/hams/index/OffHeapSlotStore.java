@@ -0,0 +1,235 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.util.LongLongHashMap;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Open slots of a short window of days kept outside the Java heap. Each doctor-day is one region in a
+ * direct buffer page: a header with the record count and capacity, then fixed-width records of
+ * (availabilityId, start second, end second) sorted by start time. Regions are found through a
+ * {@link LongLongHashMap} keyed by doctor id and epoch day, so the collector sees a handful of objects
+ * however many slots are held.
+ *
+ * <p>A day that outgrows its region moves to a new one and the old space stays unused until the next
+ * {@link #install} of a freshly built store.
+ */
+@Component
+public class OffHeapSlotStore {
+
+    public static final int RECORD_BYTES = 16;
+    private static final int HEADER_BYTES = 8;
+    private static final int PAGE_BYTES = 1 << 20;
+    // Room left in each region so a day can gain a few slots before it has to move
+    private static final int SPARE_RECORDS = 4;
+    private static final long MISSING = -1L;
+
+    @FunctionalInterface
+    public interface SlotVisitor {
+        void visit(long availabilityId, int startSecond, int endSecond);
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment;
+
+    public static Builder builder(LocalDate firstDay, int days) {
+        return new Builder(firstDay, days);
+    }
+
+    // Replaces the whole content with a store built off to the side
+    public void install(Builder builder) {
+        Segment built = builder.finish();
+        lock.writeLock().lock();
+        try {
+            segment = built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return segment != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LocalDate firstDay() {
+        lock.readLock().lock();
+        try {
+            return segment == null ? null : segment.firstDay;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LocalDate lastDay() {
+        lock.readLock().lock();
+        try {
+            return segment == null ? null : segment.lastDay;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long directBytes() {
+        lock.readLock().lock();
+        try {
+            return segment == null ? 0 : segment.pages.stream().mapToLong(ByteBuffer::capacity).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the open slots of one doctor-day; the arrays hold {@code count} slots sorted by start time.
+     * Days outside the window are ignored.
+     */
+    public void replaceDay(long doctorId, LocalDate date, long[] availabilityIds, int[] startSeconds, int[] endSeconds, int count) {
+        lock.writeLock().lock();
+        try {
+            if (segment != null && segment.covers(date)) {
+                segment.write(doctorId, date, availabilityIds, startSeconds, endSeconds, count);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Calls the visitor for each open slot of the day in start order; it runs under the read lock, so keep it short
+    public void forEachSlot(long doctorId, LocalDate date, SlotVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            if (segment == null || !segment.covers(date)) {
+                return;
+            }
+            long location = segment.index.get(key(doctorId, date), MISSING);
+            if (location == MISSING) {
+                return;
+            }
+            ByteBuffer page = segment.pages.get((int) (location >>> 32));
+            int offset = (int) location;
+            int count = page.getInt(offset);
+            for (int i = 0, at = offset + HEADER_BYTES; i < count; i++, at += RECORD_BYTES) {
+                visitor.visit(page.getLong(at), page.getInt(at + 8), page.getInt(at + 12));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Doctor id in the high bits, the low 16 bits of the epoch day below; unique within any window shorter than 179 years
+    private static long key(long doctorId, LocalDate date) {
+        return doctorId << 16 | (date.toEpochDay() & 0xFFFF);
+    }
+
+    /**
+     * Collects a window of doctor-days row by row, in any order of days but with the slots of each day
+     * arriving together and sorted by start time.
+     */
+    public static final class Builder {
+
+        private final Segment segment;
+        private long doctorId = -1;
+        private LocalDate date;
+        private long[] availabilityIds = new long[32];
+        private int[] startSeconds = new int[32];
+        private int[] endSeconds = new int[32];
+        private int count;
+
+        private Builder(LocalDate firstDay, int days) {
+            this.segment = new Segment(firstDay, firstDay.plusDays(days - 1L), days);
+        }
+
+        public void add(long doctorId, LocalDate date, long availabilityId, int startSecond, int endSecond) {
+            if (doctorId != this.doctorId || !date.equals(this.date)) {
+                flush();
+                this.doctorId = doctorId;
+                this.date = date;
+            }
+            if (count == availabilityIds.length) {
+                availabilityIds = Arrays.copyOf(availabilityIds, count * 2);
+                startSeconds = Arrays.copyOf(startSeconds, count * 2);
+                endSeconds = Arrays.copyOf(endSeconds, count * 2);
+            }
+            availabilityIds[count] = availabilityId;
+            startSeconds[count] = startSecond;
+            endSeconds[count] = endSecond;
+            count++;
+        }
+
+        private void flush() {
+            if (count > 0 && segment.covers(date)) {
+                segment.write(doctorId, date, availabilityIds, startSeconds, endSeconds, count);
+            }
+            count = 0;
+        }
+
+        private Segment finish() {
+            flush();
+            return segment;
+        }
+    }
+
+    private static final class Segment {
+
+        private final LocalDate firstDay;
+        private final LocalDate lastDay;
+        private final List<ByteBuffer> pages = new ArrayList<>();
+        private final LongLongHashMap index;
+
+        private Segment(LocalDate firstDay, LocalDate lastDay, int days) {
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+            this.index = new LongLongHashMap(days * 256);
+        }
+
+        private boolean covers(LocalDate date) {
+            return !date.isBefore(firstDay) && !date.isAfter(lastDay);
+        }
+
+        private void write(long doctorId, LocalDate date, long[] availabilityIds, int[] startSeconds, int[] endSeconds, int count) {
+            long key = key(doctorId, date);
+            long location = index.get(key, MISSING);
+            if (location == MISSING || pages.get((int) (location >>> 32)).getInt((int) location + 4) < count) {
+                if (count == 0) {
+                    return;
+                }
+                location = allocate(count + SPARE_RECORDS);
+                index.put(key, location);
+            }
+            ByteBuffer page = pages.get((int) (location >>> 32));
+            int offset = (int) location;
+            page.putInt(offset, count);
+            for (int i = 0, at = offset + HEADER_BYTES; i < count; i++, at += RECORD_BYTES) {
+                page.putLong(at, availabilityIds[i]);
+                page.putInt(at + 8, startSeconds[i]);
+                page.putInt(at + 12, endSeconds[i]);
+            }
+        }
+
+        // Returns the page index in the high half and the byte offset in the low half
+        private long allocate(int capacity) {
+            int bytes = HEADER_BYTES + capacity * RECORD_BYTES;
+            ByteBuffer page = pages.isEmpty() ? null : pages.get(pages.size() - 1);
+            if (page == null || page.remaining() < bytes) {
+                // A day larger than a page gets a page of its own
+                page = ByteBuffer.allocateDirect(Math.max(PAGE_BYTES, bytes));
+                pages.add(page);
+            }
+            int offset = page.position();
+            page.putInt(offset + 4, capacity);
+            page.position(offset + bytes);
+            return (long) (pages.size() - 1) << 32 | offset;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.WaitlistTicket;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory mirror of the WAITING waitlist entries: one FIFO of entry ids per doctor and day. The
+ * waitlist_entries table stays authoritative; an id polled here is only acted on after its row has been
+ * moved out of WAITING, so a stale id (for example one withdrawn concurrently) is simply skipped.
+ */
+@Component
+public class WaitlistQueues {
+
+    private final ConcurrentMap<DayKey, Deque<Long>> queues = new ConcurrentHashMap<>();
+
+    // Replaces the queues with the given tickets, which must be in id (arrival) order
+    public void load(List<WaitlistTicket> tickets) {
+        queues.clear();
+        for (WaitlistTicket ticket : tickets) {
+            enqueue(ticket.doctorId(), ticket.waitlistDate(), ticket.waitlistEntryId());
+        }
+    }
+
+    public void enqueue(Long doctorId, LocalDate date, Long waitlistEntryId) {
+        queues.computeIfAbsent(new DayKey(doctorId, date), k -> new ConcurrentLinkedDeque<>()).addLast(waitlistEntryId);
+    }
+
+    // Returns the head of the doctor's queue for that day, or null when nobody is waiting
+    public Long poll(Long doctorId, LocalDate date) {
+        Deque<Long> queue = queues.get(new DayKey(doctorId, date));
+        return queue == null ? null : queue.pollFirst();
+    }
+
+    // Puts ids back at the head in the given order, e.g. entries that were passed over during a promotion
+    public void requeueFirst(Long doctorId, LocalDate date, List<Long> waitlistEntryIds) {
+        if (waitlistEntryIds.isEmpty()) {
+            return;
+        }
+        Deque<Long> queue = queues.computeIfAbsent(new DayKey(doctorId, date), k -> new ConcurrentLinkedDeque<>());
+        for (int i = waitlistEntryIds.size() - 1; i >= 0; i--) {
+            queue.addFirst(waitlistEntryIds.get(i));
+        }
+    }
+
+    public void remove(Long doctorId, LocalDate date, Long waitlistEntryId) {
+        Deque<Long> queue = queues.get(new DayKey(doctorId, date));
+        if (queue != null) {
+            queue.removeFirstOccurrence(waitlistEntryId);
+        }
+    }
+
+    // 1-based place in the queue, or 0 when the entry is not queued
+    public int position(Long doctorId, LocalDate date, Long waitlistEntryId) {
+        Deque<Long> queue = queues.get(new DayKey(doctorId, date));
+        if (queue == null) {
+            return 0;
+        }
+        int position = 1;
+        for (Iterator<Long> it = queue.iterator(); it.hasNext(); position++) {
+            if (it.next().equals(waitlistEntryId)) {
+                return position;
+            }
+        }
+        return 0;
+    }
+
+    public void evictBefore(LocalDate date) {
+        queues.keySet().removeIf(key -> key.date().isBefore(date));
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+}
@@ -20,8 +20,9 @@ public class GlobalLoggingAspect {
     private static final Logger LOGGER = LoggerFactory.getLogger(GlobalLoggingAspect.class);
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    // Pointcut for all application methods
-    @Pointcut("execution(* com.cognizant.hams..*(..)) && !within(com.cognizant.hams.security.JwtRequestFilter)")
+    // Pointcut for all application methods; the in-memory indexes and caches sit on the hot path and are not logged
+    @Pointcut("execution(* com.cognizant.hams..*(..)) && !within(com.cognizant.hams.security.JwtRequestFilter) " +
+            "&& !within(com.cognizant.hams.index..*) && !within(com.cognizant.hams.cache..*)")
     public void applicationPackagePointcut() {}
 
     // Pointcut for controller methods only
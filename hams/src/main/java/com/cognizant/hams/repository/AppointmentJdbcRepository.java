@@ -0,0 +1,81 @@
+package com.cognizant.hams.repository;
+
+import com.cognizant.hams.entity.Appointment;
+import com.cognizant.hams.entity.AppointmentStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Plain JDBC writes for appointments where Hibernate cannot batch (IDENTITY keys).
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppointmentJdbcRepository {
+
+    private static final String INSERT_SQL = "insert into appointments " +
+            "(version, patient_id, doctor_id, appointment_date, start_time, end_time, reason, status, active_slot, availability_id) " +
+            "values (0, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DECIDE_SQL = "update appointments set status = ?, active_slot = ?, version = version + 1 " +
+            "where appointment_id = ? and status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Inserts all rows in one batch and writes the generated ids back onto the given appointments
+    public void insertAll(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Appointment appointment : appointments) {
+                    ps.setLong(1, appointment.getPatient().getPatientId());
+                    ps.setLong(2, appointment.getDoctor().getDoctorId());
+                    ps.setDate(3, Date.valueOf(appointment.getAppointmentDate()));
+                    ps.setTime(4, Time.valueOf(appointment.getStartTime()));
+                    ps.setTime(5, Time.valueOf(appointment.getEndTime()));
+                    ps.setString(6, appointment.getReason());
+                    ps.setString(7, appointment.getStatus().name());
+                    ps.setObject(8, appointment.getActiveSlot(), Types.BOOLEAN);
+                    if (appointment.getAvailability() != null) {
+                        ps.setLong(9, appointment.getAvailability().getAvailabilityId());
+                    } else {
+                        ps.setNull(9, Types.BIGINT);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next()) {
+                        Appointment appointment = appointments.get(i++);
+                        appointment.setAppointmentId(keys.getLong(1));
+                        appointment.setVersion(0);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Moves each appointment from {@code from} to {@code to} in one batch. A row that is no longer in
+     * {@code from} is left alone; the result holds the affected-row count of each update, in order.
+     */
+    public int[] updateStatusAll(List<Long> appointmentIds, AppointmentStatus from, AppointmentStatus to) {
+        Boolean activeSlot = AppointmentStatus.ACTIVE.contains(to) ? Boolean.TRUE : null;
+        return jdbcTemplate.batchUpdate(DECIDE_SQL, appointmentIds.stream()
+                .map(id -> new Object[]{to.name(), activeSlot, id, from.name()})
+                .toList());
+    }
+}
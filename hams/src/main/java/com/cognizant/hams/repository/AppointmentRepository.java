@@ -1,10 +1,92 @@
 package com.cognizant.hams.repository;
 
 import com.cognizant.hams.entity.Appointment;
+import com.cognizant.hams.entity.AppointmentStatus;
+import com.cognizant.hams.index.AppointmentSlot;
+import com.cognizant.hams.repository.projection.AppointmentDecisionView;
+import com.cognizant.hams.repository.projection.AppointmentView;
+import com.cognizant.hams.repository.projection.StaleAppointmentView;
+import com.cognizant.hams.repository.projection.ScheduledAppointmentView;
+import org.springframework.data.domain.Limit;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
     List<Appointment> findByPatient_PatientId(Long patientId);
+
+    /**
+     * Moves an appointment to {@code status} in one statement, provided it is currently in one of
+     * {@code fromStatuses} and, when {@code doctorId} is given, belongs to that doctor. Returns 1 when the
+     * transition happened and 0 when it was not legal for the row as it stands.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Appointment a set a.status = :status, a.activeSlot = :activeSlot, a.version = a.version + 1 " +
+            "where a.appointmentId = :appointmentId and a.status in :fromStatuses " +
+            "and (:doctorId is null or a.doctor.doctorId = :doctorId)")
+    int transitionStatus(Long appointmentId, Long doctorId, AppointmentStatus status, Boolean activeSlot,
+                         Collection<AppointmentStatus> fromStatuses);
+
+    // Set-based form of transitionStatus; rows no longer in fromStatuses are left alone and not counted
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Appointment a set a.status = :status, a.activeSlot = :activeSlot, a.version = a.version + 1 " +
+            "where a.appointmentId in :appointmentIds and a.status in :fromStatuses")
+    int transitionStatusAll(Collection<Long> appointmentIds, AppointmentStatus status, Boolean activeSlot,
+                            Collection<AppointmentStatus> fromStatuses);
+
+    @Query("select a.appointmentId from Appointment a where a.appointmentId in :appointmentIds")
+    List<Long> findExistingIds(Collection<Long> appointmentIds);
+
+    @Query("select a.appointmentId from Appointment a where a.appointmentId in :appointmentIds and a.status = :status")
+    List<Long> findIdsWithStatus(Collection<Long> appointmentIds, AppointmentStatus status);
+
+    // Next chunk of PENDING appointments that started before (beforeDate, beforeTime), in id order after afterId
+    @Query("select new com.cognizant.hams.repository.projection.StaleAppointmentView(a.appointmentId, d.doctorId, " +
+            "d.doctorName, a.patient.patientId, a.appointmentDate, a.startTime, a.endTime, av.availabilityId) " +
+            "from Appointment a join a.doctor d left join a.availability av " +
+            "where a.status = com.cognizant.hams.entity.AppointmentStatus.PENDING and a.appointmentId > :afterId " +
+            "and (a.appointmentDate < :beforeDate or (a.appointmentDate = :beforeDate and a.startTime <= :beforeTime)) " +
+            "order by a.appointmentId")
+    List<StaleAppointmentView> findStalePending(LocalDate beforeDate, LocalTime beforeTime, Long afterId, Limit limit);
+
+    @Query("select new com.cognizant.hams.index.AppointmentSlot(a.appointmentId, a.doctor.doctorId, a.patient.patientId, " +
+            "a.appointmentDate, a.startTime, a.endTime) from Appointment a " +
+            "where a.appointmentDate >= :fromDate and a.status in :statuses")
+    List<AppointmentSlot> findSlotsFrom(LocalDate fromDate, Collection<AppointmentStatus> statuses);
+
+    @Query("select new com.cognizant.hams.repository.projection.ScheduledAppointmentView(a.appointmentId, " +
+            "a.startTime, a.endTime, a.status, av.availabilityId) " +
+            "from Appointment a left join a.availability av " +
+            "where a.doctor.doctorId = :doctorId and a.appointmentDate = :date and a.status in :statuses")
+    List<ScheduledAppointmentView> findScheduledForDoctor(Long doctorId, LocalDate date, Collection<AppointmentStatus> statuses);
+
+    // Keyset page ordered by (appointmentDate, appointmentId), served by idx_appointment_patient_date
+    @Query("select new com.cognizant.hams.repository.projection.AppointmentView(a.appointmentId, a.appointmentDate, " +
+            "a.startTime, a.endTime, a.reason, a.status, av.availabilityId, d.doctorId, d.doctorName, d.specialization, " +
+            "d.qualification, d.clinicAddress, d.yearOfExperience, d.email, d.contactNumber) " +
+            "from Appointment a join a.doctor d left join a.availability av " +
+            "where a.patient.patientId = :patientId " +
+            "and (:status is null or a.status = :status) " +
+            "and (:fromDate is null or a.appointmentDate >= :fromDate) " +
+            "and (:toDate is null or a.appointmentDate <= :toDate) " +
+            "and (:afterDate is null or a.appointmentDate > :afterDate " +
+            "or (a.appointmentDate = :afterDate and a.appointmentId > :afterId)) " +
+            "order by a.appointmentDate, a.appointmentId")
+    List<AppointmentView> findPageForPatient(Long patientId, AppointmentStatus status, LocalDate fromDate, LocalDate toDate,
+                                             LocalDate afterDate, Long afterId, Limit limit);
+
+    // Ownership check for a batch of ids: rows belonging to other doctors simply do not come back
+    @Query("select new com.cognizant.hams.repository.projection.AppointmentDecisionView(a.appointmentId, " +
+            "a.patient.patientId, a.appointmentDate, a.startTime, a.endTime, a.status, av.availabilityId) " +
+            "from Appointment a left join a.availability av " +
+            "where a.appointmentId in :appointmentIds and a.doctor.doctorId = :doctorId")
+    List<AppointmentDecisionView> findForDecision(Collection<Long> appointmentIds, Long doctorId);
 }
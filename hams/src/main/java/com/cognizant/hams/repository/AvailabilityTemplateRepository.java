@@ -0,0 +1,24 @@
+package com.cognizant.hams.repository;
+
+import com.cognizant.hams.entity.AvailabilityTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AvailabilityTemplateRepository extends JpaRepository<AvailabilityTemplate, Long> {
+
+    @Query("select distinct t from AvailabilityTemplate t left join fetch t.exceptionDates " +
+            "where t.doctor.doctorId = :doctorId order by t.templateId")
+    List<AvailabilityTemplate> findForDoctor(Long doctorId);
+
+    // Templates of the given doctors whose validity overlaps [fromDate, toDate], exceptions included
+    @Query("select distinct t from AvailabilityTemplate t left join fetch t.exceptionDates " +
+            "where t.doctor.doctorId in :doctorIds and t.validFrom <= :toDate " +
+            "and (t.validTo is null or t.validTo >= :fromDate)")
+    List<AvailabilityTemplate> findActiveForDoctors(Collection<Long> doctorIds, LocalDate fromDate, LocalDate toDate);
+}
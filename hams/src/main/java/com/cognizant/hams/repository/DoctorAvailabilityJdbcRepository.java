@@ -0,0 +1,98 @@
+package com.cognizant.hams.repository;
+
+import com.cognizant.hams.entity.Appointment;
+import com.cognizant.hams.entity.DoctorAvailability;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC batch statements against doctor_availability.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DoctorAvailabilityJdbcRepository {
+
+    private static final String CLAIM_SQL = "update doctor_availability set available = 0 " +
+            "where availability_id = ? and doctor_id = ? and available_date = ? and start_time = ? and end_time = ? " +
+            "and available = 1";
+
+    private static final String RELEASE_SQL = "update doctor_availability set available = 1 " +
+            "where availability_id = ? and available = 0";
+
+    private static final String INSERT_SQL = "insert into doctor_availability " +
+            "(doctor_id, available_date, start_time, end_time, available) values (?, ?, ?, ?, ?)";
+
+    private static final String OPEN_SLOTS_SQL = "select doctor_id, available_date, availability_id, start_time, end_time " +
+            "from doctor_availability where available_date between ? and ? and available = 1 " +
+            "order by doctor_id, available_date, start_time, availability_id";
+
+    private static final String OPEN_DAY_SQL = "select doctor_id, available_date, availability_id, start_time, end_time " +
+            "from doctor_availability where doctor_id = ? and available_date = ? and available = 1 " +
+            "order by start_time, availability_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record OpenSlot(Long doctorId, LocalDate date, Long availabilityId, LocalTime startTime, LocalTime endTime) {
+    }
+
+    // Streams the open slots of every doctor, grouped by doctor and day and sorted by start time within a day
+    public void forEachOpenSlot(LocalDate fromDate, LocalDate toDate, Consumer<OpenSlot> action) {
+        jdbcTemplate.query(OPEN_SLOTS_SQL, rs -> {
+            action.accept(toOpenSlot(rs));
+        }, Date.valueOf(fromDate), Date.valueOf(toDate));
+    }
+
+    public List<OpenSlot> findOpenSlots(Long doctorId, LocalDate date) {
+        return jdbcTemplate.query(OPEN_DAY_SQL, (rs, rowNum) -> toOpenSlot(rs), doctorId, Date.valueOf(date));
+    }
+
+    // Inserts new slots without reading back their generated ids
+    public int[] insertAll(List<DoctorAvailability> slots) {
+        return jdbcTemplate.batchUpdate(INSERT_SQL, slots.stream()
+                .map(s -> new Object[]{
+                        s.getDoctor().getDoctorId(),
+                        Date.valueOf(s.getAvailableDate()),
+                        Time.valueOf(s.getStartTime()),
+                        Time.valueOf(s.getEndTime()),
+                        s.isAvailable()})
+                .toList());
+    }
+
+    /**
+     * Batched form of {@link DoctorAvailabilityRepository#claimSlot} for appointments that carry an
+     * availability; the result holds the affected-row count of each claim, in order.
+     */
+    public int[] claimAll(List<Appointment> appointments) {
+        List<Object[]> args = appointments.stream()
+                .map(a -> new Object[]{
+                        a.getAvailability().getAvailabilityId(),
+                        a.getDoctor().getDoctorId(),
+                        Date.valueOf(a.getAppointmentDate()),
+                        Time.valueOf(a.getStartTime()),
+                        Time.valueOf(a.getEndTime())})
+                .toList();
+        return jdbcTemplate.batchUpdate(CLAIM_SQL, args);
+    }
+
+    public void releaseAll(List<Long> availabilityIds) {
+        if (availabilityIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RELEASE_SQL, availabilityIds.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    private static OpenSlot toOpenSlot(ResultSet rs) throws SQLException {
+        return new OpenSlot(rs.getLong(1), rs.getDate(2).toLocalDate(), rs.getLong(3),
+                rs.getTime(4).toLocalTime(), rs.getTime(5).toLocalTime());
+    }
+}
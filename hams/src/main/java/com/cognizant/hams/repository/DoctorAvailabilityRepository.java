@@ -2,18 +2,96 @@ package com.cognizant.hams.repository;
 
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotNull;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import com.cognizant.hams.dto.response.DoctorAndAvailabilityResponseDTO;
 import com.cognizant.hams.entity.DoctorAvailability;
+import com.cognizant.hams.repository.projection.AvailabilityRangeView;
+import com.cognizant.hams.repository.projection.DayCountView;
+import com.cognizant.hams.repository.projection.OpenSlotView;
+import com.cognizant.hams.repository.projection.SlotStartView;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DoctorAvailabilityRepository extends JpaRepository<DoctorAvailability, Long> {
 
     List<DoctorAvailability> findByDoctorDoctorId(Long doctorId);
 
+    List<DoctorAvailability> findByDoctorDoctorIdAndAvailableDate(Long doctorId, LocalDate availableDate);
+
+    List<DoctorAvailability> findByDoctorDoctorIdAndAvailableDateBetween(Long doctorId, LocalDate fromDate, LocalDate toDate);
+
+    Optional<DoctorAvailability> findByDoctorDoctorIdAndAvailableDateAndStartTime(Long doctorId, LocalDate availableDate, LocalTime startTime);
+
+    /**
+     * Keyset page of a doctor's slots by exact name, ordered by (availableDate, startTime, availabilityId).
+     * Served by idx_doctor_name and then idx_availability_doctor_date per matching doctor.
+     */
+    @Query("select new com.cognizant.hams.dto.response.DoctorAndAvailabilityResponseDTO(d.doctorId, d.contactNumber, " +
+            "d.doctorName, d.email, d.clinicAddress, d.specialization, d.qualification, d.yearOfExperience, " +
+            "a.startTime, a.endTime, a.availableDate, a.available, a.availabilityId) " +
+            "from DoctorAvailability a join a.doctor d " +
+            "where d.doctorName = :doctorName " +
+            "and (:specialization is null or d.specialization = :specialization) " +
+            "and (:onlyAvailable = false or a.available = true) " +
+            "and a.availableDate >= :fromDate and (:toDate is null or a.availableDate <= :toDate) " +
+            "and (:afterDate is null or a.availableDate > :afterDate or (a.availableDate = :afterDate " +
+            "and (a.startTime > :afterTime or (a.startTime = :afterTime and a.availabilityId > :afterId)))) " +
+            "order by a.availableDate, a.startTime, a.availabilityId")
+    List<DoctorAndAvailabilityResponseDTO> findSlotPageByDoctorName(String doctorName, String specialization, boolean onlyAvailable,
+                                                                   LocalDate fromDate, LocalDate toDate, LocalDate afterDate,
+                                                                   LocalTime afterTime, Long afterId, Limit limit);
+
+    // Every stored slot of the given doctors in [fromDate, toDate], served by idx_availability_doctor_date
+    @Query("select new com.cognizant.hams.repository.projection.AvailabilityRangeView(a.doctor.doctorId, a.availableDate, " +
+            "a.startTime, a.endTime, a.available) from DoctorAvailability a " +
+            "where a.doctor.doctorId in :doctorIds and a.availableDate between :fromDate and :toDate")
+    List<AvailabilityRangeView> findRangesForDoctors(Collection<Long> doctorIds, LocalDate fromDate, LocalDate toDate);
+
+    // Open slots per day of one doctor, served by idx_availability_doctor_date
+    @Query("select new com.cognizant.hams.repository.projection.DayCountView(a.availableDate, count(a)) " +
+            "from DoctorAvailability a where a.doctor.doctorId = :doctorId and a.available = true " +
+            "and a.availableDate between :fromDate and :toDate group by a.availableDate")
+    List<DayCountView> countOpenByDate(Long doctorId, LocalDate fromDate, LocalDate toDate);
+
+    // Keys of every stored slot of the given doctors in [fromDate, toDate], open or not
+    @Query("select new com.cognizant.hams.repository.projection.SlotStartView(a.doctor.doctorId, a.availableDate, a.startTime) " +
+            "from DoctorAvailability a where a.doctor.doctorId in :doctorIds and a.availableDate between :fromDate and :toDate")
+    List<SlotStartView> findSlotStarts(Collection<Long> doctorIds, LocalDate fromDate, LocalDate toDate);
+
+    // Earliest open slots of a group of doctors; slots on fromDate must start at or after fromTime
+    @Query("select new com.cognizant.hams.repository.projection.OpenSlotView(a.availabilityId, a.doctor.doctorId, " +
+            "a.availableDate, a.startTime, a.endTime) from DoctorAvailability a " +
+            "where a.doctor.doctorId in :doctorIds and a.available = true " +
+            "and a.availableDate between :fromDate and :toDate " +
+            "and (a.availableDate > :fromDate or a.startTime >= :fromTime) " +
+            "order by a.availableDate, a.startTime, a.availabilityId")
+    List<OpenSlotView> findOpenSlots(Collection<Long> doctorIds, LocalDate fromDate, LocalDate toDate,
+                                     LocalTime fromTime, Limit limit);
+
+    // Single conditional statement: returns 1 only for the caller that actually flipped the slot
+    @Transactional
+    @Modifying
+    @Query("update DoctorAvailability a set a.available = false " +
+            "where a.availabilityId = :availabilityId and a.doctor.doctorId = :doctorId " +
+            "and a.availableDate = :availableDate and a.startTime = :startTime and a.endTime = :endTime " +
+            "and a.available = true")
+    int claimSlot(Long availabilityId, Long doctorId, LocalDate availableDate, LocalTime startTime, LocalTime endTime);
+
+    @Transactional
+    @Modifying
+    @Query("update DoctorAvailability a set a.available = true " +
+            "where a.availabilityId = :availabilityId and a.available = false")
+    int releaseSlot(Long availabilityId);
+
     boolean existsByDoctorDoctorIdAndAvailableDateAndStartTime(Long doctorId, @FutureOrPresent(message = "Availability date must be in the present or future") @NotNull(message = "Availability date is required") LocalDate availableDate, @NotNull(message = "Start time is required") LocalTime startTime);
 }
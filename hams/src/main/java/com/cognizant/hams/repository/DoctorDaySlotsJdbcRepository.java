@@ -0,0 +1,89 @@
+package com.cognizant.hams.repository;
+
+import com.cognizant.hams.repository.projection.DaySlotsView;
+import com.cognizant.hams.util.SlotBitmap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads and writes doctor_day_slots, and streams the source ranges it is built from.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DoctorDaySlotsJdbcRepository {
+
+    // A published range whose row was taken by a booking still counts as published
+    private static final String AVAILABLE_RANGES_SQL = "select a.doctor_id, a.available_date, a.start_time, a.end_time " +
+            "from doctor_availability a where a.doctor_id between ? and ? and a.available_date between ? and ? " +
+            "and (a.available = 1 or exists (select 1 from appointments p " +
+            "where p.availability_id = a.availability_id and p.active_slot = 1))";
+
+    private static final String BOOKED_RANGES_SQL = "select doctor_id, appointment_date, start_time, end_time " +
+            "from appointments where doctor_id between ? and ? and appointment_date between ? and ? and active_slot = 1";
+
+    private static final String FIND_SQL = "select doctor_id, slot_date, available_word0, available_word1, booked_word0, booked_word1 " +
+            "from doctor_day_slots where doctor_id = ? and slot_date between ? and ? order by slot_date";
+
+    private static final String UPSERT_SQL = "insert into doctor_day_slots " +
+            "(doctor_id, slot_date, available_word0, available_word1, booked_word0, booked_word1) values (?, ?, ?, ?, ?, ?) " +
+            "on duplicate key update available_word0 = values(available_word0), available_word1 = values(available_word1), " +
+            "booked_word0 = values(booked_word0), booked_word1 = values(booked_word1)";
+
+    private static final String DELETE_SQL = "delete from doctor_day_slots where doctor_id between ? and ? and slot_date between ? and ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Range(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+    }
+
+    // Streams ranges row by row instead of building a result list
+    public void forEachAvailableRange(Long fromDoctorId, Long toDoctorId, LocalDate fromDate, LocalDate toDate, Consumer<Range> action) {
+        stream(AVAILABLE_RANGES_SQL, fromDoctorId, toDoctorId, fromDate, toDate, action);
+    }
+
+    public void forEachBookedRange(Long fromDoctorId, Long toDoctorId, LocalDate fromDate, LocalDate toDate, Consumer<Range> action) {
+        stream(BOOKED_RANGES_SQL, fromDoctorId, toDoctorId, fromDate, toDate, action);
+    }
+
+    public List<DaySlotsView> findRange(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+        return jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new DaySlotsView(
+                        rs.getLong(1),
+                        rs.getDate(2).toLocalDate(),
+                        SlotBitmap.fromStored(rs.getLong(3), rs.getLong(4)),
+                        SlotBitmap.fromStored(rs.getLong(5), rs.getLong(6))),
+                doctorId, Date.valueOf(fromDate), Date.valueOf(toDate));
+    }
+
+    public void upsertAll(List<DaySlotsView> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, days.stream()
+                .map(day -> new Object[]{
+                        day.doctorId(),
+                        Date.valueOf(day.date()),
+                        day.available().storedWord(0),
+                        day.available().storedWord(1),
+                        day.booked().storedWord(0),
+                        day.booked().storedWord(1)})
+                .toList());
+    }
+
+    public int deleteRange(Long fromDoctorId, Long toDoctorId, LocalDate fromDate, LocalDate toDate) {
+        return jdbcTemplate.update(DELETE_SQL, fromDoctorId, toDoctorId, Date.valueOf(fromDate), Date.valueOf(toDate));
+    }
+
+    private void stream(String sql, Long fromDoctorId, Long toDoctorId, LocalDate fromDate, LocalDate toDate, Consumer<Range> action) {
+        jdbcTemplate.query(sql, rs -> {
+            action.accept(new Range(rs.getLong(1), rs.getDate(2).toLocalDate(),
+                    rs.getTime(3).toLocalTime(), rs.getTime(4).toLocalTime()));
+        }, fromDoctorId, toDoctorId, Date.valueOf(fromDate), Date.valueOf(toDate));
+    }
+}
@@ -0,0 +1,36 @@
+package com.cognizant.hams.repository;
+
+import com.cognizant.hams.repository.projection.DoctorCardView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Plain JDBC reads of doctor profiles for paths that stay clear of the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DoctorJdbcRepository {
+
+    // Served by idx_doctor_name
+    private static final String FIND_BY_NAME_SQL = "select doctor_id, contact_number, doctor_name, email, clinic_address, " +
+            "specialization, qualification, year_of_experience from doctors " +
+            "where doctor_name = ? and (? is null or specialization = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<DoctorCardView> findCardsByName(String doctorName, String specialization) {
+        return jdbcTemplate.query(FIND_BY_NAME_SQL, (rs, rowNum) -> new DoctorCardView(
+                        rs.getLong(1),
+                        rs.getString(2),
+                        rs.getString(3),
+                        rs.getString(4),
+                        rs.getString(5),
+                        rs.getString(6),
+                        rs.getString(7),
+                        rs.getObject(8, Integer.class)),
+                doctorName, specialization, specialization);
+    }
+}
@@ -1,13 +1,19 @@
 package com.cognizant.hams.repository;
 
-import com.cognizant.hams.dto.response.DoctorAndAvailabilityResponseDTO;
 import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.repository.projection.DoctorCardView;
+import com.cognizant.hams.repository.projection.DoctorFacetView;
+import com.cognizant.hams.repository.projection.DoctorGeoView;
+import com.cognizant.hams.repository.projection.DoctorSearchView;
+import com.cognizant.hams.repository.projection.DoctorSpecializationView;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,23 +29,68 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
     List<Doctor> findBySpecializationContainingIgnoreCase(String specialization);
 
-    List<Doctor> findByDoctorNameContainingIgnoreCase(@NotBlank(message = "Doctor name is required")
-                                                      @Size(min = 3, max = 25, message = "Name must be between 3 and 25 characters") String name);
+    // The subset of the given ids that belong to a doctor
+    @Query("select d.doctorId from Doctor d where d.doctorId in :doctorIds")
+    List<Long> findExistingIds(Collection<Long> doctorIds);
+
+    // Next chunk of doctor ids in ascending order after afterId
+    @Query("select d.doctorId from Doctor d where d.doctorId > :afterId order by d.doctorId")
+    List<Long> findIdsAfter(Long afterId, Limit limit);
+
+    @Query("select new com.cognizant.hams.repository.projection.DoctorSpecializationView(d.doctorId, d.specialization) " +
+            "from Doctor d where d.doctorId in :doctorIds")
+    List<DoctorSpecializationView> findSpecializations(Collection<Long> doctorIds);
+
+    // Only the searchable columns of every doctor, to fill the in-memory search index
+    @Query("select new com.cognizant.hams.repository.projection.DoctorSearchView(d.doctorId, d.doctorName, d.specialization) " +
+            "from Doctor d")
+    List<DoctorSearchView> findSearchViews();
+
+    // Only the faceted columns of every doctor, to fill the in-memory facet aggregate
+    @Query("select new com.cognizant.hams.repository.projection.DoctorFacetView(d.doctorId, d.specialization, " +
+            "d.yearOfExperience, d.qualification) from Doctor d")
+    List<DoctorFacetView> findFacetViews();
 
+    // Specialization and clinic location of every doctor that has one, to fill the in-memory geo index
+    @Query("select new com.cognizant.hams.repository.projection.DoctorGeoView(d.doctorId, d.specialization, " +
+            "d.latitude, d.longitude) from Doctor d where d.latitude is not null and d.longitude is not null")
+    List<DoctorGeoView> findGeoViews();
 
-    @Query(value = "select d.doctor_id, d.contact_number, d.doctor_name, d.email, d.clinic_address, d.specialization, d.qualification,\n" +
-            "d.year_of_experience, a.start_time, a.end_time, a.available_date, a.available  from doctors d\n" +
-            "join doctor_availability a\n" +
-            "on d.doctor_id = a.doctor_id\n" +
-            "where doctor_name = :doctorName and available=1;", nativeQuery = true)
-    List<DoctorAndAvailabilityResponseDTO> findByAvailableDoctorNameAndAvailability(String doctorName);
+    // Keyset page ordered by (doctorName, doctorId), served by idx_doctor_name_id or idx_doctor_specialization_name
+    @Query("select new com.cognizant.hams.repository.projection.DoctorCardView(d.doctorId, d.contactNumber, d.doctorName, " +
+            "d.email, d.clinicAddress, d.specialization, d.qualification, d.yearOfExperience) from Doctor d " +
+            "where (:specialization is null or d.specialization = :specialization) " +
+            "and (:minExperience is null or d.yearOfExperience >= :minExperience) " +
+            "and (:afterName is null or d.doctorName > :afterName " +
+            "or (d.doctorName = :afterName and d.doctorId > :afterId)) " +
+            "order by d.doctorName, d.doctorId")
+    List<DoctorCardView> findPageByName(String specialization, Integer minExperience, String afterName, Long afterId,
+                                        Limit limit);
+
+    // Keyset page ordered by (yearOfExperience desc, doctorId desc), served backwards by idx_doctor_experience
+    // or idx_doctor_specialization_experience
+    @Query("select new com.cognizant.hams.repository.projection.DoctorCardView(d.doctorId, d.contactNumber, d.doctorName, " +
+            "d.email, d.clinicAddress, d.specialization, d.qualification, d.yearOfExperience) from Doctor d " +
+            "where (:specialization is null or d.specialization = :specialization) " +
+            "and (:minExperience is null or d.yearOfExperience >= :minExperience) " +
+            "and (:afterExperience is null or d.yearOfExperience < :afterExperience " +
+            "or (d.yearOfExperience = :afterExperience and d.doctorId < :afterId)) " +
+            "order by d.yearOfExperience desc, d.doctorId desc")
+    List<DoctorCardView> findPageByExperience(String specialization, Integer minExperience, Integer afterExperience,
+                                              Long afterId, Limit limit);
+
+    // Keyset page ordered by doctorId
+    @Query("select new com.cognizant.hams.repository.projection.DoctorCardView(d.doctorId, d.contactNumber, d.doctorName, " +
+            "d.email, d.clinicAddress, d.specialization, d.qualification, d.yearOfExperience) from Doctor d " +
+            "where (:specialization is null or d.specialization = :specialization) " +
+            "and (:minExperience is null or d.yearOfExperience >= :minExperience) " +
+            "and (:afterId is null or d.doctorId > :afterId) " +
+            "order by d.doctorId")
+    List<DoctorCardView> findPageById(String specialization, Integer minExperience, Long afterId, Limit limit);
+
+    List<Doctor> findByDoctorNameContainingIgnoreCase(@NotBlank(message = "Doctor name is required")
+                                                      @Size(min = 3, max = 25, message = "Name must be between 3 and 25 characters") String name);
 
-    @Query(value = "select d.doctor_id, d.contact_number, d.doctor_name, d.email, d.clinic_address, d.specialization, d.qualification,\n" +
-            "d.year_of_experience, a.start_time, a.end_time, a.available_date, a.available  from doctors d\n" +
-            "join doctor_availability a\n" +
-            "on d.doctor_id = a.doctor_id\n" +
-            "where doctor_name = :doctorName", nativeQuery = true)
-    List<DoctorAndAvailabilityResponseDTO> findByDoctorNameAndAvailability(String doctorName);
 
     @Query(value = "select a.appointment_id,d_doctor_name from appointments a\n" +
             "join doctors d\n" +
@@ -0,0 +1,40 @@
+package com.cognizant.hams.repository;
+
+import com.cognizant.hams.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Batched notification inserts; ids are not read back since callers never use them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationJdbcRepository {
+
+    private static final String INSERT_SQL = "insert into notifications " +
+            "(appointment_id, recipient_type, recipient_id, title, message, created_at, isread, outbox_event_id) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, notifications.stream()
+                .map(n -> new Object[]{
+                        n.getAppointment().getAppointmentId(),
+                        n.getRecipientType().name(),
+                        n.getRecipientId(),
+                        n.getTitle(),
+                        n.getMessage(),
+                        Timestamp.valueOf(n.getCreatedAt()),
+                        n.isRead(),
+                        n.getOutboxEventId()})
+                .toList());
+    }
+}
@@ -0,0 +1,43 @@
+package com.cognizant.hams.repository;
+
+import com.cognizant.hams.entity.NotificationOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Batched outbox inserts for the booking and decision paths; ids are not read back since only the
+ * dispatcher uses them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationOutboxJdbcRepository {
+
+    private static final String INSERT_SQL = "insert into notification_outbox " +
+            "(event_type, appointment_id, recipient_type, recipient_id, title, message, created_at, status, attempts, next_attempt_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<NotificationOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events.stream()
+                .map(e -> new Object[]{
+                        e.getType().name(),
+                        e.getAppointmentId(),
+                        e.getRecipientType().name(),
+                        e.getRecipientId(),
+                        e.getTitle(),
+                        e.getMessage(),
+                        Timestamp.valueOf(e.getCreatedAt()),
+                        e.getStatus().name(),
+                        e.getAttempts(),
+                        Timestamp.valueOf(e.getNextAttemptAt())})
+                .toList());
+    }
+}
@@ -0,0 +1,35 @@
+package com.cognizant.hams.repository;
+
+import com.cognizant.hams.entity.NotificationOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEvent, Long> {
+
+    // Oldest due events, locked until the transaction ends; a lock timeout of -2 skips rows another dispatcher holds
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from NotificationOutboxEvent e where e.status = com.cognizant.hams.entity.NotificationOutboxEvent.Status.PENDING " +
+            "and e.nextAttemptAt <= :now order by e.id")
+    List<NotificationOutboxEvent> claimDue(LocalDateTime now, Limit limit);
+
+    // The one event, locked, if it is still pending and nobody else holds it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from NotificationOutboxEvent e where e.id = :id " +
+            "and e.status = com.cognizant.hams.entity.NotificationOutboxEvent.Status.PENDING")
+    Optional<NotificationOutboxEvent> claim(Long id);
+
+    long countByStatus(NotificationOutboxEvent.Status status);
+}
@@ -2,9 +2,15 @@ package com.cognizant.hams.repository;
 
 import com.cognizant.hams.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByRecipientTypeAndRecipientIdOrderByCreatedAtDesc(Notification.RecipientType recipientType, Long recipientId);
+
+    // The outbox events among the given ones whose notification is already stored
+    @Query("select n.outboxEventId from Notification n where n.outboxEventId in :outboxEventIds")
+    List<Long> findDeliveredOutboxEventIds(Collection<Long> outboxEventIds);
 }
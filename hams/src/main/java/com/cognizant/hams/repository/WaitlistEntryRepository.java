@@ -0,0 +1,46 @@
+package com.cognizant.hams.repository;
+
+import com.cognizant.hams.entity.Appointment;
+import com.cognizant.hams.entity.WaitlistEntry;
+import com.cognizant.hams.entity.WaitlistStatus;
+import com.cognizant.hams.repository.projection.WaitlistTicket;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    @Query("select new com.cognizant.hams.repository.projection.WaitlistTicket(e.waitlistEntryId, e.doctor.doctorId, e.waitlistDate) " +
+            "from WaitlistEntry e where e.status = com.cognizant.hams.entity.WaitlistStatus.WAITING " +
+            "and e.waitlistDate >= :fromDate order by e.waitlistEntryId")
+    List<WaitlistTicket> findWaitingFrom(LocalDate fromDate);
+
+    boolean existsByDoctor_DoctorIdAndPatient_PatientIdAndWaitlistDateAndStatus(Long doctorId, Long patientId,
+                                                                                 LocalDate waitlistDate, WaitlistStatus status);
+
+    List<WaitlistEntry> findByPatient_PatientIdAndWaitlistDateGreaterThanEqualOrderByWaitlistDateAscWaitlistEntryIdAsc(
+            Long patientId, LocalDate fromDate);
+
+    // Returns 1 only for the caller that actually moved the entry, so promotion and withdrawal cannot both win
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update WaitlistEntry e set e.status = :status where e.waitlistEntryId = :waitlistEntryId and e.status = :fromStatus")
+    int transitionStatus(Long waitlistEntryId, WaitlistStatus fromStatus, WaitlistStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("update WaitlistEntry e set e.appointment = :appointment where e.waitlistEntryId = :waitlistEntryId")
+    int attachAppointment(Long waitlistEntryId, Appointment appointment);
+
+    @Transactional
+    @Modifying
+    @Query("update WaitlistEntry e set e.status = com.cognizant.hams.entity.WaitlistStatus.EXPIRED " +
+            "where e.status = com.cognizant.hams.entity.WaitlistStatus.WAITING and e.waitlistDate < :beforeDate")
+    int expireBefore(LocalDate beforeDate);
+}
@@ -0,0 +1,18 @@
+package com.cognizant.hams.repository.projection;
+
+import com.cognizant.hams.entity.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * What a doctor's confirm/reject decision needs to know about one of their appointments.
+ */
+public record AppointmentDecisionView(Long appointmentId,
+                                      Long patientId,
+                                      LocalDate appointmentDate,
+                                      LocalTime startTime,
+                                      LocalTime endTime,
+                                      AppointmentStatus status,
+                                      Long availabilityId) {
+}
@@ -0,0 +1,26 @@
+package com.cognizant.hams.repository.projection;
+
+import com.cognizant.hams.entity.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Appointment columns plus the doctor columns shown with them, read without loading entities.
+ */
+public record AppointmentView(Long appointmentId,
+                              LocalDate appointmentDate,
+                              LocalTime startTime,
+                              LocalTime endTime,
+                              String reason,
+                              AppointmentStatus status,
+                              Long availabilityId,
+                              Long doctorId,
+                              String doctorName,
+                              String specialization,
+                              String qualification,
+                              String clinicAddress,
+                              Integer yearOfExperience,
+                              String email,
+                              String contactNumber) {
+}
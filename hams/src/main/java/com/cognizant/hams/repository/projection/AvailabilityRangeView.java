@@ -0,0 +1,8 @@
+package com.cognizant.hams.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record AvailabilityRangeView(Long doctorId, LocalDate availableDate, LocalTime startTime, LocalTime endTime,
+                                    boolean available) {
+}
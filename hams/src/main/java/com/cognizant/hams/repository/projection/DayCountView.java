@@ -0,0 +1,9 @@
+package com.cognizant.hams.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A per-day count from a GROUP BY over dates.
+ */
+public record DayCountView(LocalDate date, Long count) {
+}
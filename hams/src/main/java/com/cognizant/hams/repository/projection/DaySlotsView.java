@@ -0,0 +1,11 @@
+package com.cognizant.hams.repository.projection;
+
+import com.cognizant.hams.util.SlotBitmap;
+
+import java.time.LocalDate;
+
+/**
+ * Published and booked slots of one doctor on one day.
+ */
+public record DaySlotsView(Long doctorId, LocalDate date, SlotBitmap available, SlotBitmap booked) {
+}
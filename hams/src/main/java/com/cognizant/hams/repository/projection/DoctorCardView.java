@@ -0,0 +1,8 @@
+package com.cognizant.hams.repository.projection;
+
+/**
+ * The public profile fields of a doctor, as shown next to each of their slots.
+ */
+public record DoctorCardView(Long doctorId, String contactNumber, String doctorName, String email, String clinicAddress,
+                             String specialization, String qualification, Integer yearOfExperience) {
+}
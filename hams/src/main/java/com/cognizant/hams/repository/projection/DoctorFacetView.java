@@ -0,0 +1,4 @@
+package com.cognizant.hams.repository.projection;
+
+public record DoctorFacetView(Long doctorId, String specialization, Integer yearOfExperience, String qualification) {
+}
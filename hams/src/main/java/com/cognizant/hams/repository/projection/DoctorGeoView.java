@@ -0,0 +1,4 @@
+package com.cognizant.hams.repository.projection;
+
+public record DoctorGeoView(Long doctorId, String specialization, Double latitude, Double longitude) {
+}
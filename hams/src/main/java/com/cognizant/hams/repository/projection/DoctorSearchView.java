@@ -0,0 +1,4 @@
+package com.cognizant.hams.repository.projection;
+
+public record DoctorSearchView(Long doctorId, String doctorName, String specialization) {
+}
@@ -0,0 +1,4 @@
+package com.cognizant.hams.repository.projection;
+
+public record DoctorSpecializationView(Long doctorId, String specialization) {
+}
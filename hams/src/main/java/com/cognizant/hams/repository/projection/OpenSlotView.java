@@ -0,0 +1,21 @@
+package com.cognizant.hams.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * An open slot without the doctor entity behind it: either a published availability row or, with a
+ * templateId instead of an availabilityId, a slot expanded from a recurring template.
+ */
+public record OpenSlotView(Long availabilityId,
+                           Long doctorId,
+                           LocalDate availableDate,
+                           LocalTime startTime,
+                           LocalTime endTime,
+                           Long templateId) {
+
+    // Used by the JPQL constructor expressions, which only ever select published rows
+    public OpenSlotView(Long availabilityId, Long doctorId, LocalDate availableDate, LocalTime startTime, LocalTime endTime) {
+        this(availabilityId, doctorId, availableDate, startTime, endTime, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.cognizant.hams.repository.projection;
+
+import com.cognizant.hams.entity.AppointmentStatus;
+
+import java.time.LocalTime;
+
+/**
+ * The part of an appointment a doctor's day view needs.
+ */
+public record ScheduledAppointmentView(Long appointmentId,
+                                       LocalTime startTime,
+                                       LocalTime endTime,
+                                       AppointmentStatus status,
+                                       Long availabilityId) {
+}
@@ -0,0 +1,11 @@
+package com.cognizant.hams.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The unique key of a stored availability slot; records compare by value, so it can be used directly
+ * in a hash set.
+ */
+public record SlotStartView(Long doctorId, LocalDate availableDate, LocalTime startTime) {
+}
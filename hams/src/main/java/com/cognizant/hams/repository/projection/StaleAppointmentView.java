@@ -0,0 +1,17 @@
+package com.cognizant.hams.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A PENDING appointment whose start has passed, with what its expiry notice and bookkeeping need.
+ */
+public record StaleAppointmentView(Long appointmentId,
+                                   Long doctorId,
+                                   String doctorName,
+                                   Long patientId,
+                                   LocalDate appointmentDate,
+                                   LocalTime startTime,
+                                   LocalTime endTime,
+                                   Long availabilityId) {
+}
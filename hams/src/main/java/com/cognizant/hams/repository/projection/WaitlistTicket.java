@@ -0,0 +1,11 @@
+package com.cognizant.hams.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A WAITING waitlist entry reduced to what the in-memory queues hold.
+ */
+public record WaitlistTicket(Long waitlistEntryId,
+                             Long doctorId,
+                             LocalDate waitlistDate) {
+}
@@ -0,0 +1,151 @@
+package com.cognizant.hams.scheduler;
+
+import com.cognizant.hams.cache.DoctorScheduleCache;
+import com.cognizant.hams.dto.response.AppointmentExpiryStatsResponseDTO;
+import com.cognizant.hams.entity.Appointment;
+import com.cognizant.hams.entity.AppointmentStatus;
+import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.entity.DoctorAvailability;
+import com.cognizant.hams.entity.Patient;
+import com.cognizant.hams.index.AppointmentIntervalIndex;
+import com.cognizant.hams.index.AppointmentSlot;
+import com.cognizant.hams.index.WaitlistQueues;
+import com.cognizant.hams.repository.AppointmentRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityJdbcRepository;
+import com.cognizant.hams.repository.WaitlistEntryRepository;
+import com.cognizant.hams.repository.projection.StaleAppointmentView;
+import com.cognizant.hams.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves PENDING appointments whose start has passed to EXPIRED. Work is done in chunks of
+ * {@value #CHUNK_SIZE}: one read, one set-based UPDATE and one notification batch per chunk, each chunk
+ * in its own short transaction so row locks on appointments are never held for the whole run.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentExpiryJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppointmentExpiryJob.class);
+    private static final int CHUNK_SIZE = 500;
+
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorAvailabilityJdbcRepository doctorAvailabilityJdbcRepository;
+    private final NotificationService notificationService;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final DoctorScheduleCache doctorScheduleCache;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final WaitlistQueues waitlistQueues;
+    private final TransactionTemplate transactionTemplate;
+
+    private long runs;
+    private long totalExpired;
+    private volatile AppointmentExpiryStatsResponseDTO lastRun = new AppointmentExpiryStatsResponseDTO();
+
+    @Scheduled(cron = "${hams.appointment-expiry.cron:0 */15 * * * *}")
+    public void expireStalePending() {
+        run(LocalDateTime.now());
+    }
+
+    public synchronized AppointmentExpiryStatsResponseDTO run(LocalDateTime now) {
+        long started = System.nanoTime();
+        int chunks = 0;
+        int expired = 0;
+        long afterId = 0L;
+        List<StaleAppointmentView> rows;
+        do {
+            rows = appointmentRepository.findStalePending(now.toLocalDate(), now.toLocalTime(), afterId, Limit.of(CHUNK_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).appointmentId();
+            List<StaleAppointmentView> chunk = rows;
+            List<Appointment> expiredChunk = transactionTemplate.execute(status -> expireChunk(chunk));
+            // The index and cache only learn about the change once it is committed
+            for (Appointment appointment : expiredChunk) {
+                appointmentIntervalIndex.release(AppointmentSlot.of(appointment));
+                doctorScheduleCache.onAppointmentSaved(appointment);
+            }
+            chunks++;
+            expired += expiredChunk.size();
+        } while (rows.size() == CHUNK_SIZE);
+
+        // Waitlists of past days can no longer be served
+        waitlistEntryRepository.expireBefore(now.toLocalDate());
+        waitlistQueues.evictBefore(now.toLocalDate());
+
+        runs++;
+        totalExpired += expired;
+        lastRun = new AppointmentExpiryStatsResponseDTO(runs, totalExpired, now,
+                (System.nanoTime() - started) / 1_000_000, chunks, expired);
+        if (expired > 0) {
+            LOGGER.info("Expired {} stale PENDING appointments in {} chunk(s), {} ms", expired, chunks, lastRun.getLastRunMillis());
+        }
+        return lastRun;
+    }
+
+    public AppointmentExpiryStatsResponseDTO getStats() {
+        return lastRun;
+    }
+
+    private List<Appointment> expireChunk(List<StaleAppointmentView> rows) {
+        List<Long> ids = rows.stream().map(StaleAppointmentView::appointmentId).toList();
+        int updated = appointmentRepository.transitionStatusAll(ids, AppointmentStatus.EXPIRED, null,
+                AppointmentStatus.sourcesOf(AppointmentStatus.EXPIRED));
+        if (updated == 0) {
+            return List.of();
+        }
+        // Rows confirmed or canceled between the read and the update were skipped by the status guard
+        Set<Long> expiredIds = updated == ids.size() ? null
+                : new HashSet<>(appointmentRepository.findIdsWithStatus(ids, AppointmentStatus.EXPIRED));
+
+        List<Appointment> expired = new ArrayList<>(updated);
+        List<Long> releasedAvailabilityIds = new ArrayList<>();
+        for (StaleAppointmentView row : rows) {
+            if (expiredIds != null && !expiredIds.contains(row.appointmentId())) {
+                continue;
+            }
+            expired.add(toAppointment(row));
+            if (row.availabilityId() != null) {
+                releasedAvailabilityIds.add(row.availabilityId());
+            }
+        }
+        doctorAvailabilityJdbcRepository.releaseAll(releasedAvailabilityIds);
+        notificationService.notifyPatientsOnAppointmentExpiry(expired);
+        return expired;
+    }
+
+    private Appointment toAppointment(StaleAppointmentView row) {
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentId(row.appointmentId());
+        Doctor doctor = new Doctor();
+        doctor.setDoctorId(row.doctorId());
+        doctor.setDoctorName(row.doctorName());
+        appointment.setDoctor(doctor);
+        Patient patient = new Patient();
+        patient.setPatientId(row.patientId());
+        appointment.setPatient(patient);
+        appointment.setAppointmentDate(row.appointmentDate());
+        appointment.setStartTime(row.startTime());
+        appointment.setEndTime(row.endTime());
+        appointment.setStatus(AppointmentStatus.EXPIRED);
+        if (row.availabilityId() != null) {
+            DoctorAvailability availability = new DoctorAvailability();
+            availability.setAvailabilityId(row.availabilityId());
+            appointment.setAvailability(availability);
+        }
+        return appointment;
+    }
+}
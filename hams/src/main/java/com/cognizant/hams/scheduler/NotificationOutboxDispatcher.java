@@ -0,0 +1,138 @@
+package com.cognizant.hams.scheduler;
+
+import com.cognizant.hams.dto.response.NotificationOutboxStatsResponseDTO;
+import com.cognizant.hams.entity.NotificationOutboxEvent;
+import com.cognizant.hams.repository.NotificationOutboxRepository;
+import com.cognizant.hams.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends the notifications recorded in the outbox. Each batch of up to {@value #BATCH_SIZE} due events is
+ * claimed, copied into notifications as one JDBC batch and deleted in a single transaction, so an event is
+ * delivered exactly once even with several instances polling: claims skip rows another instance holds, and
+ * a notification remembers its event under a unique key.
+ *
+ * <p>Events whose appointment has since been deleted are dropped with the batch, as no retry could send them.
+ * When a batch fails its events are retried one by one, so one bad event cannot hold back the rest.
+ * An event that fails on its own is retried later with a doubling delay and parked as FAILED after
+ * {@code hams.notification-outbox.max-attempts} attempts.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+    private static final int BATCH_SIZE = 500;
+    private static final Duration FIRST_RETRY_DELAY = Duration.ofSeconds(5);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(30);
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${hams.notification-outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    private long totalDelivered;
+    private long totalRetried;
+    private long totalFailed;
+    private volatile NotificationOutboxStatsResponseDTO lastRun = new NotificationOutboxStatsResponseDTO();
+
+    @Scheduled(fixedDelayString = "${hams.notification-outbox.poll-delay-ms:1000}")
+    public void dispatchDue() {
+        run(LocalDateTime.now());
+    }
+
+    public synchronized NotificationOutboxStatsResponseDTO run(LocalDateTime now) {
+        long started = System.nanoTime();
+        int delivered = 0;
+        int claimed;
+        do {
+            List<NotificationOutboxEvent> batch = new ArrayList<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    batch.addAll(notificationOutboxRepository.claimDue(now, Limit.of(BATCH_SIZE)));
+                    deliver(batch);
+                });
+                delivered += batch.size();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Notification batch of {} event(s) failed, retrying one by one: {}", batch.size(), e.getMessage());
+                for (NotificationOutboxEvent event : batch) {
+                    if (deliverAlone(event.getId(), now)) {
+                        delivered++;
+                    }
+                }
+            }
+            claimed = batch.size();
+        } while (claimed == BATCH_SIZE);
+
+        totalDelivered += delivered;
+        lastRun = new NotificationOutboxStatsResponseDTO(0, 0, totalDelivered, totalRetried, totalFailed, now,
+                (System.nanoTime() - started) / 1_000_000, delivered);
+        if (delivered > 0) {
+            LOGGER.debug("Delivered {} notification(s) from the outbox in {} ms", delivered, lastRun.getLastRunMillis());
+        }
+        return lastRun;
+    }
+
+    public NotificationOutboxStatsResponseDTO getStats() {
+        NotificationOutboxStatsResponseDTO run = lastRun;
+        return new NotificationOutboxStatsResponseDTO(
+                notificationOutboxRepository.countByStatus(NotificationOutboxEvent.Status.PENDING),
+                notificationOutboxRepository.countByStatus(NotificationOutboxEvent.Status.FAILED),
+                run.getTotalDelivered(), run.getTotalRetried(), run.getTotalFailed(), run.getLastRunStartedAt(),
+                run.getLastRunMillis(), run.getLastRunDelivered());
+    }
+
+    private void deliver(List<NotificationOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        notificationService.deliverOutboxEvents(events);
+        notificationOutboxRepository.deleteAllByIdInBatch(events.stream().map(NotificationOutboxEvent::getId).toList());
+    }
+
+    // Delivers one event in its own transaction, recording the failure if it does not go through
+    private boolean deliverAlone(Long eventId, LocalDateTime now) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> notificationOutboxRepository.claim(eventId)
+                    .map(event -> {
+                        deliver(List.of(event));
+                        return true;
+                    })
+                    .orElse(false)));
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status ->
+                    notificationOutboxRepository.claim(eventId).ifPresent(event -> recordFailure(event, e, now)));
+            return false;
+        }
+    }
+
+    private void recordFailure(NotificationOutboxEvent event, RuntimeException e, LocalDateTime now) {
+        event.setAttempts(event.getAttempts() + 1);
+        String error = String.valueOf(e.getMessage());
+        event.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (event.getAttempts() >= maxAttempts) {
+            event.setStatus(NotificationOutboxEvent.Status.FAILED);
+            totalFailed++;
+            LOGGER.error("Gave up on notification outbox event {} after {} attempts: {}", event.getId(), event.getAttempts(), error);
+        } else {
+            Duration delay = FIRST_RETRY_DELAY.multipliedBy(1L << Math.min(event.getAttempts() - 1, 20));
+            event.setNextAttemptAt(now.plus(delay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : delay));
+            totalRetried++;
+        }
+        notificationOutboxRepository.save(event);
+    }
+}
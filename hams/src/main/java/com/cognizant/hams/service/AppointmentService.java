@@ -1,16 +1,28 @@
 package com.cognizant.hams.service;
 
 import com.cognizant.hams.dto.request.AppointmentDTO;
+import com.cognizant.hams.dto.request.BulkAppointmentDecisionDTO;
+import com.cognizant.hams.dto.request.BulkAppointmentDTO;
 import com.cognizant.hams.dto.response.AppointmentResponseDTO;
+import com.cognizant.hams.dto.response.BulkAppointmentDecisionResponseDTO;
+import com.cognizant.hams.dto.response.BulkAppointmentResponseDTO;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
+import com.cognizant.hams.entity.AppointmentStatus;
+
+import java.time.LocalDate;
 
 import java.util.List;
 
 public interface AppointmentService {
     AppointmentResponseDTO confirmAppointment(Long appointmentId);
     AppointmentResponseDTO rejectAppointment(Long appointmentId, String reason);
+    BulkAppointmentDecisionResponseDTO decideAppointments(BulkAppointmentDecisionDTO decisionDTO);
     AppointmentResponseDTO bookAppointment(AppointmentDTO appointmentDTO);
+    BulkAppointmentResponseDTO bookAppointments(BulkAppointmentDTO bulkAppointmentDTO);
     AppointmentResponseDTO updateAppointment(Long appointmentId, AppointmentDTO appointmentUpdateDTO);
     AppointmentResponseDTO cancelAppointment(Long appointmentId);
     AppointmentResponseDTO getAppointmentById(Long appointmentId);
     List<AppointmentResponseDTO> getAppointmentsForPatient();
+    CursorPageResponseDTO<AppointmentResponseDTO> getAppointmentPageForPatient(AppointmentStatus status, LocalDate fromDate,
+                                                                               LocalDate toDate, String cursor, int size);
 }
@@ -6,6 +6,8 @@ import com.cognizant.hams.entity.Doctor;
 import com.cognizant.hams.entity.Patient;
 import com.cognizant.hams.entity.Role;
 import com.cognizant.hams.entity.User;
+import com.cognizant.hams.event.DoctorChangedEvent;
+import com.cognizant.hams.exception.APIException;
 import com.cognizant.hams.exception.InvalidCredentialsException;
 import com.cognizant.hams.exception.UserAlreadyExistsException;
 import com.cognizant.hams.repository.DoctorRepository;
@@ -14,6 +16,7 @@ import com.cognizant.hams.repository.RoleRepository;
 import com.cognizant.hams.repository.UserRepository;
 import com.cognizant.hams.security.JwtTokenUtil;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -35,8 +38,9 @@ public class AuthService {
     private final DoctorRepository doctorRepository;
     private final PasswordEncoder passwordEncoder;
     private final PatientRepository patientRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AuthService(AuthenticationManager authenticationManager, UserDetailsService userDetailsService, JwtTokenUtil jwtTokenUtil, UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,DoctorRepository doctorRepository,PatientRepository patientRepository) {
+    public AuthService(AuthenticationManager authenticationManager, UserDetailsService userDetailsService, JwtTokenUtil jwtTokenUtil, UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,DoctorRepository doctorRepository,PatientRepository patientRepository,ApplicationEventPublisher eventPublisher) {
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
         this.jwtTokenUtil = jwtTokenUtil;
@@ -45,6 +49,7 @@ public class AuthService {
         this.passwordEncoder = passwordEncoder;
         this.doctorRepository=doctorRepository;
         this.patientRepository=patientRepository;
+        this.eventPublisher=eventPublisher;
     }
 
     public String createAuthenticationToken(String username, String password) {
@@ -93,6 +98,9 @@ public class AuthService {
         if (existingUser.isPresent()) {
             throw new UserAlreadyExistsException("User with this username already exists.");
         }
+        if ((doctorDTO.getLatitude() == null) != (doctorDTO.getLongitude() == null)) {
+            throw new APIException("Latitude and longitude must be given together");
+        }
 
         Role role = roleRepository.findByName(doctorDTO.getRoleName().toUpperCase())
                 .orElseThrow(() -> new RuntimeException("Role '" + doctorDTO.getRoleName() + "' not found."));
@@ -114,7 +122,10 @@ public class AuthService {
         doctor.setClinicAddress(doctorDTO.getClinicAddress());
         doctor.setYearOfExperience(doctorDTO.getYearOfExperience());
         doctor.setSpecialization(doctorDTO.getSpecialization());
+        doctor.setLatitude(doctorDTO.getLatitude());
+        doctor.setLongitude(doctorDTO.getLongitude());
         Doctor savedDoctor = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new DoctorChangedEvent(savedDoctor.getDoctorId()));
         return  savedDoctor;
     }
 }
\ No newline at end of file
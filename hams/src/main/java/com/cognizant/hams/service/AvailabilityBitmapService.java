@@ -0,0 +1,16 @@
+package com.cognizant.hams.service;
+
+import com.cognizant.hams.dto.response.BitmapMigrationResponseDTO;
+import com.cognizant.hams.dto.response.DoctorDayBitmapResponseDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AvailabilityBitmapService {
+
+    // Rebuilds doctor_day_slots from doctor_availability and appointments, for every day from fromDate on
+    BitmapMigrationResponseDTO migrate(LocalDate fromDate);
+
+    // Free slots of a doctor per day, read from the storage selected by hams.availability.storage
+    List<DoctorDayBitmapResponseDTO> getDayBitmaps(Long doctorId, LocalDate fromDate, LocalDate toDate);
+}
@@ -0,0 +1,12 @@
+package com.cognizant.hams.service;
+
+import com.cognizant.hams.dto.response.AvailabilityImportResponseDTO;
+import com.cognizant.hams.util.AvailabilityImportReader;
+
+import java.io.InputStream;
+
+public interface AvailabilityImportService {
+
+    // Imports availability slots for any doctor from a CSV or NDJSON stream and reports the failed lines
+    AvailabilityImportResponseDTO importAvailability(InputStream body, AvailabilityImportReader.Format format);
+}
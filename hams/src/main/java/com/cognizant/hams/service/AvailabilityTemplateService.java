@@ -0,0 +1,25 @@
+package com.cognizant.hams.service;
+
+import com.cognizant.hams.dto.request.AvailabilityTemplateDTO;
+import com.cognizant.hams.dto.response.AvailabilityTemplateResponseDTO;
+import com.cognizant.hams.dto.response.DoctorSlotResponseDTO;
+import com.cognizant.hams.entity.DoctorAvailability;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public interface AvailabilityTemplateService {
+
+    // Templates of the logged-in doctor
+    AvailabilityTemplateResponseDTO createTemplate(AvailabilityTemplateDTO templateDTO);
+    List<AvailabilityTemplateResponseDTO> getTemplates();
+    AvailabilityTemplateResponseDTO addExceptionDate(Long templateId, LocalDate date);
+    void deleteTemplate(Long templateId);
+
+    // Open slots of a doctor, expanded from templates and merged with published slots, for the given range only
+    List<DoctorSlotResponseDTO> getOpenSlots(Long doctorId, LocalDate fromDate, LocalDate toDate);
+
+    // Stores a template slot as a taken DoctorAvailability row, or claims the row if one already exists
+    DoctorAvailability claimTemplateSlot(Long templateId, Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime);
+}
@@ -1,10 +1,17 @@
 package com.cognizant.hams.service;
 
 import com.cognizant.hams.dto.request.DoctorAvailabilityDTO;
+import com.cognizant.hams.dto.response.AvailabilityHeatmapResponseDTO;
+import com.cognizant.hams.dto.response.AvailabilityMatrixResponseDTO;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
 import com.cognizant.hams.dto.response.DoctorAndAvailabilityResponseDTO;
 import com.cognizant.hams.dto.response.DoctorAvailabilityResponseDTO;
+import com.cognizant.hams.dto.response.DoctorDayScheduleResponseDTO;
+import com.cognizant.hams.dto.response.FirstAvailableSlotResponseDTO;
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 public interface DoctorAvailabilityService {
@@ -18,8 +25,24 @@ public interface DoctorAvailabilityService {
     List<DoctorAvailabilityResponseDTO> getDoctorAvailability();
     DoctorAvailabilityResponseDTO updateAvailabilitySlot(Long doctorId,Long availabilityId, DoctorAvailabilityDTO doctorAvailabilityDTO);
 
-    List<DoctorAndAvailabilityResponseDTO> getAvailableDoctor(String doctorName);
+    // Day view of the logged-in doctor
+    DoctorDayScheduleResponseDTO getDoctorSchedule(LocalDate date);
 
-    List<DoctorAndAvailabilityResponseDTO> searchDoctorByName(String doctorName);
+    // Free slot count of every day of a month, for calendar views
+    AvailabilityHeatmapResponseDTO getAvailabilityHeatmap(Long doctorId, YearMonth month);
+
+    // Open and taken slots of several doctors side by side, one bitmap per doctor and day
+    AvailabilityMatrixResponseDTO getAvailabilityMatrix(List<Long> doctorIds, LocalDate fromDate, LocalDate toDate);
+
+    // Earliest open slots across every doctor of a specialization
+    List<FirstAvailableSlotResponseDTO> findFirstAvailableSlots(String specialization, LocalDate fromDate, LocalDate toDate, int limit);
+
+    // Open slots of the doctors with this exact name, from today onward unless fromDate is given
+    CursorPageResponseDTO<DoctorAndAvailabilityResponseDTO> getAvailableDoctor(String doctorName, String specialization, LocalDate fromDate,
+                                                                              LocalDate toDate, String cursor, int size);
+
+    // Same, including slots that are already taken
+    CursorPageResponseDTO<DoctorAndAvailabilityResponseDTO> searchDoctorByName(String doctorName, String specialization, LocalDate fromDate,
+                                                                              LocalDate toDate, String cursor, int size);
 
 }
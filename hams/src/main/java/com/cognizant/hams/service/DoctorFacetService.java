@@ -0,0 +1,15 @@
+package com.cognizant.hams.service;
+
+import com.cognizant.hams.dto.response.DoctorFacetSearchResponseDTO;
+
+import java.util.List;
+
+public interface DoctorFacetService {
+
+    // Reloads the facet aggregate from the doctors table
+    void rebuild();
+
+    // One page of doctors matching the filters plus the count of every facet value; values of one facet are alternatives
+    DoctorFacetSearchResponseDTO search(List<String> specializations, List<String> experienceBands, List<String> qualifications,
+                                        String cursor, int size);
+}
@@ -0,0 +1,14 @@
+package com.cognizant.hams.service;
+
+import com.cognizant.hams.dto.response.NearbyDoctorResponseDTO;
+
+import java.util.List;
+
+public interface DoctorGeoService {
+
+    // Reloads the geo index from the clinic locations in the doctors table
+    void rebuild();
+
+    // The doctors whose clinic is closest to the point, nearest first, optionally of one specialization
+    List<NearbyDoctorResponseDTO> findNearest(double latitude, double longitude, String specialization, int limit);
+}
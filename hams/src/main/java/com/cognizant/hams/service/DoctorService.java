@@ -2,6 +2,8 @@ package com.cognizant.hams.service;
 
 import com.cognizant.hams.dto.request.AdminUserRequestDTO;
 import com.cognizant.hams.dto.request.DoctorDTO;
+import com.cognizant.hams.dto.request.DoctorSort;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
 import com.cognizant.hams.dto.response.DoctorResponseDTO;
 
 import java.util.List;
@@ -12,6 +14,9 @@ public interface DoctorService {
     DoctorResponseDTO createDoctor(AdminUserRequestDTO doctorDto);
     DoctorResponseDTO getDoctor();
     List<DoctorResponseDTO> getAllDoctor();
+    byte[] getAllDoctorJson();
+    CursorPageResponseDTO<DoctorResponseDTO> getDoctorPage(DoctorSort sort, String specialization, Integer minExperience,
+                                                          String cursor, int size);
     DoctorResponseDTO updateDoctor(Long doctorId,DoctorDTO doctorDto);
     DoctorResponseDTO deleteDoctor(Long doctorId);
 
@@ -19,6 +24,7 @@ public interface DoctorService {
     // Domain Specific
     List<DoctorResponseDTO> searchDoctorsBySpecialization(String specialization);
     List<DoctorResponseDTO> searchDoctorsByName(String name);
+    List<DoctorResponseDTO> searchDoctorsByNameFuzzy(String name, Integer maxDistance);
 
 
 
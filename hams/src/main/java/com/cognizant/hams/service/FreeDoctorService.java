@@ -0,0 +1,15 @@
+package com.cognizant.hams.service;
+
+import com.cognizant.hams.dto.response.FreeDoctorsResponseDTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public interface FreeDoctorService {
+
+    // Rebuilds the free-doctor index for today and the following days
+    void rebuild();
+
+    // Doctors who can be booked in the slot containing the given time, optionally of one specialization
+    FreeDoctorsResponseDTO findFreeDoctors(LocalDate date, LocalTime time, String specialization, int limit);
+}
@@ -2,12 +2,19 @@ package com.cognizant.hams.service;
 
 import com.cognizant.hams.dto.response.NotificationResponseDTO;
 import com.cognizant.hams.entity.Appointment;
+import com.cognizant.hams.entity.NotificationOutboxEvent;
 
 import java.util.List;
 
 public interface NotificationService {
     void notifyDoctorOnAppointmentRequest(Appointment appointment);
+    void notifyDoctorsOnAppointmentRequests(List<Appointment> appointments);
     void notifyPatientOnAppointmentDecision(Appointment appointment, boolean confirmed, String reason);
+    void notifyPatientsOnAppointmentDecisions(List<Appointment> appointments, boolean confirmed, String reason);
+    void notifyPatientsOnAppointmentExpiry(List<Appointment> appointments);
+    void notifyPatientOnWaitlistPromotion(Appointment appointment);
+    // Renders and stores the notifications of claimed outbox events, skipping events already delivered
+    void deliverOutboxEvents(List<NotificationOutboxEvent> events);
     List<NotificationResponseDTO> getNotificationForDoctor();
     List<NotificationResponseDTO> getNotificationForPatient();
     void markAsRead(Long notificationId);
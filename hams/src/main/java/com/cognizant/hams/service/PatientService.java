@@ -1,6 +1,8 @@
 package com.cognizant.hams.service;
 
+import com.cognizant.hams.dto.request.DoctorSort;
 import com.cognizant.hams.dto.request.PatientDTO;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
 import com.cognizant.hams.dto.response.DoctorResponseDTO;
 import com.cognizant.hams.dto.response.PatientResponseDTO;
 
@@ -17,9 +19,16 @@ public interface PatientService {
 
     List<DoctorResponseDTO> getAllDoctors();
 
+    byte[] getAllDoctorsJson();
+
+    CursorPageResponseDTO<DoctorResponseDTO> getDoctorPage(DoctorSort sort, String specialization, Integer minExperience,
+                                                          String cursor, int size);
+
 
     List<DoctorResponseDTO> searchDoctorByName(String name);
 
+    List<DoctorResponseDTO> searchDoctorByNameFuzzy(String name, Integer maxDistance);
+
     List<DoctorResponseDTO> searchDoctorBySpecialization(String specialization);
 
 }
@@ -0,0 +1,12 @@
+package com.cognizant.hams.service;
+
+import com.cognizant.hams.dto.request.WaitlistRequestDTO;
+import com.cognizant.hams.dto.response.WaitlistEntryResponseDTO;
+
+import java.util.List;
+
+public interface WaitlistService {
+    WaitlistEntryResponseDTO joinWaitlist(WaitlistRequestDTO waitlistRequestDTO);
+    List<WaitlistEntryResponseDTO> getWaitlistForPatient();
+    WaitlistEntryResponseDTO leaveWaitlist(Long waitlistEntryId);
+}
@@ -1,38 +1,88 @@
 package com.cognizant.hams.service.impl;
 
+import com.cognizant.hams.cache.DoctorScheduleCache;
+import com.cognizant.hams.concurrency.StripedLocks;
 import com.cognizant.hams.dto.request.AppointmentDTO;
+import com.cognizant.hams.dto.request.BulkAppointmentDecisionDTO;
+import com.cognizant.hams.dto.request.BulkAppointmentDTO;
+import com.cognizant.hams.dto.request.BulkAppointmentItemDTO;
 import com.cognizant.hams.dto.response.AppointmentResponseDTO;
+import com.cognizant.hams.dto.response.BulkAppointmentDecisionResponseDTO;
+import com.cognizant.hams.dto.response.BulkAppointmentResponseDTO;
+import com.cognizant.hams.dto.response.BulkAppointmentResultDTO;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
+import com.cognizant.hams.dto.response.DoctorResponseDTO;
+import com.cognizant.hams.dto.response.PatientResponseDTO;
 import com.cognizant.hams.entity.Appointment;
 import com.cognizant.hams.entity.AppointmentStatus;
 import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.entity.DoctorAvailability;
 import com.cognizant.hams.entity.Patient;
+import com.cognizant.hams.event.AppointmentSlotFreedEvent;
 import com.cognizant.hams.exception.APIException;
 import com.cognizant.hams.exception.ResourceNotFoundException;
+import com.cognizant.hams.index.AppointmentIntervalIndex;
+import com.cognizant.hams.index.AppointmentSlot;
+import com.cognizant.hams.repository.AppointmentJdbcRepository;
 import com.cognizant.hams.repository.AppointmentRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityJdbcRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityRepository;
 import com.cognizant.hams.repository.DoctorRepository;
 import com.cognizant.hams.repository.PatientRepository;
+import com.cognizant.hams.repository.projection.AppointmentDecisionView;
+import com.cognizant.hams.repository.projection.AppointmentView;
 import com.cognizant.hams.service.AppointmentService;
+import com.cognizant.hams.service.AvailabilityTemplateService;
 import com.cognizant.hams.service.NotificationService;
+import com.cognizant.hams.util.CursorCodec;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class AppointmentServiceImpl implements AppointmentService {
 
+    private static final int DOCTOR_LOCK_STRIPES = 64;
+    private static final int BULK_BATCH_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final AppointmentRepository appointmentRepository;
     private final NotificationService notificationService;
     private final ModelMapper modelMapper;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final AppointmentJdbcRepository appointmentJdbcRepository;
+    private final DoctorAvailabilityJdbcRepository doctorAvailabilityJdbcRepository;
+    private final DoctorScheduleCache doctorScheduleCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AvailabilityTemplateService availabilityTemplateService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Serializes slot bookkeeping per doctor while different doctors proceed in parallel
+    private final StripedLocks doctorLocks = new StripedLocks(DOCTOR_LOCK_STRIPES);
 
     @Override
     @Transactional
@@ -43,14 +93,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         Doctor loggedInDoctor = (Doctor) doctorRepository.findByUser_Username(currentUsername)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", "username", currentUsername));
 
-        Appointment appointment = appointmentRepository.findById(appointmentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", appointmentId));
-
-        if (!appointment.getDoctor().getDoctorId().equals(loggedInDoctor.getDoctorId())) {
-            throw new AccessDeniedException("Doctor is not authorized to update this appointment.");
-        }
-        appointment.setStatus(AppointmentStatus.REJECTED);
-        Appointment saved = appointmentRepository.save(appointment);
+        Appointment saved = transition(appointmentId, loggedInDoctor.getDoctorId(), AppointmentStatus.REJECTED);
         notificationService.notifyPatientOnAppointmentDecision(saved, false, reason);
         return modelMapper.map(saved, AppointmentResponseDTO.class);
     }
@@ -65,22 +108,86 @@ public class AppointmentServiceImpl implements AppointmentService {
         Doctor loggedInDoctor = (Doctor) doctorRepository.findByUser_Username(currentUsername)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", "username", currentUsername));
 
-        Appointment appointment = appointmentRepository.findById(appointmentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Appointment", "id", appointmentId));
-
-        if (!appointment.getDoctor().getDoctorId().equals(loggedInDoctor.getDoctorId())) {
-            throw new AccessDeniedException("Doctor is not authorized to update this appointment.");
-        }
-
-        // 5. Update appointment status and save
-        appointment.setStatus(AppointmentStatus.CONFIRMED);
-        Appointment saved = appointmentRepository.save(appointment);
+        // 5. Update appointment status; ownership and the current status are checked by the same statement
+        Appointment saved = transition(appointmentId, loggedInDoctor.getDoctorId(), AppointmentStatus.CONFIRMED);
 
         // 6. Notify the patient
         notificationService.notifyPatientOnAppointmentDecision(saved, true, null);
 
         return modelMapper.map(saved, AppointmentResponseDTO.class);
     }
+    @Override
+    @Transactional
+    public BulkAppointmentDecisionResponseDTO decideAppointments(BulkAppointmentDecisionDTO decisionDTO) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String currentUsername = authentication.getName();
+
+        Doctor loggedInDoctor = (Doctor) doctorRepository.findByUser_Username(currentUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor", "username", currentUsername));
+
+        boolean confirmed = decisionDTO.getDecision() == BulkAppointmentDecisionDTO.Decision.CONFIRM;
+        AppointmentStatus target = confirmed ? AppointmentStatus.CONFIRMED : AppointmentStatus.REJECTED;
+        List<Long> appointmentIds = decisionDTO.getAppointmentIds();
+        BulkAppointmentResultDTO[] results = new BulkAppointmentResultDTO[appointmentIds.size()];
+
+        // One query both loads the appointments and proves they belong to this doctor
+        Map<Long, AppointmentDecisionView> owned = appointmentRepository
+                .findForDecision(new HashSet<>(appointmentIds), loggedInDoctor.getDoctorId())
+                .stream().collect(Collectors.toMap(AppointmentDecisionView::appointmentId, Function.identity()));
+
+        List<AppointmentDecisionView> pending = new ArrayList<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < appointmentIds.size(); i++) {
+            Long appointmentId = appointmentIds.get(i);
+            AppointmentDecisionView view = owned.get(appointmentId);
+            if (!seen.add(appointmentId)) {
+                results[i] = new BulkAppointmentResultDTO(i, false, appointmentId, "Duplicate appointment id in request.");
+            } else if (view == null) {
+                results[i] = new BulkAppointmentResultDTO(i, false, appointmentId, "Appointment not found for this doctor.");
+            } else if (view.status() != AppointmentStatus.PENDING) {
+                results[i] = new BulkAppointmentResultDTO(i, false, appointmentId, "Appointment is already " + view.status());
+            } else {
+                pending.add(view);
+                pendingIndexes.add(i);
+            }
+        }
+
+        List<Appointment> decided = new ArrayList<>();
+        if (!pending.isEmpty()) {
+            // Held until the rejected slots have left the index, so no booking is turned away by them
+            lockUntilCompletion(doctorLocks.forKey(loggedInDoctor.getDoctorId()));
+            // The status guard in the update skips rows that were decided or canceled since they were read
+            int[] updated = appointmentJdbcRepository.updateStatusAll(pending.stream()
+                    .map(AppointmentDecisionView::appointmentId).toList(), AppointmentStatus.PENDING, target);
+            List<Long> releasedAvailabilityIds = new ArrayList<>();
+            for (int j = 0; j < updated.length; j++) {
+                AppointmentDecisionView view = pending.get(j);
+                int index = pendingIndexes.get(j);
+                if (updated[j] == 0) {
+                    results[index] = new BulkAppointmentResultDTO(index, false, view.appointmentId(),
+                            "Appointment is no longer PENDING.");
+                    continue;
+                }
+                Appointment appointment = decidedAppointment(view, loggedInDoctor, target);
+                decided.add(appointment);
+                results[index] = new BulkAppointmentResultDTO(index, true, view.appointmentId(), target.name());
+                if (!confirmed) {
+                    if (view.availabilityId() != null) {
+                        releasedAvailabilityIds.add(view.availabilityId());
+                    }
+                    freeSlotAfterCommit(appointment);
+                }
+            }
+            doctorAvailabilityJdbcRepository.releaseAll(releasedAvailabilityIds);
+            notificationService.notifyPatientsOnAppointmentDecisions(decided, confirmed, decisionDTO.getReason());
+            afterCommit(() -> decided.forEach(doctorScheduleCache::onAppointmentSaved));
+        }
+
+        return new BulkAppointmentDecisionResponseDTO(appointmentIds.size(), decided.size(),
+                appointmentIds.size() - decided.size(), List.of(results));
+    }
+
     @Override
     public List<AppointmentResponseDTO> getAppointmentsForPatient() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -97,6 +204,52 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
 
     @Override
+    public CursorPageResponseDTO<AppointmentResponseDTO> getAppointmentPageForPatient(AppointmentStatus status, LocalDate fromDate,
+                                                                                      LocalDate toDate, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new APIException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String currentUsername = authentication.getName();
+
+        Patient patient = (Patient) patientRepository.findByUser_Username(currentUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient", "username", currentUsername));
+
+        LocalDate afterDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            try {
+                afterDate = LocalDate.parse(keys[0]);
+                afterId = Long.valueOf(keys[1]);
+            } catch (RuntimeException e) {
+                throw new APIException("Invalid cursor: " + cursor);
+            }
+        }
+
+        // One extra row tells whether another page exists without a COUNT query
+        List<AppointmentView> rows = appointmentRepository.findPageForPatient(patient.getPatientId(), status,
+                fromDate, toDate, afterDate, afterId, Limit.of(size + 1));
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        PatientResponseDTO patientDTO = modelMapper.map(patient, PatientResponseDTO.class);
+        List<AppointmentResponseDTO> content = new ArrayList<>(rows.size());
+        for (AppointmentView row : rows) {
+            content.add(toResponse(row, patientDTO));
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            AppointmentView last = rows.get(rows.size() - 1);
+            nextCursor = CursorCodec.encode(last.appointmentDate(), last.appointmentId());
+        }
+        return new CursorPageResponseDTO<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    @Override
+    @Transactional
     public AppointmentResponseDTO bookAppointment(AppointmentDTO appointmentDTO) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String currentUsername = authentication.getName();
@@ -107,20 +260,90 @@ public class AppointmentServiceImpl implements AppointmentService {
         Doctor doctor = doctorRepository.findById(appointmentDTO.getDoctorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor", "Id", appointmentDTO.getDoctorId()));
 
-        Appointment appointment = modelMapper.map(appointmentDTO, Appointment.class);
-        appointment.setAppointmentId(null);
-        appointment.setVersion(null);
+        // Built field by field: the DTO's several *Id properties are ambiguous to ModelMapper
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(appointmentDTO.getAppointmentDate());
+        appointment.setStartTime(appointmentDTO.getStartTime());
+        appointment.setEndTime(appointmentDTO.getEndTime());
+        appointment.setReason(appointmentDTO.getReason());
         appointment.setStatus(AppointmentStatus.PENDING);
+        appointment.setActiveSlot(Boolean.TRUE);
         appointment.setPatient(patient);
         appointment.setDoctor(doctor);
 
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        AppointmentSlot slot = AppointmentSlot.of(appointment);
+        // Held until the booking commits or rolls back, so no other booking for the doctor is turned away
+        // by a reservation that is about to be given back
+        lockUntilCompletion(doctorLocks.forKey(doctor.getDoctorId()));
+        reserveSlot(slot);
+        releaseOnRollback(slot);
+        if (appointmentDTO.getAvailabilityId() != null) {
+            claimAvailability(appointmentDTO.getAvailabilityId(), slot);
+            appointment.setAvailability(doctorAvailabilityRepository.getReferenceById(appointmentDTO.getAvailabilityId()));
+        } else if (appointmentDTO.getTemplateId() != null) {
+            appointment.setAvailability(claimTemplateSlot(appointmentDTO.getTemplateId(), slot));
+        }
+        Appointment savedAppointment = saveReserved(appointment);
+        afterCommit(() -> doctorScheduleCache.onAppointmentSaved(savedAppointment));
         notificationService.notifyDoctorOnAppointmentRequest(savedAppointment);
 
         return modelMapper.map(savedAppointment, AppointmentResponseDTO.class);
     }
 
     @Override
+    public BulkAppointmentResponseDTO bookAppointments(BulkAppointmentDTO bulkAppointmentDTO) {
+        List<BulkAppointmentItemDTO> items = bulkAppointmentDTO.getAppointments();
+        BulkAppointmentResultDTO[] results = new BulkAppointmentResultDTO[items.size()];
+
+        // One IN query each for doctors and patients instead of two lookups per item
+        Map<Long, Doctor> doctors = doctorRepository.findAllById(items.stream()
+                        .map(BulkAppointmentItemDTO::getDoctorId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Doctor::getDoctorId, Function.identity()));
+        Map<Long, Patient> patients = patientRepository.findAllById(items.stream()
+                        .map(BulkAppointmentItemDTO::getPatientId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Patient::getPatientId, Function.identity()));
+
+        List<Appointment> reserved = new ArrayList<>();
+        List<Integer> reservedIndexes = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkAppointmentItemDTO item = items.get(i);
+            Doctor doctor = doctors.get(item.getDoctorId());
+            Patient patient = patients.get(item.getPatientId());
+            if (doctor == null) {
+                results[i] = new BulkAppointmentResultDTO(i, false, null, "Doctor not found with Id: " + item.getDoctorId());
+                continue;
+            }
+            if (patient == null) {
+                results[i] = new BulkAppointmentResultDTO(i, false, null, "Patient not found with Id: " + item.getPatientId());
+                continue;
+            }
+            Appointment appointment = newAppointment(item, doctor, patient);
+            try {
+                reserveSlot(AppointmentSlot.of(appointment));
+            } catch (APIException e) {
+                results[i] = new BulkAppointmentResultDTO(i, false, null, e.getMessage());
+                continue;
+            }
+            reserved.add(appointment);
+            reservedIndexes.add(i);
+        }
+
+        for (int from = 0; from < reserved.size(); from += BULK_BATCH_SIZE) {
+            int to = Math.min(from + BULK_BATCH_SIZE, reserved.size());
+            insertReservedBatch(reserved.subList(from, to), reservedIndexes.subList(from, to), results);
+        }
+
+        int booked = 0;
+        for (BulkAppointmentResultDTO result : results) {
+            if (result.isSuccess()) {
+                booked++;
+            }
+        }
+        return new BulkAppointmentResponseDTO(items.size(), booked, items.size() - booked, List.of(results));
+    }
+
+    @Override
+    @Transactional
     public AppointmentResponseDTO updateAppointment(Long appointmentId, AppointmentDTO appointmentUpdateDTO) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String currentUsername = authentication.getName();
@@ -140,28 +363,34 @@ public class AppointmentServiceImpl implements AppointmentService {
             throw new AccessDeniedException("You do not have permission to update this appointment.");
         }
 
+        Appointment updatedAppointment;
         if (appointmentUpdateDTO.getDoctorId() != null && !existingAppointment.getDoctor().getDoctorId().equals(appointmentUpdateDTO.getDoctorId())) {
             Doctor newDoctor = doctorRepository.findById(appointmentUpdateDTO.getDoctorId())
                     .orElseThrow(() -> new ResourceNotFoundException("Doctor", "Id", appointmentUpdateDTO.getDoctorId()));
-            existingAppointment.setDoctor(newDoctor);
+            Long previousDoctorId = existingAppointment.getDoctor().getDoctorId();
+            Long previousAvailabilityId = existingAppointment.getAvailability() == null ? null
+                    : existingAppointment.getAvailability().getAvailabilityId();
+            if (AppointmentStatus.ACTIVE.contains(existingAppointment.getStatus())) {
+                updatedAppointment = moveToDoctor(existingAppointment, newDoctor);
+            } else {
+                existingAppointment.setDoctor(newDoctor);
+                updatedAppointment = appointmentRepository.save(existingAppointment);
+            }
+            Appointment moved = updatedAppointment;
+            afterCommit(() -> doctorScheduleCache.onAppointmentRemoved(previousDoctorId, moved.getAppointmentDate(),
+                    moved.getAppointmentId(), previousAvailabilityId));
+        } else {
+            updatedAppointment = appointmentRepository.save(existingAppointment);
         }
-
-
-        Appointment updatedAppointment = appointmentRepository.save(existingAppointment);
+        Appointment saved = updatedAppointment;
+        afterCommit(() -> doctorScheduleCache.onAppointmentSaved(saved));
         return modelMapper.map(updatedAppointment, AppointmentResponseDTO.class);
     }
 
     @Override
+    @Transactional
     public AppointmentResponseDTO cancelAppointment(Long appointmentId) {
-        Appointment appointmentToCancel = appointmentRepository.findById(appointmentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Appointment", "Id", appointmentId));
-
-        if (appointmentToCancel.getStatus() == AppointmentStatus.COMPLETED || appointmentToCancel.getStatus() == AppointmentStatus.CANCELED) {
-            throw new APIException("Appointment cannot be canceled as it is already " + appointmentToCancel.getStatus());
-        }
-
-        appointmentToCancel.setStatus(AppointmentStatus.CANCELED);
-        Appointment canceledAppointment = appointmentRepository.save(appointmentToCancel);
+        Appointment canceledAppointment = transition(appointmentId, null, AppointmentStatus.CANCELED);
 
         return modelMapper.map(canceledAppointment, AppointmentResponseDTO.class);
     }
@@ -172,4 +401,257 @@ public class AppointmentServiceImpl implements AppointmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment", "Id", appointmentId));
         return modelMapper.map(appointment, AppointmentResponseDTO.class);
     }
+
+    private AppointmentResponseDTO toResponse(AppointmentView row, PatientResponseDTO patient) {
+        DoctorResponseDTO doctor = new DoctorResponseDTO(row.doctorId(), row.doctorName(), row.specialization(),
+                row.qualification(), row.clinicAddress(), row.yearOfExperience(), row.email(), row.contactNumber());
+        return new AppointmentResponseDTO(row.appointmentId(), row.appointmentDate(), row.startTime(), row.endTime(),
+                row.reason(), row.status(), patient, doctor, row.availabilityId());
+    }
+
+    private Appointment newAppointment(BulkAppointmentItemDTO item, Doctor doctor, Patient patient) {
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentDate(item.getAppointmentDate());
+        appointment.setStartTime(item.getStartTime());
+        appointment.setEndTime(item.getEndTime());
+        appointment.setReason(item.getReason());
+        appointment.setStatus(AppointmentStatus.PENDING);
+        appointment.setActiveSlot(Boolean.TRUE);
+        if (item.getAvailabilityId() != null) {
+            DoctorAvailability availability = new DoctorAvailability();
+            availability.setAvailabilityId(item.getAvailabilityId());
+            appointment.setAvailability(availability);
+        }
+        return appointment;
+    }
+
+    // Rebuilds just enough of a decided appointment for its notification, the index and the schedule cache
+    private Appointment decidedAppointment(AppointmentDecisionView view, Doctor doctor, AppointmentStatus status) {
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentId(view.appointmentId());
+        appointment.setDoctor(doctor);
+        Patient patient = new Patient();
+        patient.setPatientId(view.patientId());
+        appointment.setPatient(patient);
+        appointment.setAppointmentDate(view.appointmentDate());
+        appointment.setStartTime(view.startTime());
+        appointment.setEndTime(view.endTime());
+        appointment.setStatus(status);
+        appointment.setActiveSlot(AppointmentStatus.ACTIVE.contains(status) ? Boolean.TRUE : null);
+        if (view.availabilityId() != null) {
+            DoctorAvailability availability = new DoctorAvailability();
+            availability.setAvailabilityId(view.availabilityId());
+            appointment.setAvailability(availability);
+        }
+        return appointment;
+    }
+
+    /**
+     * Claims published slots, inserts the appointments and their outbox events, each as one JDBC batch and all
+     * in one transaction. Whatever makes the transaction fail, its rollback undoes every claim and insert, so
+     * only the index reservations have to be given back.
+     */
+    private void insertReservedBatch(List<Appointment> batch, List<Integer> indexes, BulkAppointmentResultDTO[] results) {
+        boolean[] lostClaim = new boolean[batch.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Appointment> withAvailability = new ArrayList<>();
+                List<Integer> positions = new ArrayList<>();
+                for (int j = 0; j < batch.size(); j++) {
+                    if (batch.get(j).getAvailability() != null) {
+                        withAvailability.add(batch.get(j));
+                        positions.add(j);
+                    }
+                }
+                if (!withAvailability.isEmpty()) {
+                    int[] claimed = doctorAvailabilityJdbcRepository.claimAll(withAvailability);
+                    for (int k = 0; k < claimed.length; k++) {
+                        lostClaim[positions.get(k)] = claimed[k] == 0;
+                    }
+                }
+                List<Appointment> toInsert = new ArrayList<>();
+                for (int j = 0; j < batch.size(); j++) {
+                    if (!lostClaim[j]) {
+                        toInsert.add(batch.get(j));
+                    }
+                }
+                appointmentJdbcRepository.insertAll(toInsert);
+                notificationService.notifyDoctorsOnAppointmentRequests(toInsert);
+            });
+        } catch (RuntimeException e) {
+            for (int j = 0; j < batch.size(); j++) {
+                appointmentIntervalIndex.release(AppointmentSlot.of(batch.get(j)));
+                results[indexes.get(j)] = new BulkAppointmentResultDTO(indexes.get(j), false, null,
+                        "The batch containing this appointment could not be saved.");
+            }
+            return;
+        }
+
+        for (int j = 0; j < batch.size(); j++) {
+            Appointment appointment = batch.get(j);
+            if (lostClaim[j]) {
+                appointmentIntervalIndex.release(AppointmentSlot.of(appointment));
+                results[indexes.get(j)] = new BulkAppointmentResultDTO(indexes.get(j), false, null,
+                        "Availability slot " + appointment.getAvailability().getAvailabilityId() + " is not open for this doctor at the requested time.");
+            } else {
+                doctorScheduleCache.onAppointmentSaved(appointment);
+                results[indexes.get(j)] = new BulkAppointmentResultDTO(indexes.get(j), true,
+                        appointment.getAppointmentId(), "Booked");
+            }
+        }
+    }
+
+    /**
+     * Applies a status change as one conditional UPDATE guarded by {@link AppointmentStatus#sourcesOf}; the row
+     * is only read afterwards, to build the response or to explain why the update matched nothing.
+     */
+    private Appointment transition(Long appointmentId, Long doctorId, AppointmentStatus target) {
+        int updated = appointmentRepository.transitionStatus(appointmentId, doctorId, target,
+                AppointmentStatus.ACTIVE.contains(target) ? Boolean.TRUE : null, AppointmentStatus.sourcesOf(target));
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Appointment", "Id", appointmentId));
+        if (updated == 0) {
+            if (doctorId != null && !appointment.getDoctor().getDoctorId().equals(doctorId)) {
+                throw new AccessDeniedException("Doctor is not authorized to update this appointment.");
+            }
+            throw new APIException("Appointment cannot be " + target.name().toLowerCase() + " as it is already " + appointment.getStatus());
+        }
+        // Every status a non-active target is reachable from holds a slot, so leaving ACTIVE frees one
+        if (!AppointmentStatus.ACTIVE.contains(target)) {
+            releaseAvailability(appointment);
+            freeSlotAfterCommit(appointment);
+        }
+        afterCommit(() -> doctorScheduleCache.onAppointmentSaved(appointment));
+        return appointment;
+    }
+
+    /**
+     * Once the freeing transaction has committed, drops the slot from the index and lets the waitlist offer
+     * the range to the next patient; until then the slot stays taken, so a rollback leaves nothing to undo.
+     */
+    private void freeSlotAfterCommit(Appointment appointment) {
+        AppointmentSlot slot = AppointmentSlot.of(appointment);
+        AppointmentSlotFreedEvent event = new AppointmentSlotFreedEvent(appointment.getDoctor().getDoctorId(),
+                appointment.getAppointmentDate(), appointment.getStartTime(), appointment.getEndTime(),
+                appointment.getAvailability() == null ? null : appointment.getAvailability().getAvailabilityId());
+        afterCommit(() -> {
+            appointmentIntervalIndex.release(slot);
+            eventPublisher.publishEvent(event);
+        });
+    }
+
+    private void claimAvailability(Long availabilityId, AppointmentSlot slot) {
+        int claimed = doctorAvailabilityRepository.claimSlot(availabilityId, slot.doctorId(),
+                slot.appointmentDate(), slot.startTime(), slot.endTime());
+        if (claimed == 0) {
+            throw new APIException("Availability slot " + availabilityId + " is not open for this doctor at the requested time.");
+        }
+    }
+
+    private DoctorAvailability claimTemplateSlot(Long templateId, AppointmentSlot slot) {
+        return availabilityTemplateService.claimTemplateSlot(templateId, slot.doctorId(),
+                slot.appointmentDate(), slot.startTime(), slot.endTime());
+    }
+
+    private void releaseAvailability(Appointment appointment) {
+        if (appointment.getAvailability() != null) {
+            doctorAvailabilityRepository.releaseSlot(appointment.getAvailability().getAvailabilityId());
+        }
+    }
+
+    private void reserveSlot(AppointmentSlot slot) {
+        if (!appointmentIntervalIndex.isLoaded()) {
+            throw new APIException("Bookings are not accepted yet, the appointment schedule is still loading. Please try again shortly.");
+        }
+        if (!slot.startTime().isBefore(slot.endTime())) {
+            throw new APIException("Appointment start time must be before its end time.");
+        }
+        AppointmentIntervalIndex.Conflict conflict = appointmentIntervalIndex.tryReserve(slot);
+        if (conflict == AppointmentIntervalIndex.Conflict.DOCTOR) {
+            throw new APIException("The doctor already has an appointment between " + slot.startTime() + " and " + slot.endTime() + " on " + slot.appointmentDate());
+        }
+        if (conflict == AppointmentIntervalIndex.Conflict.PATIENT) {
+            throw new APIException("You already have an appointment between " + slot.startTime() + " and " + slot.endTime() + " on " + slot.appointmentDate());
+        }
+    }
+
+    /**
+     * Moves an active appointment to another doctor, keeping the index in step with the saved row. The old
+     * slot is freed first, as the patient would otherwise conflict with themselves, and both slots go back
+     * to how they were if the move rolls back.
+     */
+    private Appointment moveToDoctor(Appointment appointment, Doctor newDoctor) {
+        AppointmentSlot oldSlot = AppointmentSlot.of(appointment);
+        DoctorAvailability oldAvailability = appointment.getAvailability();
+        appointmentIntervalIndex.release(oldSlot);
+        appointment.setDoctor(newDoctor);
+        appointment.setAvailability(null);
+        AppointmentSlot newSlot = AppointmentSlot.of(appointment);
+        try {
+            reserveSlot(newSlot);
+        } catch (RuntimeException e) {
+            appointmentIntervalIndex.tryReserve(oldSlot);
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    appointmentIntervalIndex.release(newSlot);
+                    appointmentIntervalIndex.tryReserve(oldSlot);
+                }
+            }
+        });
+        Appointment saved = saveReserved(appointment);
+        // The published slot belonged to the previous doctor
+        if (oldAvailability != null) {
+            doctorAvailabilityRepository.releaseSlot(oldAvailability.getAvailabilityId());
+        }
+        return saved;
+    }
+
+    // Saves an appointment whose slot is already reserved in the index; a rollback gives the slot back
+    private Appointment saveReserved(Appointment appointment) {
+        try {
+            return appointmentRepository.save(appointment);
+        } catch (DataIntegrityViolationException e) {
+            throw new APIException("The requested time slot has already been booked.");
+        }
+    }
+
+    // Gives a slot reserved in the index back if the surrounding transaction rolls back
+    private void releaseOnRollback(AppointmentSlot slot) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    appointmentIntervalIndex.release(slot);
+                }
+            }
+        });
+    }
+
+    // Takes the lock and holds it until the surrounding transaction has committed or rolled back
+    private static void lockUntilCompletion(Lock lock) {
+        // Registered first, so a failed registration never leaves the lock held
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        lock.lock();
+    }
+
+    // Index and cache changes that must only be seen once the database change is visible to other readers
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
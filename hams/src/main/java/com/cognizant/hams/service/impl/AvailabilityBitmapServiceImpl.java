@@ -0,0 +1,151 @@
+package com.cognizant.hams.service.impl;
+
+import com.cognizant.hams.dto.response.BitmapMigrationResponseDTO;
+import com.cognizant.hams.dto.response.DoctorDayBitmapResponseDTO;
+import com.cognizant.hams.event.DoctorDayChangedEvent;
+import com.cognizant.hams.exception.APIException;
+import com.cognizant.hams.exception.ResourceNotFoundException;
+import com.cognizant.hams.repository.DoctorDaySlotsJdbcRepository;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.repository.projection.DaySlotsView;
+import com.cognizant.hams.service.AvailabilityBitmapService;
+import com.cognizant.hams.util.SlotBitmap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Availability in bitmap form: one doctor_day_slots row per doctor and day instead of one
+ * doctor_availability row per slot. With {@code hams.availability.storage=bitmap} the day bitmaps are
+ * read from that table and refreshed after every change; with the default {@code rows} they are built
+ * from the source tables on each read and the table is left alone.
+ *
+ * <p>Switching to {@code bitmap} takes a {@link #migrate} run first, which can be repeated at any time.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityBitmapServiceImpl implements AvailabilityBitmapService {
+
+    private static final int DOCTOR_CHUNK = 100;
+    private static final int DEFAULT_RANGE_DAYS = 13;
+    private static final int MAX_RANGE_DAYS = 92;
+    private static final LocalDate LAST_DATE = LocalDate.of(9999, 12, 31);
+
+    private final DoctorDaySlotsJdbcRepository doctorDaySlotsJdbcRepository;
+    private final DoctorRepository doctorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${hams.availability.storage:rows}")
+    private String storage;
+
+    @Override
+    public BitmapMigrationResponseDTO migrate(LocalDate fromDate) {
+        LocalDate from = fromDate == null ? LocalDate.now() : fromDate;
+        long started = System.currentTimeMillis();
+        long doctors = 0;
+        long days = 0;
+        Long afterId = 0L;
+        List<Long> chunk;
+        // Doctor id ranges keep each chunk to one pass over both source tables and its bitmaps in memory
+        while (!(chunk = doctorRepository.findIdsAfter(afterId, Limit.of(DOCTOR_CHUNK))).isEmpty()) {
+            Long firstId = chunk.get(0);
+            Long lastId = chunk.get(chunk.size() - 1);
+            List<DaySlotsView> built = new ArrayList<>(build(firstId, lastId, from, LAST_DATE).values());
+            transactionTemplate.executeWithoutResult(status -> {
+                doctorDaySlotsJdbcRepository.deleteRange(firstId, lastId, from, LAST_DATE);
+                doctorDaySlotsJdbcRepository.upsertAll(built);
+            });
+            doctors += chunk.size();
+            days += built.size();
+            afterId = lastId;
+        }
+        return new BitmapMigrationResponseDTO(from, doctors, days, System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public List<DoctorDayBitmapResponseDTO> getDayBitmaps(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new ResourceNotFoundException("Doctor", "Id", doctorId);
+        }
+        LocalDate from = fromDate == null ? LocalDate.now() : fromDate;
+        LocalDate to = toDate == null ? from.plusDays(DEFAULT_RANGE_DAYS) : toDate;
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new APIException("The date range must end on or after its start and span at most " + MAX_RANGE_DAYS + " days.");
+        }
+
+        List<DaySlotsView> days = isBitmapStorage()
+                ? doctorDaySlotsJdbcRepository.findRange(doctorId, from, to)
+                : build(doctorId, doctorId, from, to).values().stream()
+                        .sorted(Comparator.comparing(DaySlotsView::date))
+                        .toList();
+        return days.stream()
+                .map(day -> {
+                    SlotBitmap free = day.available().copy().andNot(day.booked());
+                    return new DoctorDayBitmapResponseDTO(day.date(), SlotBitmap.SLOT_MINUTES, day.available().toHex(),
+                            day.booked().toHex(), free.toHex(), free.cardinality());
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Rebuilds the changed day from the source tables once the change is committed. Changes that name no
+     * day only touch recurring templates, which this table does not hold.
+     *
+     * <p>The rebuild runs in a transaction of its own: the committed transaction that raised the event is
+     * still bound to the thread, and writes joined to it would never be committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorDayChanged(DoctorDayChangedEvent event) {
+        if (!isBitmapStorage() || event.date() == null) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> {
+            DaySlotsView day = build(event.doctorId(), event.doctorId(), event.date(), event.date())
+                    .get(new DayKey(event.doctorId(), event.date()));
+            if (day == null) {
+                doctorDaySlotsJdbcRepository.deleteRange(event.doctorId(), event.doctorId(), event.date(), event.date());
+            } else {
+                doctorDaySlotsJdbcRepository.upsertAll(List.of(day));
+            }
+        });
+    }
+
+    private boolean isBitmapStorage() {
+        return "bitmap".equalsIgnoreCase(storage);
+    }
+
+    // Folds the source ranges of the given doctors and dates into one pair of bitmaps per day
+    private Map<DayKey, DaySlotsView> build(Long fromDoctorId, Long toDoctorId, LocalDate fromDate, LocalDate toDate) {
+        Map<DayKey, DaySlotsView> days = new HashMap<>();
+        doctorDaySlotsJdbcRepository.forEachAvailableRange(fromDoctorId, toDoctorId, fromDate, toDate, range ->
+                day(days, range).available().set(range.startTime(), range.endTime()));
+        doctorDaySlotsJdbcRepository.forEachBookedRange(fromDoctorId, toDoctorId, fromDate, toDate, range ->
+                day(days, range).booked().set(range.startTime(), range.endTime()));
+        return days;
+    }
+
+    private static DaySlotsView day(Map<DayKey, DaySlotsView> days, DoctorDaySlotsJdbcRepository.Range range) {
+        return days.computeIfAbsent(new DayKey(range.doctorId(), range.date()),
+                key -> new DaySlotsView(key.doctorId(), key.date(), new SlotBitmap(), new SlotBitmap()));
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.cognizant.hams.service.impl;
+
+import com.cognizant.hams.cache.DoctorScheduleCache;
+import com.cognizant.hams.dto.response.AvailabilityImportErrorDTO;
+import com.cognizant.hams.dto.response.AvailabilityImportResponseDTO;
+import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.entity.DoctorAvailability;
+import com.cognizant.hams.exception.APIException;
+import com.cognizant.hams.repository.DoctorAvailabilityJdbcRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityRepository;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.repository.projection.SlotStartView;
+import com.cognizant.hams.service.AvailabilityImportService;
+import com.cognizant.hams.util.AvailabilityImportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an import through fixed-size chunks: each chunk costs one doctor lookup for ids not seen
+ * before, one range query for the slots already stored, and batched inserts. Earlier chunks are stored
+ * before the next one is checked, so duplicates across chunks are caught by that same range query and
+ * the heap only ever holds one chunk.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityImportServiceImpl implements AvailabilityImportService {
+
+    private static final int CHUNK_SIZE = 5_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final DoctorAvailabilityJdbcRepository doctorAvailabilityJdbcRepository;
+    private final DoctorScheduleCache doctorScheduleCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public AvailabilityImportResponseDTO importAvailability(InputStream body, AvailabilityImportReader.Format format) {
+        ImportReport report = new ImportReport();
+        Set<Long> knownDoctors = new HashSet<>();
+        Set<Long> unknownDoctors = new HashSet<>();
+        LocalDate today = LocalDate.now();
+        List<AvailabilityImportReader.Line> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (AvailabilityImportReader reader = new AvailabilityImportReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8), format, objectMapper)) {
+            AvailabilityImportReader.Line line;
+            while ((line = reader.next()) != null) {
+                report.lines++;
+                String error = line.isValid() ? validate(line, today) : line.error();
+                if (error != null) {
+                    report.fail(line.number(), error);
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, knownDoctors, unknownDoctors, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, knownDoctors, unknownDoctors, report);
+            }
+        } catch (IOException e) {
+            throw new APIException("Could not read the import body after line " + report.lines + ": " + e.getMessage());
+        }
+        return report.toResponse();
+    }
+
+    private static String validate(AvailabilityImportReader.Line line, LocalDate today) {
+        if (line.availableDate().isBefore(today)) {
+            return "Availability date must be in the present or future";
+        }
+        if (!line.startTime().isBefore(line.endTime())) {
+            return "Start time must be before end time";
+        }
+        return null;
+    }
+
+    private void importChunk(List<AvailabilityImportReader.Line> chunk, Set<Long> knownDoctors,
+                             Set<Long> unknownDoctors, ImportReport report) {
+        Set<Long> newIds = chunk.stream()
+                .map(AvailabilityImportReader.Line::doctorId)
+                .filter(id -> !knownDoctors.contains(id) && !unknownDoctors.contains(id))
+                .collect(Collectors.toSet());
+        if (!newIds.isEmpty()) {
+            List<Long> existing = doctorRepository.findExistingIds(newIds);
+            knownDoctors.addAll(existing);
+            existing.forEach(newIds::remove);
+            unknownDoctors.addAll(newIds);
+        }
+
+        Set<Long> chunkDoctors = new HashSet<>();
+        LocalDate from = LocalDate.MAX;
+        LocalDate to = LocalDate.MIN;
+        for (AvailabilityImportReader.Line line : chunk) {
+            if (knownDoctors.contains(line.doctorId())) {
+                chunkDoctors.add(line.doctorId());
+                from = line.availableDate().isBefore(from) ? line.availableDate() : from;
+                to = line.availableDate().isAfter(to) ? line.availableDate() : to;
+            }
+        }
+        Set<SlotStartView> taken = chunkDoctors.isEmpty() ? new HashSet<>()
+                : new HashSet<>(doctorAvailabilityRepository.findSlotStarts(chunkDoctors, from, to));
+
+        List<AvailabilityImportReader.Line> accepted = new ArrayList<>();
+        for (AvailabilityImportReader.Line line : chunk) {
+            if (!knownDoctors.contains(line.doctorId())) {
+                report.fail(line.number(), "Doctor not found with Id: " + line.doctorId());
+            } else if (!taken.add(new SlotStartView(line.doctorId(), line.availableDate(), line.startTime()))) {
+                report.fail(line.number(), duplicateMessage(line));
+            } else {
+                accepted.add(line);
+            }
+        }
+
+        for (int start = 0; start < accepted.size(); start += BATCH_SIZE) {
+            insertBatch(accepted.subList(start, Math.min(start + BATCH_SIZE, accepted.size())), report);
+        }
+        accepted.stream()
+                .map(line -> new DoctorDay(line.doctorId(), line.availableDate()))
+                .distinct()
+                .forEach(day -> doctorScheduleCache.onAvailabilityImported(day.doctorId(), day.date()));
+    }
+
+    private void insertBatch(List<AvailabilityImportReader.Line> batch, ImportReport report) {
+        List<DoctorAvailability> slots = batch.stream().map(AvailabilityImportServiceImpl::toSlot).toList();
+        try {
+            // One transaction per batch, so a failed batch leaves nothing behind to retry around
+            transactionTemplate.executeWithoutResult(status -> doctorAvailabilityJdbcRepository.insertAll(slots));
+            report.imported += slots.size();
+        } catch (DataAccessException e) {
+            // A slot stored concurrently since the range query; find it row by row
+            for (int i = 0; i < slots.size(); i++) {
+                try {
+                    doctorAvailabilityJdbcRepository.insertAll(List.of(slots.get(i)));
+                    report.imported++;
+                } catch (DataAccessException rowFailure) {
+                    report.fail(batch.get(i).number(), duplicateMessage(batch.get(i)));
+                }
+            }
+        }
+    }
+
+    private static DoctorAvailability toSlot(AvailabilityImportReader.Line line) {
+        Doctor doctor = new Doctor();
+        doctor.setDoctorId(line.doctorId());
+        DoctorAvailability slot = new DoctorAvailability();
+        slot.setDoctor(doctor);
+        slot.setAvailableDate(line.availableDate());
+        slot.setStartTime(line.startTime());
+        slot.setEndTime(line.endTime());
+        slot.setAvailable(line.available());
+        return slot;
+    }
+
+    private static String duplicateMessage(AvailabilityImportReader.Line line) {
+        return "Doctor " + line.doctorId() + " already has a slot starting at " + line.startTime() + " on " + line.availableDate();
+    }
+
+    private record DoctorDay(Long doctorId, LocalDate date) {
+    }
+
+    private static final class ImportReport {
+
+        private long lines;
+        private long imported;
+        private long failed;
+        private final List<AvailabilityImportErrorDTO> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new AvailabilityImportErrorDTO(line, message));
+            }
+        }
+
+        // Parse errors are reported as lines are read, the others once their chunk is checked
+        AvailabilityImportResponseDTO toResponse() {
+            errors.sort(Comparator.comparingLong(AvailabilityImportErrorDTO::getLine));
+            return new AvailabilityImportResponseDTO(lines, imported, failed, failed > errors.size(), errors);
+        }
+    }
+}
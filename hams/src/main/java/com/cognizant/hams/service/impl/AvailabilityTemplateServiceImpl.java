@@ -0,0 +1,236 @@
+package com.cognizant.hams.service.impl;
+
+import com.cognizant.hams.cache.DoctorScheduleCache;
+import com.cognizant.hams.dto.request.AvailabilityTemplateDTO;
+import com.cognizant.hams.dto.response.AvailabilityTemplateResponseDTO;
+import com.cognizant.hams.dto.response.DoctorSlotResponseDTO;
+import com.cognizant.hams.entity.AvailabilityTemplate;
+import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.entity.DoctorAvailability;
+import com.cognizant.hams.exception.APIException;
+import com.cognizant.hams.exception.ResourceNotFoundException;
+import com.cognizant.hams.index.AppointmentIntervalIndex;
+import com.cognizant.hams.repository.AvailabilityTemplateRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityRepository;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.service.AvailabilityTemplateService;
+import com.cognizant.hams.util.RecurringSlots;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class AvailabilityTemplateServiceImpl implements AvailabilityTemplateService {
+
+    private static final int DEFAULT_RANGE_DAYS = 13;
+    private static final int MAX_RANGE_DAYS = 31;
+
+    private final AvailabilityTemplateRepository availabilityTemplateRepository;
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final DoctorRepository doctorRepository;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final DoctorScheduleCache doctorScheduleCache;
+
+    @Override
+    @Transactional
+    public AvailabilityTemplateResponseDTO createTemplate(AvailabilityTemplateDTO templateDTO) {
+        Doctor loggedInDoctor = currentDoctor();
+
+        if (!templateDTO.getStartTime().plusMinutes(templateDTO.getSlotMinutes()).isAfter(templateDTO.getStartTime())
+                || templateDTO.getStartTime().plusMinutes(templateDTO.getSlotMinutes()).isAfter(templateDTO.getEndTime())) {
+            throw new APIException("The time window must fit at least one slot of " + templateDTO.getSlotMinutes() + " minutes.");
+        }
+        if (templateDTO.getValidTo() != null && templateDTO.getValidTo().isBefore(templateDTO.getValidFrom())) {
+            throw new APIException("Valid-to date cannot be before valid-from date.");
+        }
+        for (AvailabilityTemplate existing : availabilityTemplateRepository.findForDoctor(loggedInDoctor.getDoctorId())) {
+            if (overlaps(existing, templateDTO)) {
+                throw new APIException("This template overlaps availability template " + existing.getTemplateId());
+            }
+        }
+
+        AvailabilityTemplate template = new AvailabilityTemplate();
+        template.setDoctor(loggedInDoctor);
+        template.setDayOfWeek(templateDTO.getDayOfWeek());
+        template.setStartTime(templateDTO.getStartTime());
+        template.setEndTime(templateDTO.getEndTime());
+        template.setSlotMinutes(templateDTO.getSlotMinutes());
+        template.setValidFrom(templateDTO.getValidFrom());
+        template.setValidTo(templateDTO.getValidTo());
+        if (templateDTO.getExceptionDates() != null) {
+            template.getExceptionDates().addAll(templateDTO.getExceptionDates());
+        }
+        AvailabilityTemplate saved = availabilityTemplateRepository.save(template);
+        afterCommit(() -> doctorScheduleCache.onTemplatesChanged(loggedInDoctor.getDoctorId()));
+        return toResponse(saved);
+    }
+
+    @Override
+    public List<AvailabilityTemplateResponseDTO> getTemplates() {
+        Doctor loggedInDoctor = currentDoctor();
+        return availabilityTemplateRepository.findForDoctor(loggedInDoctor.getDoctorId()).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public AvailabilityTemplateResponseDTO addExceptionDate(Long templateId, LocalDate date) {
+        AvailabilityTemplate template = ownedTemplate(templateId);
+        template.getExceptionDates().add(date);
+        AvailabilityTemplate saved = availabilityTemplateRepository.save(template);
+        Long doctorId = saved.getDoctor().getDoctorId();
+        afterCommit(() -> doctorScheduleCache.onTemplatesChanged(doctorId));
+        return toResponse(saved);
+    }
+
+    @Override
+    @Transactional
+    public void deleteTemplate(Long templateId) {
+        AvailabilityTemplate template = ownedTemplate(templateId);
+        Long doctorId = template.getDoctor().getDoctorId();
+        // Slots already booked from this template live on as their own DoctorAvailability rows
+        availabilityTemplateRepository.delete(template);
+        afterCommit(() -> doctorScheduleCache.onTemplatesChanged(doctorId));
+    }
+
+    @Override
+    public List<DoctorSlotResponseDTO> getOpenSlots(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new ResourceNotFoundException("Doctor", "Id", doctorId);
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate from = fromDate == null || fromDate.isBefore(today) ? today : fromDate;
+        LocalDate to = toDate == null ? from.plusDays(DEFAULT_RANGE_DAYS) : toDate;
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new APIException("The date range must end on or after its start and span at most " + MAX_RANGE_DAYS + " days.");
+        }
+        LocalTime fromTime = from.equals(today) ? LocalTime.now() : LocalTime.MIN;
+
+        NavigableMap<LocalDateTime, DoctorSlotResponseDTO> slots = new TreeMap<>();
+        // A stored row, open or not, always wins over the template slot at the same time
+        Set<LocalDateTime> stored = new HashSet<>();
+        for (DoctorAvailability row : doctorAvailabilityRepository.findByDoctorDoctorIdAndAvailableDateBetween(doctorId, from, to)) {
+            LocalDateTime start = LocalDateTime.of(row.getAvailableDate(), row.getStartTime());
+            stored.add(start);
+            if (row.isAvailable() && isOpen(doctorId, row.getAvailableDate(), row.getStartTime(), row.getEndTime(), from, fromTime)) {
+                slots.put(start, new DoctorSlotResponseDTO(row.getAvailableDate(), row.getStartTime(), row.getEndTime(),
+                        row.getAvailabilityId(), null));
+            }
+        }
+        List<AvailabilityTemplate> templates = availabilityTemplateRepository.findActiveForDoctors(List.of(doctorId), from, to);
+        for (RecurringSlots.Slot slot : RecurringSlots.expand(templates, from, to, Integer.MAX_VALUE, slot ->
+                !stored.contains(LocalDateTime.of(slot.date(), slot.startTime()))
+                        && isOpen(doctorId, slot.date(), slot.startTime(), slot.endTime(), from, fromTime))) {
+            slots.putIfAbsent(LocalDateTime.of(slot.date(), slot.startTime()),
+                    new DoctorSlotResponseDTO(slot.date(), slot.startTime(), slot.endTime(), null, slot.templateId()));
+        }
+        return new ArrayList<>(slots.values());
+    }
+
+    @Override
+    @Transactional
+    public DoctorAvailability claimTemplateSlot(Long templateId, Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        AvailabilityTemplate template = availabilityTemplateRepository.findById(templateId)
+                .orElseThrow(() -> new ResourceNotFoundException("AvailabilityTemplate", "Id", templateId));
+        if (!template.getDoctor().getDoctorId().equals(doctorId) || !RecurringSlots.yields(template, date, startTime, endTime)) {
+            throw new APIException("The requested time is not a slot of availability template " + templateId);
+        }
+
+        Optional<DoctorAvailability> existing = doctorAvailabilityRepository
+                .findByDoctorDoctorIdAndAvailableDateAndStartTime(doctorId, date, startTime);
+        if (existing.isPresent()) {
+            // Materialized by an earlier booking that was later canceled
+            DoctorAvailability row = existing.get();
+            if (doctorAvailabilityRepository.claimSlot(row.getAvailabilityId(), doctorId, date, startTime, endTime) == 0) {
+                throw new APIException("The requested time slot has already been booked.");
+            }
+            return row;
+        }
+
+        DoctorAvailability row = new DoctorAvailability();
+        row.setDoctor(template.getDoctor());
+        row.setAvailableDate(date);
+        row.setStartTime(startTime);
+        row.setEndTime(endTime);
+        row.setAvailable(false);
+        try {
+            DoctorAvailability saved = doctorAvailabilityRepository.saveAndFlush(row);
+            // Joins the booking's transaction, which may still roll the row back
+            afterCommit(() -> doctorScheduleCache.onAvailabilitySaved(doctorId, saved));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw new APIException("The requested time slot has already been booked.");
+        }
+    }
+
+    private boolean isOpen(Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                           LocalDate from, LocalTime fromTime) {
+        return !(date.equals(from) && startTime.isBefore(fromTime))
+                && appointmentIntervalIndex.isDoctorFree(doctorId, date, startTime, endTime);
+    }
+
+    private static boolean overlaps(AvailabilityTemplate existing, AvailabilityTemplateDTO candidate) {
+        boolean sameHours = existing.getDayOfWeek() == candidate.getDayOfWeek()
+                && existing.getStartTime().isBefore(candidate.getEndTime())
+                && candidate.getStartTime().isBefore(existing.getEndTime());
+        boolean sameWeeks = (existing.getValidTo() == null || !existing.getValidTo().isBefore(candidate.getValidFrom()))
+                && (candidate.getValidTo() == null || !candidate.getValidTo().isBefore(existing.getValidFrom()));
+        return sameHours && sameWeeks;
+    }
+
+    private AvailabilityTemplate ownedTemplate(Long templateId) {
+        Doctor loggedInDoctor = currentDoctor();
+        AvailabilityTemplate template = availabilityTemplateRepository.findById(templateId)
+                .orElseThrow(() -> new ResourceNotFoundException("AvailabilityTemplate", "Id", templateId));
+        if (!template.getDoctor().getDoctorId().equals(loggedInDoctor.getDoctorId())) {
+            throw new AccessDeniedException("Doctor is not authorized to update this availability template.");
+        }
+        return template;
+    }
+
+    private Doctor currentDoctor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String currentUsername = authentication.getName();
+
+        return (Doctor) doctorRepository.findByUser_Username(currentUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor", "username", currentUsername));
+    }
+
+    private AvailabilityTemplateResponseDTO toResponse(AvailabilityTemplate template) {
+        return new AvailabilityTemplateResponseDTO(template.getTemplateId(), template.getDoctor().getDoctorId(),
+                template.getDayOfWeek(), template.getStartTime(), template.getEndTime(), template.getSlotMinutes(),
+                template.getValidFrom(), template.getValidTo(),
+                template.getExceptionDates().stream().sorted().collect(Collectors.toList()));
+    }
+
+    // Cache changes that must only be seen once the database change is visible to other readers
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
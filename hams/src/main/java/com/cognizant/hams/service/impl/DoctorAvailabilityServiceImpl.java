@@ -1,34 +1,91 @@
 package com.cognizant.hams.service.impl;
 
+import com.cognizant.hams.cache.AvailabilityHeatmapCache;
+import com.cognizant.hams.cache.DoctorScheduleCache;
+import com.cognizant.hams.cache.NearTermSlotCache;
+import com.cognizant.hams.config.AppConfig;
 import com.cognizant.hams.dto.request.DoctorAvailabilityDTO;
+import com.cognizant.hams.dto.response.AvailabilityHeatmapResponseDTO;
+import com.cognizant.hams.dto.response.AvailabilityMatrixResponseDTO;
+import com.cognizant.hams.dto.response.AvailabilityMatrixRowDTO;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
 import com.cognizant.hams.dto.response.DoctorAndAvailabilityResponseDTO;
 import com.cognizant.hams.dto.response.DoctorAvailabilityResponseDTO;
+import com.cognizant.hams.dto.response.DoctorDayScheduleResponseDTO;
+import com.cognizant.hams.dto.response.FirstAvailableSlotResponseDTO;
 import com.cognizant.hams.entity.Doctor;
 import com.cognizant.hams.entity.DoctorAvailability;
 import com.cognizant.hams.exception.APIException;
 import com.cognizant.hams.exception.ResourceNotFoundException;
+import com.cognizant.hams.index.AppointmentIntervalIndex;
+import com.cognizant.hams.repository.AvailabilityTemplateRepository;
 import com.cognizant.hams.repository.DoctorAvailabilityRepository;
 import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.repository.projection.AvailabilityRangeView;
+import com.cognizant.hams.repository.projection.OpenSlotView;
+import com.cognizant.hams.repository.projection.SlotStartView;
 import com.cognizant.hams.service.DoctorAvailabilityService;
+import com.cognizant.hams.util.CursorCodec;
+import com.cognizant.hams.util.KWayMerge;
+import com.cognizant.hams.util.RecurringSlots;
+import com.cognizant.hams.util.SlotBitmap;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DoctorAvailabilityServiceImpl implements DoctorAvailabilityService {
 
+    private static final int MAX_FIRST_AVAILABLE = 50;
+    private static final int DEFAULT_SEARCH_DAYS = 30;
+    private static final int MAX_SEARCH_DAYS = 90;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_MATRIX_DOCTORS = 50;
+    private static final int DEFAULT_MATRIX_DAYS = 7;
+    private static final int MAX_MATRIX_DAYS = 31;
+
+    private static final Comparator<OpenSlotView> EARLIEST_FIRST = Comparator.comparing(OpenSlotView::availableDate)
+            .thenComparing(OpenSlotView::startTime)
+            .thenComparing(OpenSlotView::availabilityId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(OpenSlotView::doctorId);
+
     private final DoctorRepository doctorRepository;
     private final ModelMapper modelMapper;
     private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final DoctorScheduleCache doctorScheduleCache;
+    private final AvailabilityHeatmapCache availabilityHeatmapCache;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final ExecutorService lookupExecutor;
+    private final AvailabilityTemplateRepository availabilityTemplateRepository;
+    private final NearTermSlotCache nearTermSlotCache;
 
 
     // Add Availability
@@ -52,6 +109,7 @@ public class DoctorAvailabilityServiceImpl implements DoctorAvailabilityService
             doctorAvailability.setDoctor(loggedInDoctor);
 
             DoctorAvailability savedAvailability = doctorAvailabilityRepository.save(doctorAvailability);
+            afterCommit(() -> doctorScheduleCache.onAvailabilitySaved(loggedInDoctor.getDoctorId(), savedAvailability));
             return modelMapper.map(savedAvailability, DoctorAvailabilityResponseDTO.class);
 
         } catch (DataIntegrityViolationException e) {
@@ -96,21 +154,256 @@ public class DoctorAvailabilityServiceImpl implements DoctorAvailabilityService
             throw new APIException("Availability slot with ID " + availabilityId + " does not belong to doctor with ID " + doctorId);
         }
 
+        LocalDate previousDate = existingAvailability.getAvailableDate();
         modelMapper.map(doctorAvailabilityDTO, existingAvailability);
 
         DoctorAvailability updatedAvailability = doctorAvailabilityRepository.save(existingAvailability);
+        afterCommit(() -> {
+            doctorScheduleCache.onAvailabilityRemoved(doctorId, previousDate, availabilityId);
+            doctorScheduleCache.onAvailabilitySaved(doctorId, updatedAvailability);
+        });
 
         return modelMapper.map(updatedAvailability, DoctorAvailabilityResponseDTO.class);
     }
 
     @Override
-    public List<DoctorAndAvailabilityResponseDTO> getAvailableDoctor(String doctorName){
-        return doctorRepository.findByAvailableDoctorNameAndAvailability(doctorName);
+    public DoctorDayScheduleResponseDTO getDoctorSchedule(LocalDate date) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String currentUsername = authentication.getName();
+
+        Doctor loggedInDoctor = (Doctor) doctorRepository.findByUser_Username(currentUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor", "username", currentUsername));
+
+        return doctorScheduleCache.getSchedule(loggedInDoctor.getDoctorId(), date);
     }
 
+    @Override
+    public AvailabilityHeatmapResponseDTO getAvailabilityHeatmap(Long doctorId, YearMonth month) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new ResourceNotFoundException("Doctor", "Id", doctorId);
+        }
+        YearMonth requested = month == null ? YearMonth.now() : month;
+        int[] freeSlots = availabilityHeatmapCache.getFreeSlotCounts(doctorId, requested).clone();
+        // Cached counts outlive midnight, so the days that have passed since are zeroed on the way out
+        LocalDate today = LocalDate.now();
+        for (int day = 0; day < freeSlots.length && requested.atDay(day + 1).isBefore(today); day++) {
+            freeSlots[day] = 0;
+        }
+        return new AvailabilityHeatmapResponseDTO(doctorId, requested, freeSlots);
+    }
 
     @Override
-    public List<DoctorAndAvailabilityResponseDTO> searchDoctorByName(String doctorName){
-        return doctorRepository.findByDoctorNameAndAvailability(doctorName);
+    public AvailabilityMatrixResponseDTO getAvailabilityMatrix(List<Long> doctorIds, LocalDate fromDate, LocalDate toDate) {
+        Set<Long> requested = new LinkedHashSet<>(doctorIds == null ? List.of() : doctorIds);
+        if (requested.isEmpty() || requested.size() > MAX_MATRIX_DOCTORS) {
+            throw new APIException("Between 1 and " + MAX_MATRIX_DOCTORS + " doctor ids are required.");
+        }
+        LocalDate from = fromDate == null ? LocalDate.now() : fromDate;
+        LocalDate to = toDate == null ? from.plusDays(DEFAULT_MATRIX_DAYS - 1L) : toDate;
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_MATRIX_DAYS) {
+            throw new APIException("The date range must end on or after its start and span at most " + MAX_MATRIX_DAYS + " days.");
+        }
+        Map<Long, Doctor> doctors = doctorRepository.findAllById(requested).stream()
+                .collect(Collectors.toMap(Doctor::getDoctorId, Function.identity()));
+        for (Long doctorId : requested) {
+            if (!doctors.containsKey(doctorId)) {
+                throw new ResourceNotFoundException("Doctor", "Id", doctorId);
+            }
+        }
+
+        // Pivot the stored rows of all doctors into one open and one taken bitmap per doctor and day
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        Map<Long, SlotBitmap[]> open = new HashMap<>();
+        Map<Long, SlotBitmap[]> taken = new HashMap<>();
+        Set<SlotStartView> stored = new HashSet<>();
+        for (AvailabilityRangeView range : doctorAvailabilityRepository.findRangesForDoctors(requested, from, to)) {
+            dayOf(range.available() ? open : taken, range.doctorId(), days, (int) ChronoUnit.DAYS.between(from, range.availableDate()))
+                    .set(range.startTime(), range.endTime());
+            stored.add(new SlotStartView(range.doctorId(), range.availableDate(), range.startTime()));
+        }
+        // A template slot that was booked is stored as a row, so the ones left over are still open
+        List<RecurringSlots.Slot> recurring = RecurringSlots.expand(
+                availabilityTemplateRepository.findActiveForDoctors(requested, from, to), from, to, Integer.MAX_VALUE,
+                slot -> !stored.contains(new SlotStartView(slot.doctorId(), slot.date(), slot.startTime())));
+        for (RecurringSlots.Slot slot : recurring) {
+            dayOf(open, slot.doctorId(), days, (int) ChronoUnit.DAYS.between(from, slot.date()))
+                    .set(slot.startTime(), slot.endTime());
+        }
+
+        List<AvailabilityMatrixRowDTO> rows = requested.stream()
+                .map(doctorId -> {
+                    Doctor doctor = doctors.get(doctorId);
+                    return new AvailabilityMatrixRowDTO(doctorId, doctor.getDoctorName(), doctor.getSpecialization(),
+                            toHex(open.get(doctorId), days), toHex(taken.get(doctorId), days));
+                })
+                .collect(Collectors.toList());
+        return new AvailabilityMatrixResponseDTO(from, to, SlotBitmap.SLOT_MINUTES, rows);
+    }
+
+    @Override
+    public List<FirstAvailableSlotResponseDTO> findFirstAvailableSlots(String specialization, LocalDate fromDate,
+                                                                       LocalDate toDate, int limit) {
+        if (limit < 1 || limit > MAX_FIRST_AVAILABLE) {
+            throw new APIException("Limit must be between 1 and " + MAX_FIRST_AVAILABLE);
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate from = fromDate == null || fromDate.isBefore(today) ? today : fromDate;
+        LocalDate to = toDate == null ? from.plusDays(DEFAULT_SEARCH_DAYS) : toDate;
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) > MAX_SEARCH_DAYS) {
+            throw new APIException("The search window must end on or after its start and span at most " + MAX_SEARCH_DAYS + " days.");
+        }
+        LocalTime fromTime = from.equals(today) ? LocalTime.now() : LocalTime.MIN;
+
+        Map<Long, Doctor> doctors = doctorRepository.findBySpecializationContainingIgnoreCase(specialization).stream()
+                .collect(Collectors.toMap(Doctor::getDoctorId, Function.identity()));
+        if (doctors.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // A fixed number of groups keeps the query count flat however many doctors match; the first K slots
+        // overall are always among the first K of their own group
+        List<List<Long>> groups = new ArrayList<>();
+        int groupCount = Math.min(AppConfig.LOOKUP_THREADS, doctors.size());
+        for (int i = 0; i < groupCount; i++) {
+            groups.add(new ArrayList<>());
+        }
+        int next = 0;
+        for (Long doctorId : doctors.keySet()) {
+            groups.get(next++ % groupCount).add(doctorId);
+        }
+        List<CompletableFuture<List<OpenSlotView>>> lookups = groups.stream()
+                .map(doctorIds -> CompletableFuture.supplyAsync(() -> doctorAvailabilityRepository
+                        .findOpenSlots(doctorIds, from, to, fromTime, Limit.of(limit)), lookupExecutor))
+                .toList();
+        // Template slots are expanded only until the first K free ones are found
+        List<OpenSlotView> recurring = RecurringSlots.expand(
+                        availabilityTemplateRepository.findActiveForDoctors(doctors.keySet(), from, to), from, to, limit,
+                        slot -> !(slot.date().equals(from) && slot.startTime().isBefore(fromTime))
+                                && appointmentIntervalIndex.isDoctorFree(slot.doctorId(), slot.date(), slot.startTime(), slot.endTime()))
+                .stream()
+                .map(slot -> new OpenSlotView(null, slot.doctorId(), slot.date(), slot.startTime(), slot.endTime(), slot.templateId()))
+                .sorted(EARLIEST_FIRST)
+                .toList();
+
+        List<List<OpenSlotView>> sortedSlots = new ArrayList<>(lookups.size() + 1);
+        for (CompletableFuture<List<OpenSlotView>> lookup : lookups) {
+            sortedSlots.add(join(lookup));
+        }
+        sortedSlots.add(recurring);
+
+        // Slots that clash with an appointment booked outside the published slots are skipped; that is rare
+        // enough that an occasionally short answer is preferred over a second round of queries. A template slot
+        // that was stored on an earlier booking sorts right after its row and is dropped as a duplicate.
+        Set<String> seen = new HashSet<>();
+        List<OpenSlotView> earliest = KWayMerge.firstK(sortedSlots, EARLIEST_FIRST, limit, slot ->
+                seen.add(slot.doctorId() + "@" + slot.availableDate() + "T" + slot.startTime())
+                        && appointmentIntervalIndex.isDoctorFree(slot.doctorId(), slot.availableDate(), slot.startTime(), slot.endTime()));
+
+        return earliest.stream()
+                .map(slot -> {
+                    Doctor doctor = doctors.get(slot.doctorId());
+                    return new FirstAvailableSlotResponseDTO(slot.availabilityId(), doctor.getDoctorId(), doctor.getDoctorName(),
+                            doctor.getSpecialization(), slot.availableDate(), slot.startTime(), slot.endTime(), slot.templateId());
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CursorPageResponseDTO<DoctorAndAvailabilityResponseDTO> getAvailableDoctor(String doctorName, String specialization,
+                                                                                     LocalDate fromDate, LocalDate toDate,
+                                                                                     String cursor, int size) {
+        return findSlotPage(doctorName, specialization, true, fromDate, toDate, cursor, size);
+    }
+
+    @Override
+    public CursorPageResponseDTO<DoctorAndAvailabilityResponseDTO> searchDoctorByName(String doctorName, String specialization,
+                                                                                     LocalDate fromDate, LocalDate toDate,
+                                                                                     String cursor, int size) {
+        return findSlotPage(doctorName, specialization, false, fromDate, toDate, cursor, size);
+    }
+
+    private CursorPageResponseDTO<DoctorAndAvailabilityResponseDTO> findSlotPage(String doctorName, String specialization,
+                                                                                boolean onlyAvailable, LocalDate fromDate,
+                                                                                LocalDate toDate, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new APIException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDate from = fromDate == null ? LocalDate.now() : fromDate;
+        LocalDate afterDate = null;
+        LocalTime afterTime = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = CursorCodec.decode(cursor, 3);
+            try {
+                afterDate = LocalDate.parse(keys[0]);
+                afterTime = LocalTime.parse(keys[1]);
+                afterId = Long.valueOf(keys[2]);
+            } catch (RuntimeException e) {
+                throw new APIException("Invalid cursor: " + cursor);
+            }
+        }
+        String specializationFilter = specialization == null || specialization.isBlank() ? null : specialization;
+
+        // One extra row tells whether another page exists without a COUNT query
+        List<DoctorAndAvailabilityResponseDTO> rows;
+        NearTermSlotCache.Slice slice = onlyAvailable ? nearTermSlotCache.findOpenSlots(doctorName, specializationFilter,
+                from, toDate, afterDate, afterTime, afterId, size + 1) : null;
+        if (slice == null) {
+            rows = doctorAvailabilityRepository.findSlotPageByDoctorName(doctorName, specializationFilter, onlyAvailable,
+                    from, toDate, afterDate, afterTime, afterId, Limit.of(size + 1));
+        } else {
+            rows = slice.rows();
+            if (slice.resumeFrom() != null) {
+                rows.addAll(doctorAvailabilityRepository.findSlotPageByDoctorName(doctorName, specializationFilter, true,
+                        slice.resumeFrom(), toDate, null, null, null, Limit.of(size + 1 - rows.size())));
+            }
+        }
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = new ArrayList<>(rows.subList(0, size));
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            DoctorAndAvailabilityResponseDTO last = rows.get(rows.size() - 1);
+            nextCursor = CursorCodec.encode(last.getAvailableDate(), last.getStartTime(), last.getAvailabilityId());
+        }
+        return new CursorPageResponseDTO<>(rows, rows.size(), hasNext, nextCursor);
+    }
+
+    private static SlotBitmap dayOf(Map<Long, SlotBitmap[]> bitmaps, Long doctorId, int days, int day) {
+        SlotBitmap[] doctorDays = bitmaps.computeIfAbsent(doctorId, id -> new SlotBitmap[days]);
+        if (doctorDays[day] == null) {
+            doctorDays[day] = new SlotBitmap();
+        }
+        return doctorDays[day];
+    }
+
+    private static List<String> toHex(SlotBitmap[] doctorDays, int days) {
+        List<String> hex = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            hex.add(doctorDays == null || doctorDays[day] == null ? null : doctorDays[day].toHex());
+        }
+        return hex;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Cache patches that must only be seen once the database change is visible to other readers
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,108 @@
+package com.cognizant.hams.service.impl;
+
+import com.cognizant.hams.cache.DoctorDirectoryCache;
+import com.cognizant.hams.dto.response.DoctorFacetSearchResponseDTO;
+import com.cognizant.hams.dto.response.DoctorResponseDTO;
+import com.cognizant.hams.dto.response.FacetCountDTO;
+import com.cognizant.hams.event.DoctorChangedEvent;
+import com.cognizant.hams.exception.APIException;
+import com.cognizant.hams.index.DoctorFacetIndex;
+import com.cognizant.hams.index.DoctorFacetIndex.Facet;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.service.DoctorFacetService;
+import com.cognizant.hams.util.CursorCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Faceted doctor search served from the {@link DoctorFacetIndex}. The aggregate is loaded once at startup
+ * and then follows every doctor change, so a search runs no aggregate SQL; only the listed doctors are
+ * read, through the {@link DoctorDirectoryCache}.
+ */
+@Service
+@RequiredArgsConstructor
+public class DoctorFacetServiceImpl implements DoctorFacetService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final DoctorFacetIndex doctorFacetIndex;
+    private final DoctorRepository doctorRepository;
+    private final DoctorDirectoryCache doctorDirectoryCache;
+
+    @Override
+    public void rebuild() {
+        doctorFacetIndex.load(doctorRepository.findFacetViews());
+    }
+
+    @Override
+    public DoctorFacetSearchResponseDTO search(List<String> specializations, List<String> experienceBands,
+                                               List<String> qualifications, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new APIException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.valueOf(CursorCodec.decode(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new APIException("Invalid cursor: " + cursor);
+            }
+        }
+
+        Map<Facet, List<String>> selection = new EnumMap<>(Facet.class);
+        putIfPresent(selection, Facet.SPECIALIZATION, specializations);
+        putIfPresent(selection, Facet.EXPERIENCE, experienceBands);
+        putIfPresent(selection, Facet.QUALIFICATION, qualifications);
+
+        // One extra id tells whether another page exists
+        DoctorFacetIndex.Result result = doctorFacetIndex.search(selection, afterId, size + 1);
+        int[] ids = result.doctorIds();
+        boolean hasNext = ids.length > size;
+        int listed = Math.min(ids.length, size);
+
+        List<Long> doctorIds = new ArrayList<>(listed);
+        for (int i = 0; i < listed; i++) {
+            doctorIds.add((long) ids[i]);
+        }
+        Map<Long, DoctorResponseDTO> byId = doctorDirectoryCache.getDoctors(doctorIds);
+        List<DoctorResponseDTO> doctors = new ArrayList<>(listed);
+        for (Long doctorId : doctorIds) {
+            DoctorResponseDTO doctor = byId.get(doctorId);
+            // Gone since the aggregate saw it; the delete notification is on its way
+            if (doctor != null) {
+                doctors.add(doctor);
+            }
+        }
+        String nextCursor = hasNext ? CursorCodec.encode(doctorIds.get(doctorIds.size() - 1)) : null;
+        return new DoctorFacetSearchResponseDTO(result.total(), doctors, hasNext, nextCursor,
+                toDto(result.counts().get(Facet.SPECIALIZATION)),
+                toDto(result.counts().get(Facet.EXPERIENCE)),
+                toDto(result.counts().get(Facet.QUALIFICATION)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        doctorRepository.findById(event.doctorId()).ifPresentOrElse(
+                doctor -> doctorFacetIndex.put(doctor.getDoctorId(), doctor.getSpecialization(),
+                        doctor.getYearOfExperience(), doctor.getQualification()),
+                () -> doctorFacetIndex.remove(event.doctorId()));
+    }
+
+    private static void putIfPresent(Map<Facet, List<String>> selection, Facet facet, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            selection.put(facet, values);
+        }
+    }
+
+    private static List<FacetCountDTO> toDto(List<DoctorFacetIndex.Count> counts) {
+        return counts.stream()
+                .map(count -> new FacetCountDTO(count.value(), count.count(), count.selected()))
+                .toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.cognizant.hams.service.impl;
+
+import com.cognizant.hams.cache.DoctorDirectoryCache;
+import com.cognizant.hams.dto.response.DoctorResponseDTO;
+import com.cognizant.hams.dto.response.NearbyDoctorResponseDTO;
+import com.cognizant.hams.event.DoctorChangedEvent;
+import com.cognizant.hams.exception.APIException;
+import com.cognizant.hams.index.DoctorGeoIndex;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.service.DoctorGeoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "Doctors near me" served from the {@link DoctorGeoIndex}. Doctors without a clinic location are not
+ * indexed and so never listed; the index follows every doctor change, and only the doctors found are read,
+ * through the {@link DoctorDirectoryCache}.
+ */
+@Service
+@RequiredArgsConstructor
+public class DoctorGeoServiceImpl implements DoctorGeoService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final DoctorGeoIndex doctorGeoIndex;
+    private final DoctorRepository doctorRepository;
+    private final DoctorDirectoryCache doctorDirectoryCache;
+
+    @Override
+    public void rebuild() {
+        doctorGeoIndex.load(doctorRepository.findGeoViews());
+    }
+
+    @Override
+    public List<NearbyDoctorResponseDTO> findNearest(double latitude, double longitude, String specialization, int limit) {
+        if (latitude < -90 || latitude > 90) {
+            throw new APIException("Latitude must be between -90 and 90");
+        }
+        if (longitude < -180 || longitude > 180) {
+            throw new APIException("Longitude must be between -180 and 180");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new APIException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        String filter = specialization == null || specialization.isBlank() ? null : specialization;
+        List<DoctorGeoIndex.Nearby> nearest = doctorGeoIndex.nearest(latitude, longitude, filter, limit);
+
+        Map<Long, DoctorResponseDTO> byId = doctorDirectoryCache.getDoctors(
+                nearest.stream().map(nearby -> (long) nearby.doctorId()).toList());
+        List<NearbyDoctorResponseDTO> doctors = new ArrayList<>(nearest.size());
+        for (DoctorGeoIndex.Nearby nearby : nearest) {
+            DoctorResponseDTO doctor = byId.get((long) nearby.doctorId());
+            // Gone since the index saw it; the delete notification is on its way
+            if (doctor != null) {
+                doctors.add(new NearbyDoctorResponseDTO(doctor, nearby.latitude(), nearby.longitude(), nearby.distanceKm()));
+            }
+        }
+        return doctors;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        doctorRepository.findById(event.doctorId()).ifPresentOrElse(
+                doctor -> doctorGeoIndex.put(doctor.getDoctorId(), doctor.getSpecialization(),
+                        doctor.getLatitude(), doctor.getLongitude()),
+                () -> doctorGeoIndex.remove(event.doctorId()));
+    }
+}
@@ -1,31 +1,47 @@
 package com.cognizant.hams.service.impl;
 
+import com.cognizant.hams.cache.DoctorDirectoryCache;
 import com.cognizant.hams.dto.request.AdminUserRequestDTO;
 import com.cognizant.hams.dto.request.DoctorDTO;
+import com.cognizant.hams.dto.request.DoctorSort;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
 import com.cognizant.hams.dto.response.DoctorResponseDTO;
 import com.cognizant.hams.entity.Doctor;
 import com.cognizant.hams.entity.User;
+import com.cognizant.hams.event.DoctorChangedEvent;
 import com.cognizant.hams.exception.APIException;
 import com.cognizant.hams.exception.ResourceNotFoundException;
+import com.cognizant.hams.index.DoctorNameBkTree;
+import com.cognizant.hams.index.DoctorSearchIndex;
 import com.cognizant.hams.repository.AppointmentRepository;
 import com.cognizant.hams.repository.DoctorAvailabilityRepository;
 import com.cognizant.hams.repository.DoctorRepository;
 import com.cognizant.hams.repository.UserRepository;
+import com.cognizant.hams.repository.projection.DoctorCardView;
 import com.cognizant.hams.service.DoctorService;
 import com.cognizant.hams.service.NotificationService;
+import com.cognizant.hams.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class DoctorServiceImpl implements DoctorService {
 
+    private static final int SEARCH_CHUNK = 1000;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final DoctorRepository doctorRepository;
 
     private final UserRepository userRepository;
@@ -38,9 +54,22 @@ public class DoctorServiceImpl implements DoctorService {
 
     private final NotificationService notificationService;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final DoctorSearchIndex doctorSearchIndex;
+
+    private final DoctorDirectoryCache doctorDirectoryCache;
+
+    private final DoctorNameBkTree doctorNameBkTree;
+
+    @Value("${hams.doctor-search.fuzzy.max-distance:2}")
+    private int maxFuzzyDistance;
 
     @Override
     public DoctorResponseDTO createDoctor(AdminUserRequestDTO doctorDTO) {
+        if ((doctorDTO.getLatitude() == null) != (doctorDTO.getLongitude() == null)) {
+            throw new APIException("Latitude and longitude must be given together");
+        }
         Doctor doctor = modelMapper.map(doctorDTO,Doctor.class);
         if (doctorRepository.existsByEmailOrContactNumber(doctor.getEmail(), doctor.getContactNumber())) {
             throw new APIException("A doctor with the provided email or contact number already exists.");
@@ -52,6 +81,7 @@ public class DoctorServiceImpl implements DoctorService {
 
         doctor.setUser(user);
         Doctor saveDoctor = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new DoctorChangedEvent(saveDoctor.getDoctorId()));
         return modelMapper.map(saveDoctor,DoctorResponseDTO.class);
     }
 
@@ -72,13 +102,83 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     public List<DoctorResponseDTO> getAllDoctor(){
-        List<Doctor> doctors = doctorRepository.findAll();
-        if(doctors.isEmpty()){
+        return loadDirectory().toList();
+    }
+
+    // The same directory as one pre-serialized JSON array, shared between callers and never modified
+    @Override
+    public byte[] getAllDoctorJson() {
+        return loadDirectory().json();
+    }
+
+    private DoctorDirectoryCache.Directory loadDirectory() {
+        DoctorDirectoryCache.Directory directory = doctorDirectoryCache.getDirectory();
+        if(directory.isEmpty()){
             throw new APIException("No Doctor Available");
         }
-        return doctors.stream()
-                .map(doctor -> modelMapper.map(doctor,DoctorResponseDTO.class))
-                .collect(Collectors.toList());
+        return directory;
+    }
+
+    // One page of the doctor directory; one extra row tells whether another page exists without a COUNT query
+
+    @Override
+    public CursorPageResponseDTO<DoctorResponseDTO> getDoctorPage(DoctorSort sort, String specialization, Integer minExperience,
+                                                                 String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new APIException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        DoctorSort order = sort == null ? DoctorSort.NAME : sort;
+        String filter = specialization == null || specialization.isBlank() ? null : specialization.trim();
+
+        Long afterId = null;
+        String afterKey = null;
+        if (cursor != null && !cursor.isBlank()) {
+            // The cursor carries its sort so it cannot be replayed against another order
+            String[] keys = CursorCodec.decode(cursor, 3);
+            try {
+                if (DoctorSort.valueOf(keys[0]) != order) {
+                    throw new APIException("Cursor was issued for sort " + keys[0] + ", not " + order);
+                }
+                afterId = Long.valueOf(keys[1]);
+                afterKey = keys[2];
+            } catch (IllegalArgumentException e) {
+                throw new APIException("Invalid cursor: " + cursor);
+            }
+        }
+
+        Limit limit = Limit.of(size + 1);
+        List<DoctorCardView> rows;
+        try {
+            rows = switch (order) {
+                case NAME -> doctorRepository.findPageByName(filter, minExperience, afterKey, afterId, limit);
+                case EXPERIENCE -> doctorRepository.findPageByExperience(filter, minExperience,
+                        afterKey == null ? null : Integer.valueOf(afterKey), afterId, limit);
+                case ID -> doctorRepository.findPageById(filter, minExperience, afterId, limit);
+            };
+        } catch (NumberFormatException e) {
+            throw new APIException("Invalid cursor: " + cursor);
+        }
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        List<DoctorResponseDTO> content = new ArrayList<>(rows.size());
+        for (DoctorCardView row : rows) {
+            content.add(new DoctorResponseDTO(row.doctorId(), row.doctorName(), row.specialization(), row.qualification(),
+                    row.clinicAddress(), row.yearOfExperience(), row.email(), row.contactNumber()));
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            DoctorCardView last = rows.get(rows.size() - 1);
+            Object key = switch (order) {
+                case NAME -> last.doctorName();
+                case EXPERIENCE -> last.yearOfExperience();
+                case ID -> last.doctorId();
+            };
+            nextCursor = CursorCodec.encode(order, last.doctorId(), key);
+        }
+        return new CursorPageResponseDTO<>(content, content.size(), hasNext, nextCursor);
     }
 
     // Update Doctor
@@ -109,8 +209,16 @@ public class DoctorServiceImpl implements DoctorService {
         if(doctorDTO.getContactNumber() != null){
             existingDoctor.setContactNumber(doctorDTO.getContactNumber());
         }
+        if(doctorDTO.getLatitude() != null || doctorDTO.getLongitude() != null){
+            if(doctorDTO.getLatitude() == null || doctorDTO.getLongitude() == null){
+                throw new APIException("Latitude and longitude must be given together");
+            }
+            existingDoctor.setLatitude(doctorDTO.getLatitude());
+            existingDoctor.setLongitude(doctorDTO.getLongitude());
+        }
 
         doctorRepository.save(existingDoctor);
+        eventPublisher.publishEvent(new DoctorChangedEvent(doctorId));
         return modelMapper.map(existingDoctor,DoctorResponseDTO.class);
     }
 
@@ -121,6 +229,7 @@ public class DoctorServiceImpl implements DoctorService {
         Doctor existingDoctor = doctorRepository.findByDoctorId(doctorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Doctor","doctorId", doctorId));
         doctorRepository.deleteById(doctorId);
+        eventPublisher.publishEvent(new DoctorChangedEvent(doctorId));
         return modelMapper.map(existingDoctor,DoctorResponseDTO.class);
     }
 
@@ -128,27 +237,58 @@ public class DoctorServiceImpl implements DoctorService {
 
     @Override
     public List<DoctorResponseDTO> searchDoctorsBySpecialization(String specialization) {
-        List<Doctor> doctorSpecialization = doctorRepository.findBySpecializationContainingIgnoreCase(specialization);
-        if(doctorSpecialization == null){
-            throw new ResourceNotFoundException("Doctor","Specialization",specialization);
-        }
-
-        return doctorSpecialization.stream()
-                .map(doctor -> modelMapper.map(doctor,DoctorResponseDTO.class))
-                .collect(Collectors.toList());
+        return findRanked(doctorSearchIndex.searchBySpecialization(specialization));
     }
 
     // Search Doctors By Name
 
     @Override
     public List<DoctorResponseDTO> searchDoctorsByName(String name) {
-        List<Doctor> doctorName = doctorRepository.findByDoctorNameContainingIgnoreCase(name);
-        if(doctorName == null){
-            throw new ResourceNotFoundException("Doctor","Name",name);
+        return findRanked(doctorSearchIndex.searchByName(name));
+    }
+
+    // Search Doctors By Name, tolerating typos
+
+    @Override
+    public List<DoctorResponseDTO> searchDoctorsByNameFuzzy(String name, Integer maxDistance) {
+        int bound = maxDistance == null ? maxFuzzyDistance : maxDistance;
+        if (bound < 0 || bound > maxFuzzyDistance) {
+            throw new APIException("Edit distance must be between 0 and " + maxFuzzyDistance);
         }
+        List<Long> doctorIds = doctorNameBkTree.search(name, bound).stream()
+                .map(match -> (long) match.doctorId())
+                .toList();
+        return findRanked(doctorIds);
+    }
+
+    // Keeps the search indexes in step with the doctors table once the change is committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        doctorRepository.findById(event.doctorId()).ifPresentOrElse(
+                doctor -> {
+                    doctorSearchIndex.put(doctor.getDoctorId(), doctor.getDoctorName(), doctor.getSpecialization());
+                    doctorNameBkTree.put(doctor.getDoctorId(), doctor.getDoctorName());
+                },
+                () -> {
+                    doctorSearchIndex.remove(event.doctorId());
+                    doctorNameBkTree.remove(event.doctorId());
+                });
+    }
 
-        return doctorName.stream()
-                .map(doctor -> modelMapper.map(doctor,DoctorResponseDTO.class))
-                .collect(Collectors.toList());
+    // Looks up the doctors the index matched and keeps the index ranking
+    private List<DoctorResponseDTO> findRanked(List<Long> doctorIds) {
+        List<DoctorResponseDTO> doctors = new ArrayList<>(doctorIds.size());
+        for (int from = 0; from < doctorIds.size(); from += SEARCH_CHUNK) {
+            List<Long> chunk = doctorIds.subList(from, Math.min(from + SEARCH_CHUNK, doctorIds.size()));
+            Map<Long, DoctorResponseDTO> byId = doctorDirectoryCache.getDoctors(chunk);
+            for (Long doctorId : chunk) {
+                DoctorResponseDTO doctor = byId.get(doctorId);
+                // Gone since the index saw it; the delete notification is on its way
+                if (doctor != null) {
+                    doctors.add(doctor);
+                }
+            }
+        }
+        return doctors;
     }
 }
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.cognizant.hams.service.impl;
+
+import com.cognizant.hams.cache.DoctorScheduleCache;
+import com.cognizant.hams.dto.response.DoctorResponseDTO;
+import com.cognizant.hams.dto.response.FreeDoctorsResponseDTO;
+import com.cognizant.hams.event.DoctorChangedEvent;
+import com.cognizant.hams.event.DoctorDayChangedEvent;
+import com.cognizant.hams.exception.APIException;
+import com.cognizant.hams.index.FreeDoctorIndex;
+import com.cognizant.hams.repository.AvailabilityTemplateRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityRepository;
+import com.cognizant.hams.repository.DoctorDaySlotsJdbcRepository;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.repository.projection.DoctorSpecializationView;
+import com.cognizant.hams.repository.projection.SlotStartView;
+import com.cognizant.hams.service.FreeDoctorService;
+import com.cognizant.hams.util.CompressedBitmap;
+import com.cognizant.hams.util.RecurringSlots;
+import com.cognizant.hams.util.SlotBitmap;
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the {@link FreeDoctorIndex} for today and the next {@value #WINDOW_DAYS} - 1 days. It is built in
+ * doctor id chunks at startup and every night, and each change notification then recomputes the one
+ * doctor-day it names from the {@link DoctorScheduleCache}, so both always agree on what is free.
+ */
+@Service
+@RequiredArgsConstructor
+public class FreeDoctorServiceImpl implements FreeDoctorService {
+
+    public static final int WINDOW_DAYS = 14;
+    private static final int DOCTOR_CHUNK = 100;
+    private static final int MAX_LIMIT = 100;
+
+    private final FreeDoctorIndex freeDoctorIndex;
+    private final DoctorRepository doctorRepository;
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final AvailabilityTemplateRepository availabilityTemplateRepository;
+    private final DoctorDaySlotsJdbcRepository doctorDaySlotsJdbcRepository;
+    private final DoctorScheduleCache doctorScheduleCache;
+    private final ModelMapper modelMapper;
+
+    // Days changed while a build was reading them, recomputed once it is done
+    private final Set<DayKey> changedWhileBuilding = ConcurrentHashMap.newKeySet();
+    private volatile boolean building;
+    private volatile LocalDate firstDay;
+
+    @Override
+    @Scheduled(cron = "${hams.free-doctor-index.rebuild-cron:0 10 0 * * *}")
+    public synchronized void rebuild() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(WINDOW_DAYS - 1L);
+        changedWhileBuilding.clear();
+        building = true;
+        try {
+            Long afterId = 0L;
+            List<Long> chunk;
+            while (!(chunk = doctorRepository.findIdsAfter(afterId, Limit.of(DOCTOR_CHUNK))).isEmpty()) {
+                for (DoctorSpecializationView doctor : doctorRepository.findSpecializations(chunk)) {
+                    freeDoctorIndex.setSpecialization(doctor.doctorId(), doctor.specialization());
+                }
+                Map<DayKey, SlotBitmap> free = build(chunk, from, to);
+                SlotBitmap none = new SlotBitmap();
+                for (Long doctorId : chunk) {
+                    for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                        freeDoctorIndex.setFree(doctorId, date, free.getOrDefault(new DayKey(doctorId, date), none));
+                    }
+                }
+                afterId = chunk.get(chunk.size() - 1);
+            }
+            freeDoctorIndex.evictBefore(from);
+            firstDay = from;
+        } finally {
+            building = false;
+        }
+        for (DayKey day : changedWhileBuilding) {
+            refresh(day.doctorId(), day.date());
+        }
+    }
+
+    @Override
+    public FreeDoctorsResponseDTO findFreeDoctors(LocalDate date, LocalTime time, String specialization, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new APIException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        LocalDate day = date == null ? LocalDate.now() : date;
+        LocalTime at = time == null ? LocalTime.now() : time;
+        LocalDate first = firstDay;
+        if (first == null || day.isBefore(LocalDate.now()) || !day.isBefore(first.plusDays(WINDOW_DAYS))) {
+            throw new APIException("Free doctors can only be looked up for today and the next " + (WINDOW_DAYS - 1) + " days.");
+        }
+        int slot = SlotBitmap.startSlot(at);
+        CompressedBitmap doctorIds = freeDoctorIndex.freeDoctors(day, slot,
+                specialization == null || specialization.isBlank() ? null : specialization);
+
+        List<Long> listed = Arrays.stream(doctorIds.first(limit)).mapToObj(Long::valueOf).toList();
+        List<DoctorResponseDTO> doctors = doctorRepository.findAllById(listed).stream()
+                .map(doctor -> modelMapper.map(doctor, DoctorResponseDTO.class))
+                .sorted(Comparator.comparing(DoctorResponseDTO::getDoctorId))
+                .toList();
+        return new FreeDoctorsResponseDTO(day, SlotBitmap.slotStart(slot), SlotBitmap.SLOT_MINUTES,
+                doctorIds.cardinality(), doctors);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorDayChanged(DoctorDayChangedEvent event) {
+        LocalDate first = firstDay;
+        if (first == null && !building) {
+            return;
+        }
+        if (event.date() != null) {
+            changed(event.doctorId(), event.date());
+            return;
+        }
+        // A template change can touch any day of the window
+        LocalDate from = first == null ? LocalDate.now() : first;
+        for (LocalDate date = from; date.isBefore(from.plusDays(WINDOW_DAYS)); date = date.plusDays(1)) {
+            changed(event.doctorId(), date);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        doctorRepository.findById(event.doctorId()).ifPresentOrElse(
+                doctor -> freeDoctorIndex.setSpecialization(doctor.getDoctorId(), doctor.getSpecialization()),
+                () -> freeDoctorIndex.removeDoctor(event.doctorId()));
+    }
+
+    private void changed(Long doctorId, LocalDate date) {
+        if (building) {
+            changedWhileBuilding.add(new DayKey(doctorId, date));
+        }
+        LocalDate first = firstDay;
+        if (first != null && !date.isBefore(first) && date.isBefore(first.plusDays(WINDOW_DAYS))) {
+            refresh(doctorId, date);
+        }
+    }
+
+    private void refresh(Long doctorId, LocalDate date) {
+        freeDoctorIndex.setFree(doctorId, date, doctorScheduleCache.getFreeSlots(doctorId, date));
+    }
+
+    /**
+     * Free slots of a chunk of doctors with set-based reads only: published ranges plus template slots not
+     * yet stored as rows, minus active appointments. Matches what {@link DoctorScheduleCache} derives for a
+     * single day.
+     */
+    private Map<DayKey, SlotBitmap> build(List<Long> doctorIds, LocalDate from, LocalDate to) {
+        Map<DayKey, SlotBitmap> free = new HashMap<>();
+        Long firstId = doctorIds.get(0);
+        Long lastId = doctorIds.get(doctorIds.size() - 1);
+        doctorDaySlotsJdbcRepository.forEachAvailableRange(firstId, lastId, from, to, range ->
+                free.computeIfAbsent(new DayKey(range.doctorId(), range.date()), key -> new SlotBitmap())
+                        .set(range.startTime(), range.endTime()));
+
+        Set<SlotStartView> stored = new HashSet<>(doctorAvailabilityRepository.findSlotStarts(doctorIds, from, to));
+        List<RecurringSlots.Slot> recurring = RecurringSlots.expand(
+                availabilityTemplateRepository.findActiveForDoctors(doctorIds, from, to), from, to, Integer.MAX_VALUE,
+                slot -> !stored.contains(new SlotStartView(slot.doctorId(), slot.date(), slot.startTime())));
+        for (RecurringSlots.Slot slot : recurring) {
+            free.computeIfAbsent(new DayKey(slot.doctorId(), slot.date()), key -> new SlotBitmap())
+                    .set(slot.startTime(), slot.endTime());
+        }
+
+        doctorDaySlotsJdbcRepository.forEachBookedRange(firstId, lastId, from, to, range -> {
+            SlotBitmap day = free.get(new DayKey(range.doctorId(), range.date()));
+            if (day != null) {
+                day.clear(SlotBitmap.startSlot(range.startTime()), SlotBitmap.endSlot(range.endTime()));
+            }
+        });
+        return free;
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+}
@@ -4,59 +4,110 @@ import com.cognizant.hams.dto.response.NotificationResponseDTO;
 import com.cognizant.hams.entity.Appointment;
 import com.cognizant.hams.entity.Doctor;
 import com.cognizant.hams.entity.Notification;
+import com.cognizant.hams.entity.NotificationOutboxEvent;
 import com.cognizant.hams.entity.Patient;
 import com.cognizant.hams.exception.ResourceNotFoundException;
+import com.cognizant.hams.repository.AppointmentRepository;
 import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.repository.NotificationJdbcRepository;
+import com.cognizant.hams.repository.NotificationOutboxJdbcRepository;
 import com.cognizant.hams.repository.NotificationRepository;
 import com.cognizant.hams.repository.PatientRepository;
 import com.cognizant.hams.service.NotificationService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationServiceImpl.class);
+
     private final NotificationRepository notificationRepository;
     private final ModelMapper modelMapper;
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
+    private final NotificationJdbcRepository notificationJdbcRepository;
+    private final NotificationOutboxJdbcRepository notificationOutboxJdbcRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    // The notify methods only record the rendered notification, in the caller's transaction; the dispatcher sends it
 
     @Override
     public void notifyDoctorOnAppointmentRequest(Appointment appointment) {
-        Notification notification = new Notification();
-        notification.setAppointment(appointment);
-        notification.setRecipientType(Notification.RecipientType.DOCTOR);
-        notification.setRecipientId(appointment.getDoctor().getDoctorId());
-        notification.setTitle("New appointment request");
-        notification.setMessage("Patient " + appointment.getPatient().getName() +
-                " request an appointment on " + appointment.getAppointmentDate() +
-                " from " + appointment.getStartTime() + " to " + appointment.getEndTime());
-        notificationRepository.save(notification);
+        notifyDoctorsOnAppointmentRequests(List.of(appointment));
+    }
+
+    @Override
+    public void notifyDoctorsOnAppointmentRequests(List<Appointment> appointments) {
+        enqueue(appointments, NotificationOutboxEvent.Type.APPOINTMENT_REQUESTED, this::appointmentRequestNotification);
     }
 
     @Override
     public void notifyPatientOnAppointmentDecision(Appointment appointment,
                                                    boolean confirmed, String reason) {
-        Notification notification = new Notification();
-        notification.setAppointment(appointment);
-        notification.setRecipientType(Notification.RecipientType.PATIENT);
-        notification.setRecipientId(appointment.getPatient().getPatientId());
-        notification.setTitle(confirmed ? "Appointment confirmed" : "Appointment rejected");
-        String message = confirmed ? "Your appointment with Dr. " + appointment.getDoctor()
-                .getDoctorName() + " on " + appointment.getAppointmentDate() + " is confirmed." :
-                "Your appointment with Dr. " + appointment.getDoctor().getDoctorName() + " on " +
-                        appointment.getAppointmentDate() + " was rejected. Reason: " +
-                        (reason == null ? "N/A" : reason);
-        notification.setMessage(message);
-        notificationRepository.save(notification);
+        notifyPatientsOnAppointmentDecisions(List.of(appointment), confirmed, reason);
+    }
+
+    @Override
+    public void notifyPatientsOnAppointmentDecisions(List<Appointment> appointments,
+                                                     boolean confirmed, String reason) {
+        if (confirmed) {
+            enqueue(appointments, NotificationOutboxEvent.Type.APPOINTMENT_CONFIRMED,
+                    appointment -> appointmentDecisionNotification(appointment, true, null));
+        } else {
+            enqueue(appointments, NotificationOutboxEvent.Type.APPOINTMENT_REJECTED,
+                    appointment -> appointmentDecisionNotification(appointment, false, reason));
+        }
+    }
+
+    @Override
+    public void notifyPatientsOnAppointmentExpiry(List<Appointment> appointments) {
+        enqueue(appointments, NotificationOutboxEvent.Type.APPOINTMENT_EXPIRED, this::appointmentExpiryNotification);
+    }
+
+    @Override
+    public void notifyPatientOnWaitlistPromotion(Appointment appointment) {
+        enqueue(List.of(appointment), NotificationOutboxEvent.Type.WAITLIST_PROMOTED, this::waitlistPromotionNotification);
+    }
+
+    @Override
+    public void deliverOutboxEvents(List<NotificationOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Set<Long> delivered = new HashSet<>(notificationRepository.findDeliveredOutboxEventIds(
+                events.stream().map(NotificationOutboxEvent::getId).toList()));
+        Set<Long> existing = new HashSet<>(appointmentRepository.findExistingIds(
+                events.stream().map(NotificationOutboxEvent::getAppointmentId).collect(Collectors.toSet())));
+
+        List<Notification> notifications = new ArrayList<>(events.size());
+        for (NotificationOutboxEvent event : events) {
+            if (delivered.contains(event.getId())) {
+                continue;
+            }
+            // A notification has to point at its appointment; once that is gone, retrying cannot help
+            if (!existing.contains(event.getAppointmentId())) {
+                LOGGER.warn("Dropped notification outbox event {}: appointment {} no longer exists",
+                        event.getId(), event.getAppointmentId());
+                continue;
+            }
+            notifications.add(toNotification(event));
+        }
+        notificationJdbcRepository.insertAll(notifications);
     }
 
     @Override
@@ -104,6 +155,78 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
+    private void enqueue(List<Appointment> appointments, NotificationOutboxEvent.Type type,
+                         Function<Appointment, Notification> render) {
+        notificationOutboxJdbcRepository.insertAll(appointments.stream()
+                .map(appointment -> new NotificationOutboxEvent(type, render.apply(appointment)))
+                .toList());
+    }
+
+    private Notification toNotification(NotificationOutboxEvent event) {
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentId(event.getAppointmentId());
+        Notification notification = new Notification();
+        notification.setAppointment(appointment);
+        notification.setRecipientType(event.getRecipientType());
+        notification.setRecipientId(event.getRecipientId());
+        notification.setTitle(event.getTitle());
+        notification.setMessage(event.getMessage());
+        notification.setOutboxEventId(event.getId());
+        // Dated when it happened, not when it was sent
+        notification.setCreatedAt(event.getCreatedAt());
+        return notification;
+    }
+
+    private Notification appointmentRequestNotification(Appointment appointment) {
+        Notification notification = new Notification();
+        notification.setAppointment(appointment);
+        notification.setRecipientType(Notification.RecipientType.DOCTOR);
+        notification.setRecipientId(appointment.getDoctor().getDoctorId());
+        notification.setTitle("New appointment request");
+        notification.setMessage("Patient " + appointment.getPatient().getName() +
+                " request an appointment on " + appointment.getAppointmentDate() +
+                " from " + appointment.getStartTime() + " to " + appointment.getEndTime());
+        return notification;
+    }
+
+    private Notification appointmentDecisionNotification(Appointment appointment, boolean confirmed, String reason) {
+        Notification notification = new Notification();
+        notification.setAppointment(appointment);
+        notification.setRecipientType(Notification.RecipientType.PATIENT);
+        notification.setRecipientId(appointment.getPatient().getPatientId());
+        notification.setTitle(confirmed ? "Appointment confirmed" : "Appointment rejected");
+        String message = confirmed ? "Your appointment with Dr. " + appointment.getDoctor()
+                .getDoctorName() + " on " + appointment.getAppointmentDate() + " is confirmed." :
+                "Your appointment with Dr. " + appointment.getDoctor().getDoctorName() + " on " +
+                        appointment.getAppointmentDate() + " was rejected. Reason: " +
+                        (reason == null ? "N/A" : reason);
+        notification.setMessage(message);
+        return notification;
+    }
+
+    private Notification appointmentExpiryNotification(Appointment appointment) {
+        Notification notification = new Notification();
+        notification.setAppointment(appointment);
+        notification.setRecipientType(Notification.RecipientType.PATIENT);
+        notification.setRecipientId(appointment.getPatient().getPatientId());
+        notification.setTitle("Appointment expired");
+        notification.setMessage("Your appointment request with Dr. " + appointment.getDoctor().getDoctorName() +
+                " on " + appointment.getAppointmentDate() + " expired without being confirmed.");
+        return notification;
+    }
+
+    private Notification waitlistPromotionNotification(Appointment appointment) {
+        Notification notification = new Notification();
+        notification.setAppointment(appointment);
+        notification.setRecipientType(Notification.RecipientType.PATIENT);
+        notification.setRecipientId(appointment.getPatient().getPatientId());
+        notification.setTitle("Waitlist slot available");
+        notification.setMessage("A slot with Dr. " + appointment.getDoctor().getDoctorName() + " on " +
+                appointment.getAppointmentDate() + " from " + appointment.getStartTime() + " to " +
+                appointment.getEndTime() + " has been requested for you and is awaiting confirmation.");
+        return notification;
+    }
+
     private NotificationResponseDTO mapToDTO(Notification notification) {
         NotificationResponseDTO dto = modelMapper.map(notification, NotificationResponseDTO.class);
         if (notification.getAppointment() != null) {
@@ -1,6 +1,8 @@
 package com.cognizant.hams.service.impl;
 
+import com.cognizant.hams.dto.request.DoctorSort;
 import com.cognizant.hams.dto.request.PatientDTO;
+import com.cognizant.hams.dto.response.CursorPageResponseDTO;
 import com.cognizant.hams.dto.response.DoctorResponseDTO;
 import com.cognizant.hams.dto.response.PatientResponseDTO;
 import com.cognizant.hams.entity.Patient;
@@ -106,12 +108,28 @@ public class PatientServiceImpl implements PatientService {
         return doctorService.getAllDoctor();
     }
 
+    @Override
+    public byte[] getAllDoctorsJson() {
+        return doctorService.getAllDoctorJson();
+    }
+
+    @Override
+    public CursorPageResponseDTO<DoctorResponseDTO> getDoctorPage(DoctorSort sort, String specialization, Integer minExperience,
+                                                                 String cursor, int size) {
+        return doctorService.getDoctorPage(sort, specialization, minExperience, cursor, size);
+    }
+
 
     @Override
     public List<DoctorResponseDTO> searchDoctorByName(String name) {
         return doctorService.searchDoctorsByName(name);
     }
 
+    @Override
+    public List<DoctorResponseDTO> searchDoctorByNameFuzzy(String name, Integer maxDistance) {
+        return doctorService.searchDoctorsByNameFuzzy(name, maxDistance);
+    }
+
     @Override
     public List<DoctorResponseDTO> searchDoctorBySpecialization(String specialization) {
         return doctorService.searchDoctorsBySpecialization(specialization);
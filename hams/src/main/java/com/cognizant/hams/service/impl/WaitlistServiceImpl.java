@@ -0,0 +1,235 @@
+package com.cognizant.hams.service.impl;
+
+import com.cognizant.hams.cache.DoctorScheduleCache;
+import com.cognizant.hams.dto.request.WaitlistRequestDTO;
+import com.cognizant.hams.dto.response.WaitlistEntryResponseDTO;
+import com.cognizant.hams.entity.Appointment;
+import com.cognizant.hams.entity.AppointmentStatus;
+import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.entity.Patient;
+import com.cognizant.hams.entity.WaitlistEntry;
+import com.cognizant.hams.entity.WaitlistStatus;
+import com.cognizant.hams.event.AppointmentSlotFreedEvent;
+import com.cognizant.hams.exception.APIException;
+import com.cognizant.hams.exception.ResourceNotFoundException;
+import com.cognizant.hams.index.AppointmentIntervalIndex;
+import com.cognizant.hams.index.AppointmentSlot;
+import com.cognizant.hams.index.WaitlistQueues;
+import com.cognizant.hams.repository.AppointmentRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityRepository;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.repository.PatientRepository;
+import com.cognizant.hams.repository.WaitlistEntryRepository;
+import com.cognizant.hams.service.NotificationService;
+import com.cognizant.hams.service.WaitlistService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+
+    private enum Outcome {
+        PROMOTED,
+        // The entry was withdrawn or handled elsewhere since it was queued
+        STALE,
+        // The patient has another appointment at that time; they keep their place for the next slot
+        PATIENT_BUSY,
+        // Someone else booked the freed range first
+        SLOT_TAKEN
+    }
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final WaitlistQueues waitlistQueues;
+    private final DoctorRepository doctorRepository;
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final DoctorScheduleCache doctorScheduleCache;
+    private final NotificationService notificationService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    @Transactional
+    public WaitlistEntryResponseDTO joinWaitlist(WaitlistRequestDTO waitlistRequestDTO) {
+        Patient patient = currentPatient();
+        Doctor doctor = doctorRepository.findById(waitlistRequestDTO.getDoctorId())
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor", "Id", waitlistRequestDTO.getDoctorId()));
+
+        if (waitlistEntryRepository.existsByDoctor_DoctorIdAndPatient_PatientIdAndWaitlistDateAndStatus(doctor.getDoctorId(),
+                patient.getPatientId(), waitlistRequestDTO.getWaitlistDate(), WaitlistStatus.WAITING)) {
+            throw new APIException("You are already on Dr. " + doctor.getDoctorName() + "'s waitlist for " + waitlistRequestDTO.getWaitlistDate());
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setDoctor(doctor);
+        entry.setPatient(patient);
+        entry.setWaitlistDate(waitlistRequestDTO.getWaitlistDate());
+        entry.setReason(waitlistRequestDTO.getReason());
+        entry.setStatus(WaitlistStatus.WAITING);
+        WaitlistEntry saved = waitlistEntryRepository.save(entry);
+        waitlistQueues.enqueue(doctor.getDoctorId(), saved.getWaitlistDate(), saved.getWaitlistEntryId());
+        return toResponse(saved);
+    }
+
+    @Override
+    public List<WaitlistEntryResponseDTO> getWaitlistForPatient() {
+        Patient patient = currentPatient();
+        return waitlistEntryRepository
+                .findByPatient_PatientIdAndWaitlistDateGreaterThanEqualOrderByWaitlistDateAscWaitlistEntryIdAsc(
+                        patient.getPatientId(), LocalDate.now())
+                .stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public WaitlistEntryResponseDTO leaveWaitlist(Long waitlistEntryId) {
+        Patient patient = currentPatient();
+        WaitlistEntry entry = waitlistEntryRepository.findById(waitlistEntryId)
+                .orElseThrow(() -> new ResourceNotFoundException("WaitlistEntry", "Id", waitlistEntryId));
+        if (!entry.getPatient().getPatientId().equals(patient.getPatientId())) {
+            throw new AccessDeniedException("You are not authorized to modify this waitlist entry.");
+        }
+
+        WaitlistEntryResponseDTO response = toResponse(entry);
+        if (waitlistEntryRepository.transitionStatus(waitlistEntryId, WaitlistStatus.WAITING, WaitlistStatus.WITHDRAWN) == 0) {
+            throw new APIException("Waitlist entry cannot be withdrawn as it is already " + entry.getStatus());
+        }
+        waitlistQueues.remove(response.getDoctorId(), response.getWaitlistDate(), waitlistEntryId);
+        response.setStatus(WaitlistStatus.WITHDRAWN);
+        response.setPosition(null);
+        return response;
+    }
+
+    /**
+     * Books the freed range for the first patient in the doctor's queue for that day. Runs once the
+     * cancel/reject has committed, each attempt in its own transaction so a failed promotion never
+     * undoes the cancellation that triggered it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotFreed(AppointmentSlotFreedEvent event) {
+        if (event.appointmentDate().isBefore(LocalDate.now())) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<Long> passedOver = new ArrayList<>();
+        try {
+            Long waitlistEntryId;
+            while ((waitlistEntryId = waitlistQueues.poll(event.doctorId(), event.appointmentDate())) != null) {
+                Long candidate = waitlistEntryId;
+                AppointmentSlot[] reserved = new AppointmentSlot[1];
+                Appointment[] promoted = new Appointment[1];
+                Outcome outcome;
+                try {
+                    outcome = transaction.execute(status -> {
+                        Outcome result = promote(candidate, event, reserved, promoted);
+                        if (result != Outcome.PROMOTED) {
+                            status.setRollbackOnly();
+                        }
+                        return result;
+                    });
+                } catch (RuntimeException e) {
+                    // Rolled back, so the entry is WAITING again and keeps its place
+                    if (reserved[0] != null) {
+                        appointmentIntervalIndex.release(reserved[0]);
+                    }
+                    passedOver.add(candidate);
+                    LOGGER.warn("Could not promote waitlist entry {}", candidate, e);
+                    return;
+                }
+                if (outcome == Outcome.PROMOTED) {
+                    doctorScheduleCache.onAppointmentSaved(promoted[0]);
+                    return;
+                }
+                if (outcome == Outcome.SLOT_TAKEN) {
+                    passedOver.add(candidate);
+                    return;
+                }
+                if (outcome == Outcome.PATIENT_BUSY) {
+                    passedOver.add(candidate);
+                }
+            }
+        } finally {
+            waitlistQueues.requeueFirst(event.doctorId(), event.appointmentDate(), passedOver);
+        }
+    }
+
+    private Outcome promote(Long waitlistEntryId, AppointmentSlotFreedEvent event,
+                            AppointmentSlot[] reserved, Appointment[] promoted) {
+        if (waitlistEntryRepository.transitionStatus(waitlistEntryId, WaitlistStatus.WAITING, WaitlistStatus.PROMOTED) == 0) {
+            return Outcome.STALE;
+        }
+        WaitlistEntry entry = waitlistEntryRepository.findById(waitlistEntryId)
+                .orElseThrow(() -> new ResourceNotFoundException("WaitlistEntry", "Id", waitlistEntryId));
+
+        Appointment appointment = new Appointment();
+        appointment.setDoctor(entry.getDoctor());
+        appointment.setPatient(entry.getPatient());
+        appointment.setAppointmentDate(event.appointmentDate());
+        appointment.setStartTime(event.startTime());
+        appointment.setEndTime(event.endTime());
+        appointment.setReason(entry.getReason());
+        appointment.setStatus(AppointmentStatus.PENDING);
+        appointment.setActiveSlot(Boolean.TRUE);
+
+        AppointmentSlot slot = AppointmentSlot.of(appointment);
+        AppointmentIntervalIndex.Conflict conflict = appointmentIntervalIndex.tryReserve(slot);
+        if (conflict == AppointmentIntervalIndex.Conflict.DOCTOR) {
+            return Outcome.SLOT_TAKEN;
+        }
+        if (conflict == AppointmentIntervalIndex.Conflict.PATIENT) {
+            return Outcome.PATIENT_BUSY;
+        }
+        reserved[0] = slot;
+
+        if (event.availabilityId() != null && doctorAvailabilityRepository.claimSlot(event.availabilityId(),
+                event.doctorId(), event.appointmentDate(), event.startTime(), event.endTime()) == 1) {
+            appointment.setAvailability(doctorAvailabilityRepository.getReferenceById(event.availabilityId()));
+        }
+        Appointment saved = appointmentRepository.save(appointment);
+        waitlistEntryRepository.attachAppointment(waitlistEntryId, saved);
+        notificationService.notifyDoctorOnAppointmentRequest(saved);
+        notificationService.notifyPatientOnWaitlistPromotion(saved);
+        promoted[0] = saved;
+        return Outcome.PROMOTED;
+    }
+
+    private Patient currentPatient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String currentUsername = authentication.getName();
+
+        return (Patient) patientRepository.findByUser_Username(currentUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient", "username", currentUsername));
+    }
+
+    private WaitlistEntryResponseDTO toResponse(WaitlistEntry entry) {
+        Long doctorId = entry.getDoctor().getDoctorId();
+        Integer position = entry.getStatus() == WaitlistStatus.WAITING
+                ? waitlistQueues.position(doctorId, entry.getWaitlistDate(), entry.getWaitlistEntryId()) : null;
+        return new WaitlistEntryResponseDTO(entry.getWaitlistEntryId(), doctorId, entry.getDoctor().getDoctorName(),
+                entry.getWaitlistDate(), entry.getStatus(), position,
+                entry.getAppointment() == null ? null : entry.getAppointment().getAppointmentId(), entry.getCreatedAt());
+    }
+}
@@ -0,0 +1,167 @@
+package com.cognizant.hams.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Reads availability slots from a CSV or NDJSON body one line at a time, so an import never holds more
+ * than the current line of its input.
+ *
+ * <p>CSV lines are {@code doctorId,availableDate,startTime,endTime[,available]}; a first line that does
+ * not start with a digit is taken as the header. NDJSON lines are objects with the same field names.
+ * Blank lines are skipped; malformed lines come back with an error instead of stopping the import.
+ */
+public final class AvailabilityImportReader implements Closeable {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    public record Line(long number, Long doctorId, LocalDate availableDate, LocalTime startTime, LocalTime endTime,
+                       boolean available, String error) {
+
+        static Line failed(long number, String error) {
+            return new Line(number, null, null, null, null, false, error);
+        }
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+
+    public AvailabilityImportReader(Reader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    // The next non-blank line, or null at the end of the input
+    public Line next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            lineNumber++;
+            text = text.strip();
+            if (text.isEmpty()) {
+                continue;
+            }
+            if (format == Format.CSV && lineNumber == 1 && !Character.isDigit(text.charAt(0))) {
+                continue;
+            }
+            return format == Format.CSV ? parseCsv(text) : parseJson(text);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Line parseCsv(String text) {
+        String[] fields = text.split(",", -1);
+        if (fields.length != 4 && fields.length != 5) {
+            return Line.failed(lineNumber, "Expected 4 or 5 comma-separated fields but found " + fields.length);
+        }
+        return parse(fields[0], fields[1], fields[2], fields[3], fields.length == 5 ? fields[4] : null);
+    }
+
+    private Line parseJson(String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            return Line.failed(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return Line.failed(lineNumber, "Expected a JSON object");
+        }
+        return parse(text(node, "doctorId"), text(node, "availableDate"), text(node, "startTime"),
+                text(node, "endTime"), text(node, "available"));
+    }
+
+    private Line parse(String doctorId, String availableDate, String startTime, String endTime, String available) {
+        if (isBlank(doctorId) || isBlank(availableDate) || isBlank(startTime) || isBlank(endTime)) {
+            return Line.failed(lineNumber, "doctorId, availableDate, startTime and endTime are required");
+        }
+        Long id;
+        try {
+            id = Long.valueOf(doctorId.strip());
+        } catch (NumberFormatException e) {
+            return Line.failed(lineNumber, "Invalid doctorId: " + doctorId.strip());
+        }
+        String value = availableDate.strip();
+        try {
+            LocalDate date = parseDate(value);
+            value = startTime.strip();
+            LocalTime start = parseTime(value);
+            value = endTime.strip();
+            LocalTime end = parseTime(value);
+            return new Line(lineNumber, id, date, start, end, isBlank(available) || Boolean.parseBoolean(available.strip()), null);
+        } catch (DateTimeException e) {
+            return Line.failed(lineNumber, "Invalid date or time: " + value);
+        }
+    }
+
+    // yyyy-MM-dd is read field by field; the general ISO parser is several times slower per line
+    private static LocalDate parseDate(String value) {
+        if (value.length() == 10 && value.charAt(4) == '-' && value.charAt(7) == '-') {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 7);
+            int day = digits(value, 8, 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(value);
+    }
+
+    // HH:mm or HH:mm:ss, the same way
+    private static LocalTime parseTime(String value) {
+        if ((value.length() == 5 || value.length() == 8 && value.charAt(5) == ':') && value.charAt(2) == ':') {
+            int hour = digits(value, 0, 2);
+            int minute = digits(value, 3, 5);
+            int second = value.length() == 8 ? digits(value, 6, 8) : 0;
+            if (hour >= 0 && minute >= 0 && second >= 0) {
+                return LocalTime.of(hour, minute, second);
+            }
+        }
+        return LocalTime.parse(value);
+    }
+
+    // The non-negative number in value[from, to), or -1 if a character is not a digit
+    private static int digits(String value, int from, int to) {
+        int number = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,46 @@
+package com.cognizant.hams.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Merges already-sorted lists through a heap holding one head per list, so taking the first K
+ * elements costs O(K log L) for L lists regardless of how long the lists are.
+ */
+public final class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    /**
+     * Returns up to {@code limit} elements in {@code order}, skipping those {@code accept} rejects.
+     * Every input list must already be sorted by {@code order}.
+     */
+    public static <T> List<T> firstK(List<List<T>> sortedLists, Comparator<? super T> order, int limit, Predicate<? super T> accept) {
+        // Each heap entry is {list, position}; only the current head of every list is ever in the heap
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, sortedLists.size()),
+                (a, b) -> order.compare(sortedLists.get(a[0]).get(a[1]), sortedLists.get(b[0]).get(b[1])));
+        for (int i = 0; i < sortedLists.size(); i++) {
+            if (!sortedLists.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+
+        List<T> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<T> list = sortedLists.get(head[0]);
+            T element = list.get(head[1]);
+            if (accept.test(element)) {
+                merged.add(element);
+            }
+            if (++head[1] < list.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+}
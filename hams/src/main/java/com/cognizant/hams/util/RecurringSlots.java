@@ -0,0 +1,82 @@
+package com.cognizant.hams.util;
+
+import com.cognizant.hams.entity.AvailabilityTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Expands weekly {@link AvailabilityTemplate}s into concrete slots, one day at a time and only as far
+ * as the caller needs.
+ */
+public final class RecurringSlots {
+
+    public record Slot(Long templateId, Long doctorId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+    }
+
+    private RecurringSlots() {
+    }
+
+    /**
+     * Slots of the given templates between {@code fromDate} and {@code toDate} inclusive, ordered by date
+     * and start time. Expansion stops as soon as {@code limit} slots passed {@code accept}.
+     */
+    public static List<Slot> expand(List<AvailabilityTemplate> templates, LocalDate fromDate, LocalDate toDate,
+                                    int limit, Predicate<Slot> accept) {
+        List<Slot> slots = new ArrayList<>();
+        List<Slot> day = new ArrayList<>();
+        for (LocalDate date = fromDate; !date.isAfter(toDate) && slots.size() < limit; date = date.plusDays(1)) {
+            day.clear();
+            for (AvailabilityTemplate template : templates) {
+                if (appliesOn(template, date)) {
+                    addSlots(template, date, day);
+                }
+            }
+            day.sort(Comparator.comparing(Slot::startTime));
+            for (Slot slot : day) {
+                if (slots.size() == limit) {
+                    break;
+                }
+                if (accept.test(slot)) {
+                    slots.add(slot);
+                }
+            }
+        }
+        return slots;
+    }
+
+    // Whether the template yields exactly this slot on this date
+    public static boolean yields(AvailabilityTemplate template, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (!appliesOn(template, date) || startTime.isBefore(template.getStartTime())
+                || endTime.isAfter(template.getEndTime())) {
+            return false;
+        }
+        long offset = Duration.between(template.getStartTime(), startTime).toMinutes();
+        return offset % template.getSlotMinutes() == 0 && startTime.plusMinutes(template.getSlotMinutes()).equals(endTime);
+    }
+
+    private static boolean appliesOn(AvailabilityTemplate template, LocalDate date) {
+        return date.getDayOfWeek() == template.getDayOfWeek()
+                && !date.isBefore(template.getValidFrom())
+                && (template.getValidTo() == null || !date.isAfter(template.getValidTo()))
+                && !template.getExceptionDates().contains(date);
+    }
+
+    private static void addSlots(AvailabilityTemplate template, LocalDate date, List<Slot> out) {
+        LocalTime start = template.getStartTime();
+        while (true) {
+            LocalTime end = start.plusMinutes(template.getSlotMinutes());
+            // The second check stops a window that ends at midnight from wrapping around
+            if (end.isAfter(template.getEndTime()) || !end.isAfter(start)) {
+                return;
+            }
+            out.add(new Slot(template.getTemplateId(), template.getDoctor().getDoctorId(), date, start, end));
+            start = end;
+        }
+    }
+}
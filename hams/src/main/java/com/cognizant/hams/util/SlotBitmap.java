@@ -0,0 +1,139 @@
+package com.cognizant.hams.util;
+
+import java.time.LocalTime;
+
+/**
+ * One day split into fixed 15-minute slots (96 per day), stored as two 64-bit words.
+ * Slot {@code i} is bit {@code i % 64} of word {@code i / 64}.
+ */
+public final class SlotBitmap {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS = (SLOTS_PER_DAY + 63) / 64;
+    // Stored form: two 48-bit words, so both columns stay non-negative in a signed BIGINT
+    private static final int STORED_WORD_BITS = 48;
+    private static final long STORED_WORD_MASK = (1L << STORED_WORD_BITS) - 1;
+
+    private final long[] words;
+
+    public SlotBitmap() {
+        this.words = new long[WORDS];
+    }
+
+    private SlotBitmap(long[] words) {
+        this.words = words;
+    }
+
+    public static SlotBitmap of(long low, long high) {
+        return new SlotBitmap(new long[]{low, high});
+    }
+
+    public static SlotBitmap fromStored(long word0, long word1) {
+        return of(word0 | word1 << STORED_WORD_BITS, word1 >>> (64 - STORED_WORD_BITS));
+    }
+
+    // First slot touched by a range starting at the given time
+    public static int startSlot(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    // Slot after the last one touched by a range ending at the given time; partial slots count as touched
+    public static int endSlot(LocalTime time) {
+        int minutes = time.getHour() * 60 + time.getMinute() + (time.getSecond() > 0 ? 1 : 0);
+        return (minutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+    }
+
+    public static LocalTime slotStart(int slot) {
+        return LocalTime.MIDNIGHT.plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    public SlotBitmap set(LocalTime start, LocalTime end) {
+        return set(startSlot(start), endSlot(end));
+    }
+
+    public SlotBitmap set(int fromSlot, int toSlot) {
+        for (int slot = fromSlot; slot < toSlot && slot < SLOTS_PER_DAY; slot++) {
+            words[slot >>> 6] |= 1L << slot;
+        }
+        return this;
+    }
+
+    public SlotBitmap clear(int fromSlot, int toSlot) {
+        for (int slot = fromSlot; slot < toSlot && slot < SLOTS_PER_DAY; slot++) {
+            words[slot >>> 6] &= ~(1L << slot);
+        }
+        return this;
+    }
+
+    public boolean get(int slot) {
+        return (words[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    // True when every slot in [fromSlot, toSlot) is set
+    public boolean covers(int fromSlot, int toSlot) {
+        if (fromSlot >= toSlot || toSlot > SLOTS_PER_DAY) {
+            return false;
+        }
+        for (int slot = fromSlot; slot < toSlot; slot++) {
+            if (!get(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public SlotBitmap or(SlotBitmap other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] |= other.words[i];
+        }
+        return this;
+    }
+
+    public SlotBitmap andNot(SlotBitmap other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= ~other.words[i];
+        }
+        return this;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long word(int index) {
+        return words[index];
+    }
+
+    public long storedWord(int index) {
+        return index == 0 ? words[0] & STORED_WORD_MASK
+                : (words[0] >>> STORED_WORD_BITS | words[1] << (64 - STORED_WORD_BITS)) & STORED_WORD_MASK;
+    }
+
+    public SlotBitmap copy() {
+        return new SlotBitmap(words.clone());
+    }
+
+    // Fixed-width hex, low word first: 16 digits per word
+    public String toHex() {
+        StringBuilder hex = new StringBuilder(WORDS * 16);
+        for (long word : words) {
+            String digits = Long.toHexString(word);
+            hex.append("0".repeat(16 - digits.length())).append(digits);
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.cognizant.hams.cache;
+
+import com.cognizant.hams.event.DoctorDayChangedEvent;
+import com.cognizant.hams.index.AppointmentIntervalIndex;
+import com.cognizant.hams.repository.AvailabilityTemplateRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityRepository;
+import com.cognizant.hams.repository.projection.DayCountView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityHeatmapCacheTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2030, 3);
+
+    @Mock
+    private DoctorAvailabilityRepository doctorAvailabilityRepository;
+    @Mock
+    private AvailabilityTemplateRepository availabilityTemplateRepository;
+    @Mock
+    private AppointmentIntervalIndex appointmentIntervalIndex;
+
+    @InjectMocks
+    private AvailabilityHeatmapCache availabilityHeatmapCache;
+
+    @Test
+    @DisplayName("A change recounts only its own day and patches the cached month")
+    void givenCachedMonth_whenDayChanges_thenOnlyThatDayIsRecounted() {
+        LocalDate fourth = MONTH.atDay(4);
+        given(doctorAvailabilityRepository.countOpenByDate(7L, MONTH.atDay(1), MONTH.atEndOfMonth()))
+                .willReturn(List.of(new DayCountView(fourth, 6L), new DayCountView(MONTH.atDay(31), 2L)));
+        given(doctorAvailabilityRepository.countOpenByDate(7L, fourth, fourth))
+                .willReturn(List.of(new DayCountView(fourth, 5L)));
+
+        int[] before = availabilityHeatmapCache.getFreeSlotCounts(7L, MONTH);
+        availabilityHeatmapCache.onDoctorDayChanged(new DoctorDayChangedEvent(7L, fourth));
+        int[] after = availabilityHeatmapCache.getFreeSlotCounts(7L, MONTH);
+
+        assertThat(before).hasSize(31);
+        assertThat(before[3]).isEqualTo(6);
+        assertThat(after[3]).isEqualTo(5);
+        assertThat(after[30]).isEqualTo(2);
+        verify(doctorAvailabilityRepository, times(1)).countOpenByDate(7L, MONTH.atDay(1), MONTH.atEndOfMonth());
+    }
+}
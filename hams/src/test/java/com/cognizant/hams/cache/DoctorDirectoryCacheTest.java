@@ -0,0 +1,88 @@
+package com.cognizant.hams.cache;
+
+import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.event.DoctorChangedEvent;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DoctorDirectoryCacheTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    private DoctorDirectoryCache doctorDirectoryCache;
+
+    @BeforeEach
+    void setUp() {
+        doctorDirectoryCache = new DoctorDirectoryCache(doctorRepository, new ModelMapper(), new ObjectMapper());
+        ReflectionTestUtils.setField(doctorDirectoryCache, "maxDoctors", 1);
+    }
+
+    @Test
+    @DisplayName("The directory is loaded once and a doctor change patches only that doctor")
+    void givenCachedDirectory_whenDoctorChanges_thenSnapshotIsPatched() {
+        given(doctorRepository.findAll()).willReturn(List.of(doctor(3L, "Zed"), doctor(1L, "Amy")));
+        given(doctorRepository.findById(2L)).willReturn(Optional.of(doctor(2L, "Bob")));
+        given(doctorRepository.findById(3L)).willReturn(Optional.empty());
+
+        DoctorDirectoryCache.Directory first = doctorDirectoryCache.getDirectory();
+        assertThat(doctorDirectoryCache.getDirectory()).isSameAs(first);
+        assertThat(first.ids()).containsExactly(1L, 3L);
+
+        doctorDirectoryCache.onDoctorChanged(new DoctorChangedEvent(2L));
+        doctorDirectoryCache.onDoctorChanged(new DoctorChangedEvent(3L));
+        DoctorDirectoryCache.Directory patched = doctorDirectoryCache.getDirectory();
+
+        assertThat(patched.ids()).containsExactly(1L, 2L);
+        String json = new String(patched.json(), StandardCharsets.UTF_8);
+        assertThat(json).startsWith("[{\"doctorId\":1,").contains("\"doctorName\":\"Bob\"").doesNotContain("Zed").endsWith("}]");
+        assertThat(first.ids()).containsExactly(1L, 3L);
+        verify(doctorRepository, times(1)).findAll();
+        assertThat(doctorDirectoryCache.getStats().getDirectoryHits()).isEqualTo(2);
+        assertThat(doctorDirectoryCache.getStats().getDirectoryMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Single doctors are served from the bounded map until changed or evicted")
+    void givenCachedDoctors_whenChangedOrEvicted_thenReloaded() {
+        given(doctorRepository.findAllById(List.of(1L))).willReturn(List.of(doctor(1L, "Amy")));
+        given(doctorRepository.findAllById(List.of(2L))).willReturn(List.of(doctor(2L, "Bob")));
+
+        doctorDirectoryCache.getDoctors(List.of(1L)).get(1L).setDoctorName("Changed by a caller");
+        assertThat(doctorDirectoryCache.getDoctors(List.of(1L)).get(1L).getDoctorName()).isEqualTo("Amy");
+
+        doctorDirectoryCache.getDoctors(List.of(2L));
+        doctorDirectoryCache.onDoctorChanged(new DoctorChangedEvent(2L));
+        doctorDirectoryCache.getDoctors(List.of(1L));
+
+        verify(doctorRepository, times(2)).findAllById(List.of(1L));
+        assertThat(doctorDirectoryCache.getStats().getDoctorHits()).isEqualTo(1);
+        assertThat(doctorDirectoryCache.getStats().getDoctorEvictions()).isEqualTo(1);
+    }
+
+    private static Doctor doctor(Long doctorId, String doctorName) {
+        Doctor doctor = new Doctor();
+        doctor.setDoctorId(doctorId);
+        doctor.setDoctorName(doctorName);
+        doctor.setSpecialization("Cardiology");
+        return doctor;
+    }
+}
@@ -0,0 +1,114 @@
+package com.cognizant.hams.cache;
+
+import com.cognizant.hams.dto.response.DoctorDayScheduleResponseDTO;
+import com.cognizant.hams.entity.Appointment;
+import com.cognizant.hams.entity.AppointmentStatus;
+import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.entity.DoctorAvailability;
+import com.cognizant.hams.repository.AppointmentRepository;
+import com.cognizant.hams.repository.AvailabilityTemplateRepository;
+import com.cognizant.hams.repository.DoctorAvailabilityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DoctorScheduleCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 3, 4);
+
+    @Mock
+    private DoctorAvailabilityRepository doctorAvailabilityRepository;
+    @Mock
+    private AppointmentRepository appointmentRepository;
+    @Mock
+    private AvailabilityTemplateRepository availabilityTemplateRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private DoctorScheduleCache doctorScheduleCache;
+
+    private Doctor doctor;
+    private DoctorAvailability availability;
+
+    @BeforeEach
+    void setUp() {
+        doctor = new Doctor();
+        doctor.setDoctorId(7L);
+
+        availability = new DoctorAvailability();
+        availability.setAvailabilityId(70L);
+        availability.setDoctor(doctor);
+        availability.setAvailableDate(DAY);
+        availability.setStartTime(LocalTime.of(9, 0));
+        availability.setEndTime(LocalTime.of(10, 0));
+        availability.setAvailable(true);
+    }
+
+    @Test
+    @DisplayName("Second read of a day is served from the cache")
+    void givenLoadedDay_whenGetScheduleAgain_thenNoRepositoryCall() {
+        given(doctorAvailabilityRepository.findByDoctorDoctorIdAndAvailableDate(7L, DAY)).willReturn(List.of(availability));
+        given(appointmentRepository.findScheduledForDoctor(any(), any(), anyCollection())).willReturn(Collections.emptyList());
+
+        DoctorDayScheduleResponseDTO first = doctorScheduleCache.getSchedule(7L, DAY);
+        DoctorDayScheduleResponseDTO second = doctorScheduleCache.getSchedule(7L, DAY);
+
+        // 09:00-10:00 is slots 36..39
+        assertThat(first.getFree()).isEqualTo("000000f000000000" + "0000000000000000");
+        assertThat(second).isSameAs(first);
+        verify(doctorAvailabilityRepository, times(1)).findByDoctorDoctorIdAndAvailableDate(7L, DAY);
+    }
+
+    @Test
+    @DisplayName("Booking against a slot moves it from free to held, confirming moves it to booked")
+    void givenLoadedDay_whenAppointmentBookedAndConfirmed_thenBitmapsPatched() {
+        given(doctorAvailabilityRepository.findByDoctorDoctorIdAndAvailableDate(7L, DAY)).willReturn(List.of(availability));
+        given(appointmentRepository.findScheduledForDoctor(any(), any(), anyCollection())).willReturn(Collections.emptyList());
+        doctorScheduleCache.getSchedule(7L, DAY);
+
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentId(500L);
+        appointment.setDoctor(doctor);
+        appointment.setAppointmentDate(DAY);
+        appointment.setStartTime(LocalTime.of(9, 0));
+        appointment.setEndTime(LocalTime.of(9, 30));
+        appointment.setStatus(AppointmentStatus.PENDING);
+        appointment.setAvailability(availability);
+        doctorScheduleCache.onAppointmentSaved(appointment);
+
+        DoctorDayScheduleResponseDTO held = doctorScheduleCache.getSchedule(7L, DAY);
+        assertThat(held.getFree()).isEqualTo("0000000000000000" + "0000000000000000");
+        assertThat(held.getHeld()).isEqualTo("0000003000000000" + "0000000000000000");
+        assertThat(held.getAppointmentIds()).containsExactly(500L);
+
+        appointment.setStatus(AppointmentStatus.CONFIRMED);
+        doctorScheduleCache.onAppointmentSaved(appointment);
+        assertThat(doctorScheduleCache.getSchedule(7L, DAY).getBooked()).isEqualTo("0000003000000000" + "0000000000000000");
+
+        appointment.setStatus(AppointmentStatus.CANCELED);
+        doctorScheduleCache.onAppointmentSaved(appointment);
+        DoctorDayScheduleResponseDTO released = doctorScheduleCache.getSchedule(7L, DAY);
+        assertThat(released.getFree()).isEqualTo("000000f000000000" + "0000000000000000");
+        assertThat(released.getAppointmentIds()).isEmpty();
+        verify(doctorAvailabilityRepository, times(1)).findByDoctorDoctorIdAndAvailableDate(7L, DAY);
+    }
+}
@@ -0,0 +1,28 @@
+package com.cognizant.hams.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppointmentStatusTest {
+
+    @Test
+    @DisplayName("Pending appointments can be decided or canceled, terminal statuses go nowhere")
+    void transitionsFollowTable() {
+        assertThat(AppointmentStatus.PENDING.canTransitionTo(AppointmentStatus.CONFIRMED)).isTrue();
+        assertThat(AppointmentStatus.PENDING.canTransitionTo(AppointmentStatus.COMPLETED)).isFalse();
+        assertThat(AppointmentStatus.CONFIRMED.canTransitionTo(AppointmentStatus.CONFIRMED)).isFalse();
+        assertThat(AppointmentStatus.CANCELED.canTransitionTo(AppointmentStatus.CONFIRMED)).isFalse();
+        assertThat(AppointmentStatus.REJECTED.canTransitionTo(AppointmentStatus.CANCELED)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sources are the inverse of the transition table")
+    void sourcesOfTarget() {
+        assertThat(AppointmentStatus.sourcesOf(AppointmentStatus.CANCELED))
+                .containsExactlyInAnyOrder(AppointmentStatus.PENDING, AppointmentStatus.CONFIRMED);
+        assertThat(AppointmentStatus.sourcesOf(AppointmentStatus.CONFIRMED)).containsExactly(AppointmentStatus.PENDING);
+        assertThat(AppointmentStatus.sourcesOf(AppointmentStatus.PENDING)).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.cognizant.hams.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppointmentIntervalIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 15);
+
+    private AppointmentIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AppointmentIntervalIndex();
+        index.load(List.of(slot(1L, 10L, 100L, "10:00", "10:30")));
+    }
+
+    @Test
+    @DisplayName("Overlapping range for the same doctor is a doctor conflict")
+    void givenBookedDoctor_whenReserveOverlap_thenDoctorConflict() {
+        assertThat(index.tryReserve(slot(null, 10L, 200L, "10:15", "10:45")))
+                .isEqualTo(AppointmentIntervalIndex.Conflict.DOCTOR);
+        assertThat(index.tryReserve(slot(null, 10L, 200L, "09:45", "10:01")))
+                .isEqualTo(AppointmentIntervalIndex.Conflict.DOCTOR);
+    }
+
+    @Test
+    @DisplayName("Overlapping range for the same patient is a patient conflict")
+    void givenBookedPatient_whenReserveOverlapWithOtherDoctor_thenPatientConflict() {
+        assertThat(index.tryReserve(slot(null, 20L, 100L, "10:00", "11:00")))
+                .isEqualTo(AppointmentIntervalIndex.Conflict.PATIENT);
+    }
+
+    @Test
+    @DisplayName("Adjacent ranges do not conflict")
+    void givenBookedRange_whenReserveAdjacent_thenNoConflict() {
+        assertThat(index.tryReserve(slot(null, 10L, 200L, "10:30", "11:00")))
+                .isEqualTo(AppointmentIntervalIndex.Conflict.NONE);
+        assertThat(index.tryReserve(slot(null, 10L, 300L, "09:30", "10:00")))
+                .isEqualTo(AppointmentIntervalIndex.Conflict.NONE);
+        assertThat(index.isDoctorFree(10L, DAY, LocalTime.parse("09:00"), LocalTime.parse("11:00"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Released range can be booked again")
+    void givenReleasedRange_whenReserve_thenNoConflict() {
+        index.release(slot(1L, 10L, 100L, "10:00", "10:30"));
+
+        assertThat(index.isDoctorFree(10L, DAY, LocalTime.parse("10:00"), LocalTime.parse("10:30"))).isTrue();
+        assertThat(index.tryReserve(slot(null, 10L, 200L, "10:00", "10:30")))
+                .isEqualTo(AppointmentIntervalIndex.Conflict.NONE);
+    }
+
+    @Test
+    @DisplayName("Index reports loaded only after its first load")
+    void givenNewIndex_whenLoad_thenLoaded() {
+        AppointmentIntervalIndex fresh = new AppointmentIntervalIndex();
+        assertThat(fresh.isLoaded()).isFalse();
+
+        fresh.load(List.of());
+
+        assertThat(fresh.isLoaded()).isTrue();
+        assertThat(index.isLoaded()).isTrue();
+    }
+
+    private static AppointmentSlot slot(Long appointmentId, Long doctorId, Long patientId, String start, String end) {
+        return new AppointmentSlot(appointmentId, doctorId, patientId, DAY, LocalTime.parse(start), LocalTime.parse(end));
+    }
+}
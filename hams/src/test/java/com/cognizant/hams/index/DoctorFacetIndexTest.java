@@ -0,0 +1,61 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.index.DoctorFacetIndex.Count;
+import com.cognizant.hams.index.DoctorFacetIndex.Facet;
+import com.cognizant.hams.repository.projection.DoctorFacetView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoctorFacetIndexTest {
+
+    private DoctorFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DoctorFacetIndex();
+        index.load(List.of(
+                new DoctorFacetView(1L, "Cardiology", 3, "MBBS"),
+                new DoctorFacetView(2L, "cardiology ", 12, "MD"),
+                new DoctorFacetView(3L, "Neurology", 25, "MD"),
+                new DoctorFacetView(4L, "Dermatology", 7, "MBBS")));
+    }
+
+    @Test
+    @DisplayName("Facets are AND-ed, values within a facet OR-ed, and each facet is counted without its own filter")
+    void givenSelection_whenSearched_thenHitsAndDisjunctiveCounts() {
+        DoctorFacetIndex.Result result = index.search(Map.of(
+                Facet.SPECIALIZATION, List.of("CARDIOLOGY", "neurology"),
+                Facet.QUALIFICATION, List.of("md")), null, 10);
+
+        assertThat(result.doctorIds()).containsExactly(2, 3);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.counts().get(Facet.SPECIALIZATION)).containsExactly(
+                new Count("Cardiology", 1, true), new Count("Neurology", 1, true));
+        assertThat(result.counts().get(Facet.QUALIFICATION)).containsExactly(
+                new Count("MD", 2, true), new Count("MBBS", 1, false));
+        assertThat(result.counts().get(Facet.EXPERIENCE)).containsExactly(
+                new Count("10-19", 1, false), new Count("20+", 1, false));
+    }
+
+    @Test
+    @DisplayName("Changes move a doctor between values and pages continue after the last id")
+    void givenChanges_whenSearched_thenCountsFollow() {
+        index.put(1L, "Neurology", 21, "MD");
+        index.remove(4L);
+
+        DoctorFacetIndex.Result first = index.search(Map.of(Facet.EXPERIENCE, List.of("20+")), null, 1);
+        DoctorFacetIndex.Result second = index.search(Map.of(Facet.EXPERIENCE, List.of("20+")), 1L, 1);
+
+        assertThat(first.doctorIds()).containsExactly(1);
+        assertThat(second.doctorIds()).containsExactly(3);
+        assertThat(first.counts().get(Facet.SPECIALIZATION)).containsExactly(new Count("Neurology", 2, false));
+        assertThat(index.search(Map.of(), null, 10).counts().get(Facet.EXPERIENCE)).containsExactly(
+                new Count("10-19", 1, false), new Count("20+", 2, false));
+    }
+}
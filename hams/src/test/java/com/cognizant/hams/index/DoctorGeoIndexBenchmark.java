@@ -0,0 +1,103 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.DoctorGeoView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nearest-clinic lookups through the {@link DoctorGeoIndex} for 100,000 clinics spread over a country the
+ * size of India, most of them in cities, next to a scan that takes the distance to every clinic. Prints the
+ * median and 99th percentile latency of both, with and without a specialization filter.
+ *
+ * <p>Not picked up by the default test run; start it with {@code mvn test -Dtest=DoctorGeoIndexBenchmark}.
+ */
+class DoctorGeoIndexBenchmark {
+
+    private static final int CLINICS = 100_000;
+    private static final int CITIES = 60;
+    private static final int SPECIALIZATIONS = 20;
+    private static final int SEARCHES = 1_000;
+    private static final int LIMIT = 10;
+
+    @Test
+    void compareRingSearchAndScan() {
+        Random random = new Random(42);
+        double[][] cities = new double[CITIES][];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = new double[]{8 + random.nextDouble() * 27, 68 + random.nextDouble() * 29};
+        }
+        List<DoctorGeoView> doctors = new ArrayList<>(CLINICS);
+        for (long id = 1; id <= CLINICS; id++) {
+            double[] point = point(cities, random);
+            doctors.add(new DoctorGeoView(id, "Specialization " + random.nextInt(SPECIALIZATIONS), point[0], point[1]));
+        }
+        DoctorGeoIndex index = new DoctorGeoIndex();
+        index.load(doctors);
+
+        double[][] queries = new double[SEARCHES][];
+        String[] filters = new String[SEARCHES];
+        for (int i = 0; i < SEARCHES; i++) {
+            queries[i] = point(cities, random);
+            filters[i] = "Specialization " + random.nextInt(SPECIALIZATIONS);
+        }
+
+        for (boolean filtered : new boolean[]{false, true}) {
+            long[] indexNanos = new long[SEARCHES];
+            long[] scanNanos = new long[SEARCHES];
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i < SEARCHES; i++) {
+                    String specialization = filtered ? filters[i] : null;
+                    long started = System.nanoTime();
+                    List<DoctorGeoIndex.Nearby> nearest = index.nearest(queries[i][0], queries[i][1], specialization, LIMIT);
+                    indexNanos[i] = System.nanoTime() - started;
+
+                    started = System.nanoTime();
+                    List<Integer> scanned = scan(doctors, queries[i][0], queries[i][1], specialization);
+                    scanNanos[i] = System.nanoTime() - started;
+
+                    assertThat(nearest.stream().map(DoctorGeoIndex.Nearby::doctorId).toList()).isEqualTo(scanned);
+                }
+            }
+            Arrays.sort(indexNanos);
+            Arrays.sort(scanNanos);
+            System.out.printf("%,d clinics, %s: ring search median %,d us p99 %,d us, scan median %,d us p99 %,d us%n",
+                    CLINICS, filtered ? "one of " + SPECIALIZATIONS + " specializations" : "any specialization",
+                    indexNanos[SEARCHES / 2] / 1000, indexNanos[SEARCHES * 99 / 100] / 1000,
+                    scanNanos[SEARCHES / 2] / 1000, scanNanos[SEARCHES * 99 / 100] / 1000);
+        }
+    }
+
+    // Four in five around a city, the rest anywhere in the country
+    private static double[] point(double[][] cities, Random random) {
+        if (random.nextInt(5) == 0) {
+            return new double[]{8 + random.nextDouble() * 27, 68 + random.nextDouble() * 29};
+        }
+        double[] city = cities[random.nextInt(cities.length)];
+        return new double[]{city[0] + random.nextGaussian() * 0.15, city[1] + random.nextGaussian() * 0.15};
+    }
+
+    private static List<Integer> scan(List<DoctorGeoView> doctors, double latitude, double longitude, String specialization) {
+        PriorityQueue<double[]> closest = new PriorityQueue<>(LIMIT + 1,
+                (a, b) -> a[0] != b[0] ? Double.compare(b[0], a[0]) : Double.compare(b[1], a[1]));
+        for (DoctorGeoView doctor : doctors) {
+            if (specialization != null && !specialization.equals(doctor.specialization())) {
+                continue;
+            }
+            closest.add(new double[]{DoctorGeoIndex.distanceKm(latitude, longitude, doctor.latitude(), doctor.longitude()),
+                    doctor.doctorId()});
+            if (closest.size() > LIMIT) {
+                closest.poll();
+            }
+        }
+        List<double[]> sorted = new ArrayList<>(closest);
+        sorted.sort((a, b) -> a[0] != b[0] ? Double.compare(a[0], b[0]) : Double.compare(a[1], b[1]));
+        return sorted.stream().map(entry -> (int) entry[1]).toList();
+    }
+}
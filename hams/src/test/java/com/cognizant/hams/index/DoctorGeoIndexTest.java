@@ -0,0 +1,98 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.DoctorGeoView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DoctorGeoIndexTest {
+
+    private static final String[] SPECIALIZATIONS = {"Cardiology", "Neurology", "Dermatology"};
+
+    private DoctorGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DoctorGeoIndex();
+    }
+
+    @Test
+    @DisplayName("Ring search returns exactly the nearest doctors a full scan finds, with and without a specialization")
+    void givenScatteredClinics_whenNearestSearched_thenMatchesFullScan() {
+        Random random = new Random(7);
+        List<DoctorGeoView> doctors = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            // Half clustered around one city, the rest anywhere, poles and date line included
+            boolean clustered = id % 2 == 0;
+            double latitude = clustered ? 12.97 + random.nextGaussian() * 0.2 : random.nextDouble() * 180 - 90;
+            double longitude = clustered ? 77.59 + random.nextGaussian() * 0.2 : random.nextDouble() * 360 - 180;
+            doctors.add(new DoctorGeoView(id, SPECIALIZATIONS[(int) (id % 3)], latitude, longitude));
+        }
+        index.load(doctors);
+
+        double[][] points = {{12.97, 77.59}, {13.5, 78.2}, {0, 179.99}, {-89.9, 10}, {89.95, -170}, {40.7, -74}};
+        for (double[] point : points) {
+            for (int limit : new int[]{1, 10, 100}) {
+                assertThat(ids(index.nearest(point[0], point[1], null, limit)))
+                        .isEqualTo(scan(doctors, point[0], point[1], null, limit));
+                assertThat(ids(index.nearest(point[0], point[1], "neurology", limit)))
+                        .isEqualTo(scan(doctors, point[0], point[1], "Neurology", limit));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Doctors across the date line are as near as they are on the globe")
+    void givenDateLine_whenNearestSearched_thenWrapsAround() {
+        index.load(List.of(
+                new DoctorGeoView(1L, "Cardiology", -17.0, 179.95),
+                new DoctorGeoView(2L, "Cardiology", -17.0, -178.0)));
+
+        List<DoctorGeoIndex.Nearby> nearest = index.nearest(-17.0, -179.95, null, 2);
+
+        assertThat(ids(nearest)).containsExactly(1L, 2L);
+        assertThat(nearest.get(0).distanceKm()).isCloseTo(10.6, within(0.1));
+    }
+
+    @Test
+    @DisplayName("Moved, unlocated and removed doctors follow their changes")
+    void givenChanges_whenNearestSearched_thenIndexFollows() {
+        index.load(List.of(
+                new DoctorGeoView(1L, "Cardiology", 12.97, 77.59),
+                new DoctorGeoView(2L, "Neurology", 12.98, 77.60)));
+
+        index.put(1L, "Cardiology", 28.61, 77.21);
+        assertThat(ids(index.nearest(28.6, 77.2, null, 1))).containsExactly(1L);
+        assertThat(ids(index.nearest(12.97, 77.59, null, 2))).containsExactly(2L, 1L);
+
+        index.put(2L, "Neurology", null, null);
+        assertThat(ids(index.nearest(12.97, 77.59, null, 5))).containsExactly(1L);
+        assertThat(index.nearest(12.97, 77.59, "Neurology", 5)).isEmpty();
+
+        index.remove(1L);
+        assertThat(index.nearest(12.97, 77.59, null, 5)).isEmpty();
+    }
+
+    private static List<Long> ids(List<DoctorGeoIndex.Nearby> nearest) {
+        return nearest.stream().map(nearby -> (long) nearby.doctorId()).toList();
+    }
+
+    private static List<Long> scan(List<DoctorGeoView> doctors, double latitude, double longitude, String specialization, int limit) {
+        return doctors.stream()
+                .filter(doctor -> specialization == null || doctor.specialization().equals(specialization))
+                .sorted(Comparator.<DoctorGeoView>comparingDouble(doctor ->
+                                DoctorGeoIndex.distanceKm(latitude, longitude, doctor.latitude(), doctor.longitude()))
+                        .thenComparing(DoctorGeoView::doctorId))
+                .limit(limit)
+                .map(DoctorGeoView::doctorId)
+                .toList();
+    }
+}
@@ -0,0 +1,128 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.DoctorSearchView;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fuzzy name lookups through the {@link DoctorNameBkTree} for growing directories, next to a scan that
+ * takes the bounded distance to every word of every name. For each size it prints the vocabulary size and
+ * the median and 99th percentile latency of both, as wall time and as the CPU time of the searching thread.
+ *
+ * <p>Not picked up by the default test run; start it with {@code mvn test -Dtest=DoctorNameBkTreeBenchmark}.
+ */
+class DoctorNameBkTreeBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int SEARCHES = 1_000;
+    private static final int MAX_DISTANCE = 2;
+    private static final int WARM_UP_PASSES = 5;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    @Test
+    void compareTreeAndScanBySize() {
+        Random random = new Random(42);
+        for (int size : SIZES) {
+            List<DoctorSearchView> doctors = new ArrayList<>(size);
+            List<String> words = new ArrayList<>();
+            // Vocabulary grows with the directory, as it does with real first and last names
+            for (int i = 0; i < size / 4 + 50; i++) {
+                words.add(word(random));
+            }
+            for (long id = 1; id <= size; id++) {
+                doctors.add(new DoctorSearchView(id, words.get(random.nextInt(words.size())) + " "
+                        + words.get(random.nextInt(words.size())), "General Medicine"));
+            }
+            DoctorNameBkTree tree = new DoctorNameBkTree();
+            tree.load(doctors);
+
+            String[] queries = new String[SEARCHES];
+            for (int i = 0; i < SEARCHES; i++) {
+                queries[i] = typo(words.get(random.nextInt(words.size())), random);
+            }
+
+            long[] treeMatches = new long[1];
+            Latencies treeLatencies = time(queries, query -> treeMatches[0] += tree.search(query, MAX_DISTANCE).size());
+            long[] scanMatches = new long[1];
+            Latencies scanLatencies = time(queries, query -> {
+                int bound = query.length() <= 4 ? 1 : MAX_DISTANCE;
+                for (DoctorSearchView doctor : doctors) {
+                    for (String word : doctor.doctorName().split(" ")) {
+                        if (DoctorNameBkTree.distance(query, word, bound) <= bound) {
+                            scanMatches[0]++;
+                            break;
+                        }
+                    }
+                }
+            });
+            // Both counted over the warm-up and the timed passes
+            assertThat(treeMatches[0]).isEqualTo(scanMatches[0]);
+
+            System.out.printf("%,7d doctors, %,6d words, %.1f matches/lookup%n  tree: %s%n  scan: %s%n",
+                    size, words.size(), treeMatches[0] / ((WARM_UP_PASSES + 1.0) * SEARCHES), treeLatencies, scanLatencies);
+        }
+    }
+
+    private static String word(Random random) {
+        char[] chars = new char[5 + random.nextInt(5)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        }
+        return new String(chars);
+    }
+
+    // One substitution, deletion or insertion somewhere in the word
+    private static String typo(String word, Random random) {
+        int at = random.nextInt(word.length());
+        char letter = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        return switch (random.nextInt(3)) {
+            case 0 -> word.substring(0, at) + letter + word.substring(at + 1);
+            case 1 -> word.substring(0, at) + word.substring(at + 1);
+            default -> word.substring(0, at) + letter + word.substring(at);
+        };
+    }
+
+    private interface Search {
+        void run(String query);
+    }
+
+    // Per-lookup latencies in nanoseconds, after untimed warm-up passes
+    private static Latencies time(String[] queries, Search search) {
+        for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+            for (String query : queries) {
+                search.run(query);
+            }
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long[] wall = new long[queries.length];
+        long[] cpu = new long[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            long cpuStarted = threads.getCurrentThreadCpuTime();
+            long started = System.nanoTime();
+            search.run(queries[i]);
+            wall[i] = System.nanoTime() - started;
+            cpu[i] = threads.getCurrentThreadCpuTime() - cpuStarted;
+        }
+        Arrays.sort(wall);
+        Arrays.sort(cpu);
+        return new Latencies(wall, cpu);
+    }
+
+    private record Latencies(long[] wall, long[] cpu) {
+
+        @Override
+        public String toString() {
+            return String.format("median %,d us, p99 %,d us wall; median %,d us, p99 %,d us cpu",
+                    wall[SEARCHES / 2] / 1000, wall[SEARCHES * 99 / 100] / 1000,
+                    cpu[SEARCHES / 2] / 1000, cpu[SEARCHES * 99 / 100] / 1000);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.DoctorSearchView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoctorNameBkTreeTest {
+
+    private DoctorNameBkTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new DoctorNameBkTree();
+        tree.load(List.of(
+                new DoctorSearchView(1L, "Alice Heart", "Cardiology"),
+                new DoctorSearchView(2L, "Alicia Hart", "Cardiology"),
+                new DoctorSearchView(3L, "Bob Brain", "Neurology"),
+                new DoctorSearchView(4L, "Al Heart", "Cardiology")));
+    }
+
+    @Test
+    @DisplayName("Every query word must be close to a word of the name and the closest names come first")
+    void givenTypos_whenSearched_thenRankedByDistance() {
+        assertThat(ids(tree.search("HERT", 2))).containsExactly(4L, 1L, 2L);
+        assertThat(tree.search("alise hart", 2)).containsExactly(new DoctorNameBkTree.Match(1, 2, 11));
+        assertThat(ids(tree.search("alice", 0))).containsExactly(1L);
+        assertThat(ids(tree.search("bib", 2))).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Short words allow fewer edits")
+    void givenShortWords_whenSearched_thenToleranceShrinks() {
+        assertThat(ids(tree.search("al", 2))).containsExactly(4L);
+        assertThat(tree.search("ab", 2)).isEmpty();
+        assertThat(tree.search("bxx", 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Renamed and removed doctors leave the results, also after the tree is compacted")
+    void givenChanges_whenSearched_thenTreeFollows() {
+        tree.put(3L, "Bobby Brian");
+        tree.remove(1L);
+        tree.remove(2L);
+        tree.remove(4L);
+
+        assertThat(tree.search("heart", 2)).isEmpty();
+        assertThat(ids(tree.search("bobby brain", 2))).containsExactly(3L);
+        assertThat(tree.search("bobb brain", 2)).containsExactly(new DoctorNameBkTree.Match(3, 3, 11));
+        assertThat(tree.search("bob brain", 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("The bounded distance is exact within the limit")
+    void givenWords_whenDistanceTaken_thenLevenshtein() {
+        assertThat(DoctorNameBkTree.distance("kitten", "sitting", 5)).isEqualTo(3);
+        assertThat(DoctorNameBkTree.distance("kitten", "sitting", 2)).isGreaterThan(2);
+        assertThat(DoctorNameBkTree.distance("", "abc", 5)).isEqualTo(3);
+    }
+
+    private static List<Long> ids(List<DoctorNameBkTree.Match> matches) {
+        return matches.stream().map(match -> (long) match.doctorId()).toList();
+    }
+}
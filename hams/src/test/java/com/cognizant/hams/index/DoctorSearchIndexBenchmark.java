@@ -0,0 +1,116 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.DoctorSearchView;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Searches 100k generated doctors through the {@link DoctorSearchIndex} and through a scan of every value,
+ * the in-memory equivalent of the {@code LIKE '%x%'} the database runs, and prints the median and 99th
+ * percentile latency of each. Latency is reported as wall time and as the CPU time of the searching thread;
+ * on a shared or single-core machine the wall time tail is mostly the thread waiting to be scheduled.
+ *
+ * <p>Not picked up by the default test run; start it with {@code mvn test -Dtest=DoctorSearchIndexBenchmark}.
+ */
+class DoctorSearchIndexBenchmark {
+
+    private static final int DOCTORS = 100_000;
+    private static final int SEARCHES = 2_000;
+    private static final int WARM_UP_PASSES = 5;
+    private static final String[] FIRST = {"Anna", "Ravi", "Priya", "John", "Maria", "Wei", "Fatima", "Lukas",
+            "Aisha", "Carlos", "Mei", "Olga", "Tomas", "Sana", "Ivan", "Nora"};
+    private static final String[] LAST = {"Sharma", "Kovacs", "Smith", "Garcia", "Chen", "Nowak", "Patel",
+            "Okafor", "Muller", "Rossi", "Tanaka", "Silva", "Haddad", "Jensen", "Moreau", "Kumar"};
+    private static final String[] SPECIALIZATIONS = {"Cardiology", "Neurology", "Dermatology", "Pediatrics",
+            "Orthopedics", "Oncology", "Psychiatry", "Radiology", "General Medicine", "Pediatric Cardiology"};
+
+    @Test
+    void compareIndexAndScan() {
+        Random random = new Random(42);
+        List<DoctorSearchView> doctors = new ArrayList<>(DOCTORS);
+        for (long id = 1; id <= DOCTORS; id++) {
+            // A numeric suffix keeps names distinct, the way real surnames spread out
+            String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)] + random.nextInt(1000);
+            doctors.add(new DoctorSearchView(id, name, SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)]));
+        }
+        DoctorSearchIndex index = new DoctorSearchIndex();
+        long started = System.nanoTime();
+        index.load(doctors);
+        long loadMillis = (System.nanoTime() - started) / 1_000_000;
+
+        String[] queries = new String[SEARCHES];
+        for (int i = 0; i < SEARCHES; i++) {
+            String name = doctors.get(random.nextInt(DOCTORS)).doctorName();
+            // Five to eight characters from anywhere in a real name, the way a patient types part of it
+            int length = 5 + random.nextInt(4);
+            int from = random.nextInt(name.length() - length + 1);
+            queries[i] = name.substring(from, from + length);
+        }
+
+        long[] scanChecksum = new long[1];
+        Latencies scan = time(queries, query -> {
+            String normalized = query.toLowerCase(Locale.ROOT);
+            int matches = 0;
+            for (DoctorSearchView doctor : doctors) {
+                if (doctor.doctorName().toLowerCase(Locale.ROOT).contains(normalized)) {
+                    matches++;
+                }
+            }
+            scanChecksum[0] += matches;
+        });
+        long[] indexChecksum = new long[1];
+        Latencies indexed = time(queries, query -> indexChecksum[0] += index.searchByName(query).size());
+        assertThat(indexChecksum[0]).isEqualTo(scanChecksum[0]);
+
+        // Both checksums count the warm-up passes too
+        System.out.printf("%,d doctors indexed in %d ms, %,d name searches, %.1f matches on average%n",
+                DOCTORS, loadMillis, SEARCHES, (double) indexChecksum[0] / SEARCHES / (WARM_UP_PASSES + 1));
+        System.out.printf("scan:  %s%n", scan);
+        System.out.printf("index: %s%n", indexed);
+    }
+
+    private interface Search {
+        void run(String query);
+    }
+
+    // Per-search latencies in nanoseconds, after untimed warm-up passes
+    private static Latencies time(String[] queries, Search search) {
+        for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+            for (String query : queries) {
+                search.run(query);
+            }
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long[] wall = new long[queries.length];
+        long[] cpu = new long[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            long cpuStarted = threads.getCurrentThreadCpuTime();
+            long started = System.nanoTime();
+            search.run(queries[i]);
+            wall[i] = System.nanoTime() - started;
+            cpu[i] = threads.getCurrentThreadCpuTime() - cpuStarted;
+        }
+        Arrays.sort(wall);
+        Arrays.sort(cpu);
+        return new Latencies(wall, cpu);
+    }
+
+    private record Latencies(long[] wall, long[] cpu) {
+
+        @Override
+        public String toString() {
+            return String.format("median %,d us, p99 %,d us wall; median %,d us, p99 %,d us cpu",
+                    wall[SEARCHES / 2] / 1000, wall[SEARCHES * 99 / 100] / 1000,
+                    cpu[SEARCHES / 2] / 1000, cpu[SEARCHES * 99 / 100] / 1000);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.DoctorSearchView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DoctorSearchIndexTest {
+
+    private DoctorSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DoctorSearchIndex();
+        index.load(List.of(
+                new DoctorSearchView(1L, "Anna Kovacs", "Cardiology"),
+                new DoctorSearchView(2L, "Hannah Smith", "Pediatric Cardiology"),
+                new DoctorSearchView(3L, "Ann", "Neurology"),
+                new DoctorSearchView(4L, "Joanna Annett", "Dermatology")));
+    }
+
+    @Test
+    @DisplayName("Name search ignores case and ranks exact, prefix, word and inner matches")
+    void givenDoctors_whenSearchedByName_thenRankedLikeMatches() {
+        assertThat(index.searchByName("ANN")).containsExactly(3L, 1L, 4L, 2L);
+        assertThat(index.searchByName("anna")).containsExactly(1L, 2L, 4L);
+        assertThat(index.searchByName("an")).containsExactly(3L, 1L, 4L, 2L);
+        assertThat(index.searchByName("annx")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Trigram candidates are checked against the whole value")
+    void givenSharedTrigrams_whenNotContiguous_thenNotMatched() {
+        // "kov" and "vac" are both in Kovacs but "kovvac" is not
+        assertThat(index.searchByName("kovvac")).isEmpty();
+        assertThat(index.searchBySpecialization("cardio")).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Updates and deletes replace the old values at once")
+    void givenChanges_whenSearched_thenIndexFollows() {
+        index.put(1L, "Zoe Kovacs", "Neurology");
+        index.remove(3L);
+        index.put(5L, "Anne Lee", "Cardiology");
+
+        assertThat(index.searchByName("ann")).containsExactly(5L, 4L, 2L);
+        assertThat(index.searchBySpecialization("neuro")).containsExactly(1L);
+        assertThat(index.searchBySpecialization("cardiology")).containsExactly(5L, 2L);
+    }
+
+    @Test
+    @DisplayName("Values replaced many times are still found after the stored text is compacted")
+    void givenManyRenames_whenSearched_thenOnlyLatestNamesMatch() {
+        for (int round = 0; round < 500; round++) {
+            index.put(1L, "Anna Kovacs " + round, "Cardiology");
+            index.put(3L, "Ann Round" + round, "Neurology");
+        }
+
+        assertThat(index.searchByName("kovacs 499")).containsExactly(1L);
+        assertThat(index.searchByName("kovacs 498")).isEmpty();
+        assertThat(index.searchByName("round499")).containsExactly(3L);
+        assertThat(index.searchByName("ANN")).containsExactly(3L, 1L, 4L, 2L);
+        assertThat(index.searchBySpecialization("neurology")).containsExactly(3L);
+    }
+}
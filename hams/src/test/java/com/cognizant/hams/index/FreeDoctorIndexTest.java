@@ -0,0 +1,49 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.util.SlotBitmap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FreeDoctorIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 15);
+    private static final int TEN = SlotBitmap.startSlot(LocalTime.of(10, 0));
+
+    private FreeDoctorIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FreeDoctorIndex();
+        index.setSpecialization(1L, "Cardiology");
+        index.setSpecialization(2L, "Neurology");
+        index.setFree(1L, DAY, new SlotBitmap().set(LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        index.setFree(2L, DAY, new SlotBitmap().set(LocalTime.of(10, 0), LocalTime.of(10, 30)));
+    }
+
+    @Test
+    @DisplayName("Doctors free in a slot can be narrowed to one specialization")
+    void givenFreeDoctors_whenQueriedWithSpecialization_thenIntersected() {
+        assertThat(index.freeDoctors(DAY, TEN, null).first(10)).containsExactly(1, 2);
+        assertThat(index.freeDoctors(DAY, TEN, "cardiology ").first(10)).containsExactly(1);
+        assertThat(index.freeDoctors(DAY, TEN, "Dermatology").isEmpty()).isTrue();
+        assertThat(index.freeDoctors(DAY.plusDays(1), TEN, null).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Replacing a doctor-day and changing a specialization are reflected at once")
+    void givenChanges_whenQueried_thenIndexFollows() {
+        index.setFree(1L, DAY, new SlotBitmap().set(LocalTime.of(14, 0), LocalTime.of(15, 0)));
+        index.setSpecialization(2L, "Cardiology");
+
+        assertThat(index.freeDoctors(DAY, TEN, "Cardiology").first(10)).containsExactly(2);
+
+        index.removeDoctor(2L);
+        assertThat(index.freeDoctors(DAY, TEN, null).isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,162 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.entity.DoctorAvailability;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds the same 14 days of open slots once as entity objects on the heap, the way a persistence context
+ * or an object cache would, and once in the {@link OffHeapSlotStore}. For each side it prints the heap
+ * retained, the direct memory used, the time of a full collection with the data live, and the collections
+ * run during a burst of random day reads.
+ *
+ * <p>Numbers depend on the collector and heap size of the JVM running it. Not picked up by the default
+ * test run; start it with {@code mvn test -Dtest=OffHeapSlotStoreBenchmark}.
+ */
+class OffHeapSlotStoreBenchmark {
+
+    private static final int DOCTORS = 2_000;
+    private static final int DAYS = 14;
+    // 08:00-16:00 in 30-minute slots, three quarters of them still open
+    private static final int SLOTS_PER_DAY = 16;
+    private static final int READS = 2_000_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 14);
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+
+    @Test
+    void compareHeapAndOffHeap() {
+        long baseline = settledHeap();
+
+        Map<DayKey, List<DoctorAvailability>> onHeap = new HashMap<>();
+        long idSequence = 1;
+        Random random = new Random(42);
+        for (long doctorId = 1; doctorId <= DOCTORS; doctorId++) {
+            Doctor doctor = new Doctor();
+            doctor.setDoctorId(doctorId);
+            for (int day = 0; day < DAYS; day++) {
+                LocalDate date = FIRST_DAY.plusDays(day);
+                List<DoctorAvailability> slots = new ArrayList<>();
+                for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                    if (random.nextInt(4) == 0) {
+                        continue;
+                    }
+                    DoctorAvailability availability = new DoctorAvailability();
+                    availability.setAvailabilityId(idSequence++);
+                    availability.setDoctor(doctor);
+                    availability.setAvailableDate(date);
+                    availability.setStartTime(LocalTime.of(8, 0).plusMinutes(30L * slot));
+                    availability.setEndTime(availability.getStartTime().plusMinutes(30));
+                    availability.setAvailable(true);
+                    slots.add(availability);
+                }
+                onHeap.put(new DayKey(doctorId, date), slots);
+            }
+        }
+        long onHeapRetained = settledHeap() - baseline;
+        Result heapResult = measure(() -> {
+            long checksum = 0;
+            Random reads = new Random(7);
+            for (int i = 0; i < READS; i++) {
+                List<DoctorAvailability> slots = onHeap.get(new DayKey(1L + reads.nextInt(DOCTORS), FIRST_DAY.plusDays(reads.nextInt(DAYS))));
+                for (DoctorAvailability slot : slots) {
+                    checksum += slot.getAvailabilityId() + slot.getStartTime().toSecondOfDay();
+                }
+            }
+            return checksum;
+        });
+
+        OffHeapSlotStore store = new OffHeapSlotStore();
+        OffHeapSlotStore.Builder builder = OffHeapSlotStore.builder(FIRST_DAY, DAYS);
+        for (long doctorId = 1; doctorId <= DOCTORS; doctorId++) {
+            for (int day = 0; day < DAYS; day++) {
+                for (DoctorAvailability slot : onHeap.get(new DayKey(doctorId, FIRST_DAY.plusDays(day)))) {
+                    builder.add(doctorId, slot.getAvailableDate(), slot.getAvailabilityId(),
+                            slot.getStartTime().toSecondOfDay(), slot.getEndTime().toSecondOfDay());
+                }
+            }
+        }
+        store.install(builder);
+        long slotCount = idSequence - 1;
+        onHeap.clear();
+
+        long offHeapRetained = settledHeap() - baseline;
+        long[] checksum = new long[1];
+        Result storeResult = measure(() -> {
+            checksum[0] = 0;
+            Random reads = new Random(7);
+            for (int i = 0; i < READS; i++) {
+                store.forEachSlot(1L + reads.nextInt(DOCTORS), FIRST_DAY.plusDays(reads.nextInt(DAYS)),
+                        (availabilityId, startSecond, endSecond) -> checksum[0] += availabilityId + startSecond);
+            }
+            return checksum[0];
+        });
+        assertThat(storeResult.checksum()).isEqualTo(heapResult.checksum());
+
+        System.out.printf("%,d open slots (%d doctors x %d days), %,d random day reads%n", slotCount, DOCTORS, DAYS, READS);
+        System.out.printf("on-heap:  %,d KB heap retained, full GC %d ms, reads %d ms, %d collections / %d ms during reads%n",
+                onHeapRetained / 1024, heapResult.fullGcMillis(), heapResult.readMillis(), heapResult.collections(), heapResult.gcMillis());
+        System.out.printf("off-heap: %,d KB heap retained, %,d KB direct, full GC %d ms, reads %d ms, %d collections / %d ms during reads%n",
+                offHeapRetained / 1024, store.directBytes() / 1024, storeResult.fullGcMillis(), storeResult.readMillis(),
+                storeResult.collections(), storeResult.gcMillis());
+        System.out.printf("direct buffer pool: %,d KB%n", directPoolBytes() / 1024);
+    }
+
+    private record Result(long checksum, long fullGcMillis, long readMillis, long collections, long gcMillis) {
+    }
+
+    private interface Reads {
+        long run();
+    }
+
+    private static Result measure(Reads reads) {
+        // Warm up once so the timed run is compiled code
+        reads.run();
+        long started = System.nanoTime();
+        System.gc();
+        long fullGcMillis = (System.nanoTime() - started) / 1_000_000;
+
+        long collectionsBefore = collections();
+        long gcMillisBefore = gcMillis();
+        started = System.nanoTime();
+        long checksum = reads.run();
+        long readMillis = (System.nanoTime() - started) / 1_000_000;
+        return new Result(checksum, fullGcMillis, readMillis, collections() - collectionsBefore, gcMillis() - gcMillisBefore);
+    }
+
+    private static long settledHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long collections() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static long directPoolBytes() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
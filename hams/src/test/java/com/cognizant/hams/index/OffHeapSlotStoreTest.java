@@ -0,0 +1,81 @@
+package com.cognizant.hams.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapSlotStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 15);
+
+    private OffHeapSlotStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OffHeapSlotStore();
+        OffHeapSlotStore.Builder builder = OffHeapSlotStore.builder(DAY, 14);
+        builder.add(10L, DAY, 1L, 9 * 3600, 9 * 3600 + 1800);
+        builder.add(10L, DAY, 2L, 10 * 3600, 10 * 3600 + 1800);
+        builder.add(10L, DAY.plusDays(1), 3L, 9 * 3600, 9 * 3600 + 1800);
+        builder.add(20L, DAY, 4L, 11 * 3600, 11 * 3600 + 1800);
+        // Outside the window
+        builder.add(20L, DAY.plusDays(14), 5L, 9 * 3600, 9 * 3600 + 1800);
+        store.install(builder);
+    }
+
+    @Test
+    @DisplayName("Slots are read back per doctor and day in start order")
+    void givenLoadedWindow_whenReadDay_thenSlotsOfThatDoctorDayOnly() {
+        assertThat(ids(10L, DAY)).containsExactly(1L, 2L);
+        assertThat(ids(10L, DAY.plusDays(1))).containsExactly(3L);
+        assertThat(ids(20L, DAY)).containsExactly(4L);
+        assertThat(ids(20L, DAY.plusDays(14))).isEmpty();
+        assertThat(ids(30L, DAY)).isEmpty();
+        assertThat(store.lastDay()).isEqualTo(DAY.plusDays(13));
+    }
+
+    @Test
+    @DisplayName("A day that outgrows its region is moved without disturbing its neighbours")
+    void givenGrowingDay_whenReplaced_thenNewContentIsServed() {
+        int count = 40;
+        long[] availabilityIds = new long[count];
+        int[] startSeconds = new int[count];
+        int[] endSeconds = new int[count];
+        for (int i = 0; i < count; i++) {
+            availabilityIds[i] = 100L + i;
+            startSeconds[i] = 8 * 3600 + i * 900;
+            endSeconds[i] = startSeconds[i] + 900;
+        }
+        store.replaceDay(10L, DAY, availabilityIds, startSeconds, endSeconds, count);
+
+        assertThat(ids(10L, DAY)).hasSize(count).startsWith(100L, 101L).endsWith(139L);
+        assertThat(ids(20L, DAY)).containsExactly(4L);
+
+        store.replaceDay(10L, DAY, new long[0], new int[0], new int[0], 0);
+        assertThat(ids(10L, DAY)).isEmpty();
+        assertThat(ids(10L, DAY.plusDays(1))).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("A day unseen at load time can be added later")
+    void givenUnknownDay_whenReplaced_thenItIsIndexed() {
+        store.replaceDay(30L, DAY.plusDays(5), new long[]{7L}, new int[]{3600}, new int[]{5400}, 1);
+
+        List<int[]> times = new ArrayList<>();
+        store.forEachSlot(30L, DAY.plusDays(5), (availabilityId, startSecond, endSecond) ->
+                times.add(new int[]{startSecond, endSecond}));
+        assertThat(times).singleElement().satisfies(range -> assertThat(range).containsExactly(3600, 5400));
+    }
+
+    private List<Long> ids(long doctorId, LocalDate date) {
+        List<Long> ids = new ArrayList<>();
+        store.forEachSlot(doctorId, date, (availabilityId, startSecond, endSecond) -> ids.add(availabilityId));
+        return ids;
+    }
+}
@@ -0,0 +1,58 @@
+package com.cognizant.hams.index;
+
+import com.cognizant.hams.repository.projection.WaitlistTicket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaitlistQueuesTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 5, 6);
+
+    private final WaitlistQueues queues = new WaitlistQueues();
+
+    @Test
+    @DisplayName("Entries are served first in, first out per doctor and day")
+    void pollsInArrivalOrder() {
+        queues.load(List.of(new WaitlistTicket(1L, 7L, DAY), new WaitlistTicket(2L, 8L, DAY), new WaitlistTicket(3L, 7L, DAY)));
+
+        assertThat(queues.position(7L, DAY, 3L)).isEqualTo(2);
+        assertThat(queues.poll(7L, DAY)).isEqualTo(1L);
+        assertThat(queues.poll(7L, DAY)).isEqualTo(3L);
+        assertThat(queues.poll(7L, DAY)).isNull();
+        assertThat(queues.poll(8L, DAY)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Passed-over entries go back to the head in their original order")
+    void requeuesAtHead() {
+        queues.enqueue(7L, DAY, 1L);
+        queues.enqueue(7L, DAY, 2L);
+        queues.enqueue(7L, DAY, 3L);
+        Long first = queues.poll(7L, DAY);
+        Long second = queues.poll(7L, DAY);
+
+        queues.requeueFirst(7L, DAY, List.of(first, second));
+
+        assertThat(queues.position(7L, DAY, 1L)).isEqualTo(1);
+        assertThat(queues.position(7L, DAY, 2L)).isEqualTo(2);
+        assertThat(queues.position(7L, DAY, 3L)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Withdrawn entries and past days leave the queues")
+    void removesAndEvicts() {
+        queues.enqueue(7L, DAY, 1L);
+        queues.enqueue(7L, DAY.plusDays(1), 2L);
+
+        queues.remove(7L, DAY, 1L);
+        assertThat(queues.position(7L, DAY, 1L)).isZero();
+
+        queues.evictBefore(DAY.plusDays(2));
+        assertThat(queues.poll(7L, DAY.plusDays(1))).isNull();
+    }
+}
@@ -0,0 +1,117 @@
+package com.cognizant.hams.service;
+
+import com.cognizant.hams.event.DoctorDayChangedEvent;
+import com.cognizant.hams.repository.DoctorDaySlotsJdbcRepository;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.repository.projection.DaySlotsView;
+import com.cognizant.hams.service.impl.AvailabilityBitmapServiceImpl;
+import com.cognizant.hams.util.SlotBitmap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityBitmapServiceTest {
+
+    private static final Long DOCTOR_ID = 101L;
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private DoctorDaySlotsJdbcRepository doctorDaySlotsJdbcRepository;
+    @Mock
+    private DoctorRepository doctorRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AvailabilityBitmapServiceImpl availabilityBitmapService;
+
+    @BeforeEach
+    void setUp() {
+        availabilityBitmapService = new AvailabilityBitmapServiceImpl(doctorDaySlotsJdbcRepository, doctorRepository,
+                transactionTemplate, transactionManager);
+        ReflectionTestUtils.setField(availabilityBitmapService, "storage", "bitmap");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBookedDayIsRewrittenInItsOwnTransaction() {
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        given(transactionManager.getTransaction(any())).willReturn(status);
+        willAnswer(invocation -> {
+            invocation.<Consumer<DoctorDaySlotsJdbcRepository.Range>>getArgument(4)
+                    .accept(new DoctorDaySlotsJdbcRepository.Range(DOCTOR_ID, DATE, LocalTime.of(9, 0), LocalTime.of(12, 0)));
+            return null;
+        }).given(doctorDaySlotsJdbcRepository).forEachAvailableRange(eq(DOCTOR_ID), eq(DOCTOR_ID), eq(DATE), eq(DATE), any());
+        willAnswer(invocation -> {
+            invocation.<Consumer<DoctorDaySlotsJdbcRepository.Range>>getArgument(4)
+                    .accept(new DoctorDaySlotsJdbcRepository.Range(DOCTOR_ID, DATE, LocalTime.of(10, 0), LocalTime.of(10, 30)));
+            return null;
+        }).given(doctorDaySlotsJdbcRepository).forEachBookedRange(eq(DOCTOR_ID), eq(DOCTOR_ID), eq(DATE), eq(DATE), any());
+
+        // Raised after the booking has committed
+        availabilityBitmapService.onDoctorDayChanged(new DoctorDayChangedEvent(DOCTOR_ID, DATE));
+
+        ArgumentCaptor<List<DaySlotsView>> daysCaptor = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(transactionManager, doctorDaySlotsJdbcRepository);
+        inOrder.verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        inOrder.verify(doctorDaySlotsJdbcRepository).upsertAll(daysCaptor.capture());
+        inOrder.verify(transactionManager).commit(status);
+
+        DaySlotsView day = daysCaptor.getValue().get(0);
+        assertThat(day.doctorId()).isEqualTo(DOCTOR_ID);
+        assertThat(day.date()).isEqualTo(DATE);
+        assertThat(day.available().toHex()).isEqualTo(new SlotBitmap().set(LocalTime.of(9, 0), LocalTime.of(12, 0)).toHex());
+        assertThat(day.booked().toHex()).isEqualTo(new SlotBitmap().set(LocalTime.of(10, 0), LocalTime.of(10, 30)).toHex());
+        verify(doctorDaySlotsJdbcRepository, never()).deleteRange(anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testEmptiedDayIsDeletedInItsOwnTransaction() {
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        given(transactionManager.getTransaction(any())).willReturn(status);
+
+        availabilityBitmapService.onDoctorDayChanged(new DoctorDayChangedEvent(DOCTOR_ID, DATE));
+
+        InOrder inOrder = inOrder(transactionManager, doctorDaySlotsJdbcRepository);
+        inOrder.verify(doctorDaySlotsJdbcRepository).deleteRange(DOCTOR_ID, DOCTOR_ID, DATE, DATE);
+        inOrder.verify(transactionManager).commit(status);
+    }
+
+    @Test
+    void testRowStorageLeavesTableAlone() {
+        ReflectionTestUtils.setField(availabilityBitmapService, "storage", "rows");
+
+        availabilityBitmapService.onDoctorDayChanged(new DoctorDayChangedEvent(DOCTOR_ID, DATE));
+
+        verifyNoInteractions(transactionManager, doctorDaySlotsJdbcRepository);
+    }
+}
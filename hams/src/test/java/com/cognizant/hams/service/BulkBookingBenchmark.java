@@ -0,0 +1,166 @@
+package com.cognizant.hams.service;
+
+import com.cognizant.hams.dto.request.AppointmentDTO;
+import com.cognizant.hams.dto.request.BulkAppointmentDTO;
+import com.cognizant.hams.dto.request.BulkAppointmentItemDTO;
+import com.cognizant.hams.dto.response.BulkAppointmentResponseDTO;
+import com.cognizant.hams.entity.Doctor;
+import com.cognizant.hams.entity.Patient;
+import com.cognizant.hams.entity.User;
+import com.cognizant.hams.repository.AppointmentRepository;
+import com.cognizant.hams.repository.DoctorRepository;
+import com.cognizant.hams.repository.PatientRepository;
+import com.cognizant.hams.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Books the same number of generated appointments against an in-memory H2 database once through
+ * {@link AppointmentService#bookAppointment}, one request at a time, and once through
+ * {@link AppointmentService#bookAppointments} as one bulk request, and prints the throughput of each.
+ *
+ * <p>Not picked up by the default test run; start it with {@code mvn test -Dtest=BulkBookingBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-booking;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,YEAR",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=always",
+        "spring.jpa.defer-datasource-initialization=true",
+        "hams.notification-outbox.poll-delay-ms=3600000",
+        "logging.level.com.cognizant.hams=WARN"
+})
+class BulkBookingBenchmark {
+
+    private static final int DOCTORS = 20;
+    private static final int PATIENTS = 100;
+    private static final int APPOINTMENTS = 2_000;
+    private static final int SLOTS_PER_DAY = 20;
+    private static final int SLOT_MINUTES = 30;
+    private static final LocalTime FIRST_SLOT = LocalTime.of(7, 0);
+
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private final Map<Long, String> usernames = new HashMap<>();
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void compareBulkAndPerItemBooking() {
+        List<Doctor> doctors = new ArrayList<>(DOCTORS);
+        for (int i = 0; i < DOCTORS; i++) {
+            doctors.add(doctorRepository.save(doctor(i)));
+        }
+        List<Patient> patients = new ArrayList<>(PATIENTS);
+        for (int i = 0; i < PATIENTS; i++) {
+            Patient patient = patientRepository.save(patient(i));
+            usernames.put(patient.getPatientId(), patient.getUser().getUsername());
+            patients.add(patient);
+        }
+        LocalDate perItemFrom = LocalDate.now().plusDays(30);
+        LocalDate bulkFrom = perItemFrom.plusDays(APPOINTMENTS / (DOCTORS * SLOTS_PER_DAY) + 1);
+
+        // Warm both paths up on a day neither timed run uses
+        LocalDate warmUp = perItemFrom.minusDays(1);
+        bookOneByOne(items(doctors, patients, warmUp, DOCTORS));
+        appointmentService.bookAppointments(new BulkAppointmentDTO(items(doctors, patients, warmUp.minusDays(1), DOCTORS)));
+
+        List<BulkAppointmentItemDTO> perItem = items(doctors, patients, perItemFrom, APPOINTMENTS);
+        long started = System.nanoTime();
+        int perItemBooked = bookOneByOne(perItem);
+        long perItemNanos = System.nanoTime() - started;
+
+        List<BulkAppointmentItemDTO> bulk = items(doctors, patients, bulkFrom, APPOINTMENTS);
+        started = System.nanoTime();
+        BulkAppointmentResponseDTO response = appointmentService.bookAppointments(new BulkAppointmentDTO(bulk));
+        long bulkNanos = System.nanoTime() - started;
+
+        System.out.printf("%d appointments, %d doctors, %d patients%n", APPOINTMENTS, DOCTORS, PATIENTS);
+        System.out.printf("per item: %6d ms  %8.0f appointments/s%n", perItemNanos / 1_000_000, APPOINTMENTS * 1e9 / perItemNanos);
+        System.out.printf("bulk:     %6d ms  %8.0f appointments/s  (%.1fx)%n", bulkNanos / 1_000_000,
+                APPOINTMENTS * 1e9 / bulkNanos, (double) perItemNanos / bulkNanos);
+
+        assertThat(perItemBooked).isEqualTo(APPOINTMENTS);
+        assertThat(response.getBooked()).isEqualTo(APPOINTMENTS);
+        assertThat(appointmentRepository.count()).isEqualTo(2L * APPOINTMENTS + 2L * DOCTORS);
+    }
+
+    private int bookOneByOne(List<BulkAppointmentItemDTO> items) {
+        int booked = 0;
+        for (BulkAppointmentItemDTO item : items) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(usernames.get(item.getPatientId()), null, List.of()));
+            appointmentService.bookAppointment(new AppointmentDTO(item.getDoctorId(), item.getAppointmentDate(),
+                    item.getStartTime(), item.getEndTime(), item.getReason(), null, null));
+            booked++;
+        }
+        return booked;
+    }
+
+    // Each slot of a day takes every doctor once and a different patient for each, so nothing conflicts
+    private static List<BulkAppointmentItemDTO> items(List<Doctor> doctors, List<Patient> patients, LocalDate from, int count) {
+        List<BulkAppointmentItemDTO> items = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            int slot = k / DOCTORS;
+            LocalTime start = FIRST_SLOT.plusMinutes((long) (slot % SLOTS_PER_DAY) * SLOT_MINUTES);
+            items.add(new BulkAppointmentItemDTO(patients.get((k + slot * DOCTORS) % PATIENTS).getPatientId(),
+                    doctors.get(k % DOCTORS).getDoctorId(), from.plusDays(slot / SLOTS_PER_DAY),
+                    start, start.plusMinutes(SLOT_MINUTES), "Checkup", null));
+        }
+        return items;
+    }
+
+    private Doctor doctor(int i) {
+        Doctor doctor = new Doctor();
+        doctor.setDoctorName("Doctor " + i);
+        doctor.setContactNumber(String.format("90000%05d", i));
+        doctor.setEmail("doctor" + i + "@example.com");
+        doctor.setSpecialization("Cardiology");
+        doctor.setQualification("MD");
+        doctor.setClinicAddress("Clinic " + i);
+        doctor.setYearOfExperience(5);
+        return doctor;
+    }
+
+    private Patient patient(int i) {
+        User user = new User();
+        user.setUsername("patient" + i);
+        user.setPassword("unused");
+        Patient patient = new Patient();
+        patient.setUser(userRepository.save(user));
+        patient.setName("Patient " + i);
+        patient.setContactNumber(String.format("80000%05d", i));
+        patient.setEmail("patient" + i + "@example.com");
+        patient.setAddress("Street " + i);
+        return patient;
+    }
+}
@@ -4,7 +4,11 @@ import com.cognizant.hams.dto.response.NotificationResponseDTO;
 import com.cognizant.hams.entity.Appointment;
 import com.cognizant.hams.entity.Doctor;
 import com.cognizant.hams.entity.Notification;
+import com.cognizant.hams.entity.NotificationOutboxEvent;
 import com.cognizant.hams.entity.Patient;
+import com.cognizant.hams.repository.AppointmentRepository;
+import com.cognizant.hams.repository.NotificationJdbcRepository;
+import com.cognizant.hams.repository.NotificationOutboxJdbcRepository;
 import com.cognizant.hams.repository.NotificationRepository;
 import com.cognizant.hams.service.impl.NotificationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,10 +21,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -31,6 +39,12 @@ public class NotificationServiceTest {
     private NotificationRepository notificationRepository;
     @Mock
     private ModelMapper modelMapper;
+    @Mock
+    private NotificationJdbcRepository notificationJdbcRepository;
+    @Mock
+    private NotificationOutboxJdbcRepository notificationOutboxJdbcRepository;
+    @Mock
+    private AppointmentRepository appointmentRepository;
 
     @InjectMocks
     private NotificationServiceImpl notificationService;
@@ -49,6 +63,7 @@ public class NotificationServiceTest {
         doctor.setDoctorName("Dr. Smith");
 
         mockAppointment = new Appointment();
+        mockAppointment.setAppointmentId(7L);
         mockAppointment.setPatient(patient);
         mockAppointment.setDoctor(doctor);
 
@@ -58,31 +73,75 @@ public class NotificationServiceTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void testNotifyDoctorOnAppointmentRequest() {
 
-        ArgumentCaptor<Notification> notificationCaptor = ArgumentCaptor.forClass(Notification.class);
+        ArgumentCaptor<List<NotificationOutboxEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
 
         notificationService.notifyDoctorOnAppointmentRequest(mockAppointment);
 
-        verify(notificationRepository, times(1)).save(notificationCaptor.capture());
-        Notification capturedNotification = notificationCaptor.getValue();
-        assertThat(capturedNotification.getRecipientType()).isEqualTo(Notification.RecipientType.DOCTOR);
-        assertThat(capturedNotification.getRecipientId()).isEqualTo(101L);
-        assertThat(capturedNotification.getTitle()).isEqualTo("New appointment request");
+        verify(notificationOutboxJdbcRepository, times(1)).insertAll(eventsCaptor.capture());
+        verify(notificationRepository, never()).save(any());
+        List<NotificationOutboxEvent> captured = eventsCaptor.getValue();
+        assertThat(captured).hasSize(1);
+        assertThat(captured.get(0).getType()).isEqualTo(NotificationOutboxEvent.Type.APPOINTMENT_REQUESTED);
+        assertThat(captured.get(0).getAppointmentId()).isEqualTo(7L);
+        assertThat(captured.get(0).getRecipientType()).isEqualTo(Notification.RecipientType.DOCTOR);
+        assertThat(captured.get(0).getRecipientId()).isEqualTo(101L);
+        assertThat(captured.get(0).getTitle()).isEqualTo("New appointment request");
+        assertThat(captured.get(0).getMessage()).startsWith("Patient John Doe request an appointment");
     }
 
     @Test
-    void testNotifyPatientOnAppointmentDecision_Confirmed() {
+    @SuppressWarnings("unchecked")
+    void testNotifyPatientsOnAppointmentDecisions_Rejected() {
+
+        ArgumentCaptor<List<NotificationOutboxEvent>> eventsCaptor = ArgumentCaptor.forClass(List.class);
 
-        ArgumentCaptor<Notification> notificationCaptor = ArgumentCaptor.forClass(Notification.class);
+        notificationService.notifyPatientsOnAppointmentDecisions(List.of(mockAppointment, mockAppointment), false, "On leave");
 
-        notificationService.notifyPatientOnAppointmentDecision(mockAppointment, true, null);
+        verify(notificationOutboxJdbcRepository, times(1)).insertAll(eventsCaptor.capture());
+        List<NotificationOutboxEvent> captured = eventsCaptor.getValue();
+        assertThat(captured).hasSize(2);
+        assertThat(captured.get(0).getType()).isEqualTo(NotificationOutboxEvent.Type.APPOINTMENT_REJECTED);
+        assertThat(captured.get(0).getRecipientType()).isEqualTo(Notification.RecipientType.PATIENT);
+        assertThat(captured.get(0).getRecipientId()).isEqualTo(1L);
+        assertThat(captured.get(0).getTitle()).isEqualTo("Appointment rejected");
+        assertThat(captured.get(0).getMessage()).endsWith("Reason: On leave");
+    }
 
-        verify(notificationRepository, times(1)).save(notificationCaptor.capture());
-        Notification captured = notificationCaptor.getValue();
-        assertThat(captured.getRecipientType()).isEqualTo(Notification.RecipientType.PATIENT);
-        assertThat(captured.getRecipientId()).isEqualTo(1L);
-        assertThat(captured.getTitle()).isEqualTo("Appointment confirmed");
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeliverOutboxEvents() {
+
+        NotificationOutboxEvent requested = outboxEvent(1L, NotificationOutboxEvent.Type.APPOINTMENT_REQUESTED,
+                Notification.RecipientType.DOCTOR, "New appointment request");
+        NotificationOutboxEvent confirmed = outboxEvent(2L, NotificationOutboxEvent.Type.APPOINTMENT_CONFIRMED,
+                Notification.RecipientType.PATIENT, "Appointment confirmed");
+        NotificationOutboxEvent rejected = outboxEvent(3L, NotificationOutboxEvent.Type.APPOINTMENT_REJECTED,
+                Notification.RecipientType.PATIENT, "Appointment rejected");
+        NotificationOutboxEvent orphaned = outboxEvent(4L, NotificationOutboxEvent.Type.APPOINTMENT_EXPIRED,
+                Notification.RecipientType.PATIENT, "Appointment expired");
+        orphaned.setAppointmentId(8L);
+        given(notificationRepository.findDeliveredOutboxEventIds(anyCollection())).willReturn(List.of(2L));
+        given(appointmentRepository.findExistingIds(anyCollection())).willReturn(List.of(7L));
+        ArgumentCaptor<List<Notification>> notificationsCaptor = ArgumentCaptor.forClass(List.class);
+
+        notificationService.deliverOutboxEvents(List.of(requested, confirmed, rejected, orphaned));
+
+        verify(notificationJdbcRepository, times(1)).insertAll(notificationsCaptor.capture());
+        List<Notification> captured = notificationsCaptor.getValue();
+        // Event 2 was delivered before and event 4 lost its appointment, so neither is sent
+        assertThat(captured).extracting(Notification::getOutboxEventId).containsExactly(1L, 3L);
+        assertThat(captured.get(0).getAppointment().getAppointmentId()).isEqualTo(7L);
+        assertThat(captured.get(0).getRecipientType()).isEqualTo(Notification.RecipientType.DOCTOR);
+        assertThat(captured.get(0).getTitle()).isEqualTo("New appointment request");
+        // Sent as rendered when the event was recorded
+        assertThat(captured.get(1).getRecipientType()).isEqualTo(Notification.RecipientType.PATIENT);
+        assertThat(captured.get(1).getRecipientId()).isEqualTo(1L);
+        assertThat(captured.get(1).getTitle()).isEqualTo("Appointment rejected");
+        assertThat(captured.get(1).getMessage()).isEqualTo("Appointment rejected message");
+        assertThat(captured.get(1).getCreatedAt()).isEqualTo(rejected.getCreatedAt());
     }
 
     @Test
@@ -103,4 +162,17 @@ public class NotificationServiceTest {
         verify(notificationRepository, times(1)).save(mockNotification);
         assertThat(mockNotification.isRead()).isTrue();
     }
-}
\ No newline at end of file
+
+    private NotificationOutboxEvent outboxEvent(Long id, NotificationOutboxEvent.Type type,
+                                                Notification.RecipientType recipientType, String title) {
+        Notification notification = new Notification();
+        notification.setAppointment(mockAppointment);
+        notification.setRecipientType(recipientType);
+        notification.setRecipientId(recipientType == Notification.RecipientType.DOCTOR ? 101L : 1L);
+        notification.setTitle(title);
+        notification.setMessage(title + " message");
+        NotificationOutboxEvent event = new NotificationOutboxEvent(type, notification);
+        event.setId(id);
+        return event;
+    }
+}
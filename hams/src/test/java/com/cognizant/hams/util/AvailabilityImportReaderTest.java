@@ -0,0 +1,51 @@
+package com.cognizant.hams.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityImportReaderTest {
+
+    @Test
+    @DisplayName("Skips the CSV header and blank lines and keeps the original line numbers")
+    void readsCsv() throws IOException {
+        String csv = "doctorId,availableDate,startTime,endTime\n\n7,2030-01-07,09:00,09:30,false\n7,2030-13-07,09:00,09:30\n";
+        try (AvailabilityImportReader reader = new AvailabilityImportReader(new StringReader(csv),
+                AvailabilityImportReader.Format.CSV, new ObjectMapper())) {
+            AvailabilityImportReader.Line first = reader.next();
+            assertThat(first.number()).isEqualTo(3);
+            assertThat(first.isValid()).isTrue();
+            assertThat(first.availableDate()).isEqualTo(LocalDate.of(2030, 1, 7));
+            assertThat(first.endTime()).isEqualTo(LocalTime.of(9, 30));
+            assertThat(first.available()).isFalse();
+
+            AvailabilityImportReader.Line second = reader.next();
+            assertThat(second.number()).isEqualTo(4);
+            assertThat(second.error()).isEqualTo("Invalid date or time: 2030-13-07");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Reads NDJSON objects and reports malformed lines without stopping")
+    void readsNdjson() throws IOException {
+        String ndjson = "{\"doctorId\":7,\"availableDate\":\"2030-01-07\",\"startTime\":\"09:00:00\",\"endTime\":\"09:30\"}\n{oops\n"
+                + "{\"doctorId\":7,\"availableDate\":\"2030-01-07\"}\n";
+        try (AvailabilityImportReader reader = new AvailabilityImportReader(new StringReader(ndjson),
+                AvailabilityImportReader.Format.NDJSON, new ObjectMapper())) {
+            AvailabilityImportReader.Line first = reader.next();
+            assertThat(first.doctorId()).isEqualTo(7L);
+            assertThat(first.available()).isTrue();
+            assertThat(reader.next().error()).startsWith("Malformed JSON");
+            assertThat(reader.next().error()).contains("required");
+            assertThat(reader.next()).isNull();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.cognizant.hams.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the two availability storage modes on the read path: folding per-slot rows into day bitmaps
+ * (rows) against decoding one stored row per day (bitmap). Neither side includes the database round trip;
+ * the row counts printed alongside show what each mode has to fetch for the same answer.
+ *
+ * <p>Not picked up by the default test run; start it with
+ * {@code mvn test -Dtest=AvailabilityStorageBenchmark}.
+ */
+class AvailabilityStorageBenchmark {
+
+    private static final int DOCTORS = 200;
+    private static final int DAYS = 90;
+    // 08:00-16:00 in 30-minute slots, a quarter of them booked
+    private static final int SLOTS_PER_DAY = 16;
+    private static final int QUERY_DAYS = 14;
+    private static final int ROUNDS = 20;
+
+    private record Range(LocalTime startTime, LocalTime endTime) {
+    }
+
+    @Test
+    void compareStorageModes() {
+        Random random = new Random(42);
+        List<List<Range>> availableRows = new ArrayList<>();
+        List<List<Range>> bookedRows = new ArrayList<>();
+        long[][] storedDays = new long[DOCTORS * DAYS][];
+        for (int day = 0; day < DOCTORS * DAYS; day++) {
+            List<Range> available = new ArrayList<>();
+            List<Range> booked = new ArrayList<>();
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                LocalTime start = LocalTime.of(8, 0).plusMinutes(30L * slot);
+                Range range = new Range(start, start.plusMinutes(30));
+                available.add(range);
+                if (random.nextInt(4) == 0) {
+                    booked.add(range);
+                }
+            }
+            availableRows.add(available);
+            bookedRows.add(booked);
+            SlotBitmap availableBits = fold(available);
+            SlotBitmap bookedBits = fold(booked);
+            storedDays[day] = new long[]{availableBits.storedWord(0), availableBits.storedWord(1),
+                    bookedBits.storedWord(0), bookedBits.storedWord(1)};
+        }
+
+        long rowsChecksum = 0;
+        long bitmapChecksum = 0;
+        long rowsNanos = Long.MAX_VALUE;
+        long bitmapNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            rowsChecksum = 0;
+            for (int doctor = 0; doctor < DOCTORS; doctor++) {
+                for (int day = doctor * DAYS; day < doctor * DAYS + QUERY_DAYS; day++) {
+                    rowsChecksum += fold(availableRows.get(day)).andNot(fold(bookedRows.get(day))).cardinality();
+                }
+            }
+            rowsNanos = Math.min(rowsNanos, System.nanoTime() - started);
+
+            started = System.nanoTime();
+            bitmapChecksum = 0;
+            for (int doctor = 0; doctor < DOCTORS; doctor++) {
+                for (int day = doctor * DAYS; day < doctor * DAYS + QUERY_DAYS; day++) {
+                    long[] stored = storedDays[day];
+                    bitmapChecksum += SlotBitmap.fromStored(stored[0], stored[1])
+                            .andNot(SlotBitmap.fromStored(stored[2], stored[3])).cardinality();
+                }
+            }
+            bitmapNanos = Math.min(bitmapNanos, System.nanoTime() - started);
+        }
+        assertThat(bitmapChecksum).isEqualTo(rowsChecksum);
+
+        long rowsFetched = 0;
+        for (int doctor = 0; doctor < DOCTORS; doctor++) {
+            for (int day = doctor * DAYS; day < doctor * DAYS + QUERY_DAYS; day++) {
+                rowsFetched += availableRows.get(day).size() + bookedRows.get(day).size();
+            }
+        }
+        System.out.printf("%d doctors x %d-day queries over %d stored days each%n", DOCTORS, QUERY_DAYS, DAYS);
+        System.out.printf("rows:   %,d rows fetched, %,d us to fold (best of %d)%n", rowsFetched, rowsNanos / 1_000, ROUNDS);
+        System.out.printf("bitmap: %,d rows fetched, %,d us to decode (best of %d)%n", DOCTORS * QUERY_DAYS, bitmapNanos / 1_000, ROUNDS);
+    }
+
+    private static SlotBitmap fold(List<Range> ranges) {
+        SlotBitmap bitmap = new SlotBitmap();
+        for (Range range : ranges) {
+            bitmap.set(range.startTime(), range.endTime());
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,102 @@
+package com.cognizant.hams.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedBitmapTest {
+
+    @Test
+    @DisplayName("Ids across several groups are kept in ascending order")
+    void givenIdsInSeveralGroups_whenIterated_thenAscending() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(70_000);
+        bitmap.add(5);
+        bitmap.add(65_536);
+        bitmap.add(5);
+
+        assertThat(ids(bitmap)).containsExactly(5, 65_536, 70_000);
+        assertThat(bitmap.contains(65_536)).isTrue();
+        assertThat(bitmap.contains(6)).isFalse();
+
+        bitmap.remove(65_536);
+        bitmap.remove(70_000);
+        assertThat(ids(bitmap)).containsExactly(5);
+    }
+
+    @Test
+    @DisplayName("A dense group switches to a bitmap and back without losing ids")
+    void givenDenseGroup_whenGrownAndShrunk_thenContentIsKept() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int id = 0; id < 10_000; id += 2) {
+            bitmap.add(id);
+            expected.add(id);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(5_000);
+
+        for (int id = 0; id < 4_000; id += 2) {
+            bitmap.remove(id);
+            expected.remove(id);
+        }
+        assertThat(ids(bitmap)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("Intersection keeps only ids present on both sides")
+    void givenTwoBitmaps_whenAnd_thenCommonIds() {
+        CompressedBitmap evens = new CompressedBitmap();
+        CompressedBitmap threes = new CompressedBitmap();
+        for (int id = 0; id < 20_000; id++) {
+            if (id % 2 == 0) {
+                evens.add(id);
+            }
+            if (id % 3 == 0) {
+                threes.add(id);
+            }
+        }
+        threes.add(100_000);
+
+        CompressedBitmap both = evens.and(threes);
+
+        assertThat(both.cardinality()).isEqualTo(3_334);
+        assertThat(both.first(3)).containsExactly(0, 6, 12);
+        assertThat(both.contains(100_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Union, intersection size and reads after an id agree with a plain set")
+    void givenTwoBitmaps_whenOrAndCounted_thenMatchSets() {
+        CompressedBitmap evens = new CompressedBitmap();
+        CompressedBitmap sparse = new CompressedBitmap();
+        TreeSet<Integer> union = new TreeSet<>();
+        for (int id = 0; id < 20_000; id += 2) {
+            evens.add(id);
+            union.add(id);
+        }
+        for (int id = 1; id < 200_000; id += 999) {
+            sparse.add(id);
+            union.add(id);
+        }
+
+        CompressedBitmap either = evens.or(sparse);
+
+        assertThat(ids(either)).containsExactlyElementsOf(union);
+        assertThat(evens.andCardinality(sparse)).isEqualTo(evens.and(sparse).cardinality());
+        assertThat(either.andCardinality(evens)).isEqualTo(10_000);
+        assertThat(either.after(19_998, 2)).containsExactly(19_981 + 999, 19_981 + 2 * 999);
+        assertThat(either.after(-1, 3)).containsExactly(0, 1, 2);
+        assertThat(either.after(500_000, 3)).isEmpty();
+    }
+
+    private static List<Integer> ids(CompressedBitmap bitmap) {
+        List<Integer> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+}
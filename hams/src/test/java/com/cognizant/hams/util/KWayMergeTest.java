@@ -0,0 +1,29 @@
+package com.cognizant.hams.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KWayMergeTest {
+
+    @Test
+    @DisplayName("Takes the smallest K across sorted lists and stops there")
+    void mergesFirstK() {
+        List<List<Integer>> lists = List.of(List.of(1, 7, 9), List.of(), List.of(2, 3, 10), List.of(4));
+
+        assertThat(KWayMerge.firstK(lists, Comparator.naturalOrder(), 4, x -> true)).containsExactly(1, 2, 3, 4);
+        assertThat(KWayMerge.firstK(lists, Comparator.naturalOrder(), 20, x -> true)).containsExactly(1, 2, 3, 4, 7, 9, 10);
+    }
+
+    @Test
+    @DisplayName("Rejected elements do not count towards K")
+    void skipsRejected() {
+        List<List<Integer>> lists = List.of(List.of(1, 5), List.of(2, 6));
+
+        assertThat(KWayMerge.firstK(lists, Comparator.naturalOrder(), 2, x -> x % 2 == 0)).containsExactly(2, 6);
+    }
+}
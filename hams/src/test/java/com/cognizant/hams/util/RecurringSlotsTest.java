@@ -0,0 +1,56 @@
+package com.cognizant.hams.util;
+
+import com.cognizant.hams.entity.AvailabilityTemplate;
+import com.cognizant.hams.entity.Doctor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurringSlotsTest {
+
+    // 2030-01-07 is a Monday
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    private AvailabilityTemplate mondayMornings() {
+        Doctor doctor = new Doctor();
+        doctor.setDoctorId(101L);
+        AvailabilityTemplate template = new AvailabilityTemplate();
+        template.setTemplateId(1L);
+        template.setDoctor(doctor);
+        template.setDayOfWeek(DayOfWeek.MONDAY);
+        template.setStartTime(LocalTime.of(9, 0));
+        template.setEndTime(LocalTime.of(10, 0));
+        template.setSlotMinutes(20);
+        template.setValidFrom(MONDAY);
+        template.getExceptionDates().add(MONDAY.plusWeeks(1));
+        return template;
+    }
+
+    @Test
+    @DisplayName("Expands only matching weekdays, skips exception dates and stops at the limit")
+    void expandsRange() {
+        List<RecurringSlots.Slot> slots = RecurringSlots.expand(List.of(mondayMornings()), MONDAY, MONDAY.plusWeeks(2), 4, slot -> true);
+
+        assertThat(slots).extracting(RecurringSlots.Slot::date)
+                .containsExactly(MONDAY, MONDAY, MONDAY, MONDAY.plusWeeks(2));
+        assertThat(slots.get(2).startTime()).isEqualTo(LocalTime.of(9, 40));
+        assertThat(slots.get(2).endTime()).isEqualTo(LocalTime.of(10, 0));
+    }
+
+    @Test
+    @DisplayName("Yields only slots aligned to the template grid")
+    void yieldsAlignedSlots() {
+        AvailabilityTemplate template = mondayMornings();
+
+        assertThat(RecurringSlots.yields(template, MONDAY, LocalTime.of(9, 20), LocalTime.of(9, 40))).isTrue();
+        assertThat(RecurringSlots.yields(template, MONDAY, LocalTime.of(9, 10), LocalTime.of(9, 30))).isFalse();
+        assertThat(RecurringSlots.yields(template, MONDAY.plusWeeks(1), LocalTime.of(9, 0), LocalTime.of(9, 20))).isFalse();
+        assertThat(RecurringSlots.yields(template, MONDAY.plusDays(1), LocalTime.of(9, 0), LocalTime.of(9, 20))).isFalse();
+    }
+}
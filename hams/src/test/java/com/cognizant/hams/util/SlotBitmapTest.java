@@ -0,0 +1,36 @@
+package com.cognizant.hams.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotBitmapTest {
+
+    @Test
+    @DisplayName("Stored words are non-negative and round-trip every slot of the day")
+    void roundTripsStoredWords() {
+        SlotBitmap bitmap = new SlotBitmap().set(0, 1).set(47, 49).set(63, 65).set(95, 96);
+
+        assertThat(bitmap.storedWord(0)).isNotNegative();
+        assertThat(bitmap.storedWord(1)).isNotNegative();
+        SlotBitmap restored = SlotBitmap.fromStored(bitmap.storedWord(0), bitmap.storedWord(1));
+        assertThat(restored.toHex()).isEqualTo(bitmap.toHex());
+        assertThat(restored.cardinality()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Free slots are the available ones AND NOT the booked ones")
+    void computesFreeSlots() {
+        SlotBitmap available = new SlotBitmap().set(LocalTime.of(9, 0), LocalTime.of(12, 0));
+        SlotBitmap booked = new SlotBitmap().set(LocalTime.of(10, 0), LocalTime.of(10, 30));
+
+        SlotBitmap free = available.copy().andNot(booked);
+
+        assertThat(free.cardinality()).isEqualTo(10);
+        assertThat(free.get(SlotBitmap.startSlot(LocalTime.of(10, 15)))).isFalse();
+        assertThat(free.get(SlotBitmap.startSlot(LocalTime.of(10, 30)))).isTrue();
+    }
+}